@@ -0,0 +1,92 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import oauth2jwt.ranger.auth.blacklist.RevocationEpochs;
+import oauth2jwt.ranger.auth.blacklist.TokenBlacklist;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.AuthenticationEntryPoint;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static oauth2jwt.ranger.auth.jwt.JwtConstants.HEADER_STRING;
+import static oauth2jwt.ranger.auth.jwt.JwtConstants.TOKEN_PREFIX;
+
+/**
+ * JwtAuthenticationFilter 한 번 통과 비용 (정상 토큰 / 블랙리스트 토큰)
+ * Redis 는 연결하지 않음: 블랙리스트 조회는 로컬 인덱스에서 끝나고,
+ * 다른 노드의 등록은 pub/sub 메시지를 직접 넣어서 재현함
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private String validToken;
+    private String revokedToken;
+
+    @Setup
+    public void setUp() {
+        JwtFixtures fixtures = new JwtFixtures();
+        TokenBlacklist tokenBlacklist = new TokenBlacklist(new RedisTemplate<>(), 1800, 60, 0, 1_000_000);
+        AuthenticationEntryPoint entryPoint =
+                (request, response, e) -> response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        RevocationEpochs revocationEpochs = new RevocationEpochs(new RedisTemplate<>(), 1800, 1209600);
+        filter = new JwtAuthenticationFilter(fixtures.jwtTokenProvider, tokenBlacklist, revocationEpochs,
+                new AuthMetrics(new SimpleMeterRegistry()), entryPoint);
+
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        validToken = fixtures.jwtTokenProvider.createAccessToken(fixtures.authentication);
+        revokedToken = fixtures.keyRing.signingKey().newBuilder()
+                .setExpiration(new Date(expiresAt))
+                .setId("revoked-jti-0043")
+                .setSubject("43")
+                .claim("username", "kakao_43")
+                .claim("auth", "ROLE_USER")
+                .compact();
+        String event = "revoked-jti-0043:" + expiresAt;
+        tokenBlacklist.onMessage(new DefaultMessage(
+                TokenBlacklist.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                event.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    @Benchmark
+    public int validToken() throws Exception {
+        return doFilter(validToken);
+    }
+
+    @Benchmark
+    public int revokedToken() throws Exception {
+        return doFilter(revokedToken);
+    }
+
+    private int doFilter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/me");
+        request.addHeader(HEADER_STRING, TOKEN_PREFIX + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+}
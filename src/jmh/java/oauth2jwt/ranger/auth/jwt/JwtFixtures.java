@@ -0,0 +1,47 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import oauth2jwt.ranger.domain.role.Role;
+import oauth2jwt.ranger.domain.user.User;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+/**
+ * 벤치마크 공용 객체 (Spring 컨텍스트 없이 인증 경로 구성)
+ */
+final class JwtFixtures {
+
+    static final long ACCESS_VALIDITY_SECONDS = 1800;
+    static final long REFRESH_VALIDITY_SECONDS = 1209600;
+
+    final JwtKeyRing keyRing;
+    final VerifiedTokenCache verifiedTokenCache;
+    final FastHs256Verifier fastHs256Verifier;
+    final JwtTokenIssuer jwtTokenIssuer;
+    final JwtTokenProvider jwtTokenProvider;
+    final User user;
+    final Authentication authentication;
+
+    JwtFixtures() {
+        String secret = Encoders.BASE64URL.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+        this.verifiedTokenCache = new VerifiedTokenCache(10_000);
+        this.keyRing = new JwtKeyRing(secret, "", "", new ObjectMapper(), verifiedTokenCache);
+        this.fastHs256Verifier = new FastHs256Verifier(keyRing);
+        this.jwtTokenIssuer = new JwtTokenIssuer(keyRing, ACCESS_VALIDITY_SECONDS, REFRESH_VALIDITY_SECONDS);
+        this.jwtTokenProvider = new JwtTokenProvider(keyRing, fastHs256Verifier, jwtTokenIssuer,
+                null, verifiedTokenCache);
+
+        this.user = User.builder()
+                .id(42L)
+                .username("google_104857600000000000000")
+                .name("ranger")
+                .provider("google")
+                .providerId("104857600000000000000")
+                .role(Role.ROLE_USER)
+                .build();
+        this.authentication = new UsernamePasswordAuthenticationToken(user, "", user.getAuthorities());
+    }
+}
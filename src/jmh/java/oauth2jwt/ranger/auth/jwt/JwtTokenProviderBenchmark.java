@@ -0,0 +1,86 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import oauth2jwt.ranger.domain.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.Authentication;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 발급/검증 비용
+ * - createAccessToken/issueTokenPair: 직접 조립하는 HS256 발급기 (jjwtBuildAccessToken 과 비교)
+ * - validateToken/getAuthentication/getRemainingTime: VerifiedTokenCache 에 적중하는 경우 (같은 토큰 반복 요청)
+ * - fastVerify/jjwtParse: 캐시 미스 시 실제 검증 비용 (전용 검증기 vs jjwt)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtTokenProviderBenchmark {
+
+    private JwtFixtures fixtures;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        fixtures = new JwtFixtures();
+        accessToken = fixtures.jwtTokenProvider.createAccessToken(fixtures.authentication);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return fixtures.jwtTokenProvider.createAccessToken(fixtures.authentication);
+    }
+
+    @Benchmark
+    public String createRefreshToken() {
+        return fixtures.jwtTokenProvider.createRefreshToken();
+    }
+
+    @Benchmark
+    public TokenPair issueTokenPair() {
+        User user = fixtures.user;
+        return fixtures.jwtTokenIssuer.issueTokenPair(user.getId(), user.getUsername(), user.getRole());
+    }
+
+    @Benchmark
+    public String jjwtBuildAccessToken() {
+        return fixtures.keyRing.signingKey().newBuilder()
+                .setExpiration(new Date(System.currentTimeMillis() + JwtFixtures.ACCESS_VALIDITY_SECONDS * 1000))
+                .setSubject(fixtures.user.getId().toString())
+                .claim("username", fixtures.user.getUsername())
+                .claim("auth", fixtures.user.getRole().name())
+                .compact();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return fixtures.jwtTokenProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return fixtures.jwtTokenProvider.getAuthentication(accessToken);
+    }
+
+    @Benchmark
+    public long getRemainingTime() {
+        return fixtures.jwtTokenProvider.getRemainingTime(accessToken);
+    }
+
+    @Benchmark
+    public VerifiedToken fastVerify() {
+        return fixtures.fastHs256Verifier.verify(accessToken);
+    }
+
+    @Benchmark
+    public Object jjwtParse() {
+        return fixtures.keyRing.parser().parseClaimsJws(accessToken).getBody();
+    }
+}
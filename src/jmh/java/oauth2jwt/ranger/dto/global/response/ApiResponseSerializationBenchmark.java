@@ -0,0 +1,35 @@
+package oauth2jwt.ranger.dto.global.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 401 에러 응답(ApiResponse) 직렬화 비용
+ * - newObjectMapperPerCall: 현재 EntryPoint 처럼 매번 ObjectMapper 생성
+ * - sharedObjectMapper: ObjectMapper 재사용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ApiResponse<Void> unauthorized = new ApiResponse<>(false, 401, "유효하지 않은 토큰입니다.");
+
+    @Benchmark
+    public byte[] newObjectMapperPerCall() throws Exception {
+        return new ObjectMapper().writeValueAsBytes(unauthorized);
+    }
+
+    @Benchmark
+    public byte[] sharedObjectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(unauthorized);
+    }
+}
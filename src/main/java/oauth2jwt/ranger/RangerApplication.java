@@ -2,8 +2,10 @@ package oauth2jwt.ranger;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RangerApplication {
 
 	public static void main(String[] args) {
@@ -16,7 +16,7 @@ import java.util.Map;
 public class CustomOAuth2User implements OAuth2User {
 
     private final User user;
-    private final Map<String, Object> attributes;
+    private final Map<String, Object> attributes; // Provider 원본 속성 (app.oauth2.user-info.keep-attributes=false 면 빈 Map)
 
     @Override
     public String getName() {
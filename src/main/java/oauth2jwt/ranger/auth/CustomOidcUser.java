@@ -0,0 +1,31 @@
+package oauth2jwt.ranger.auth;
+
+import lombok.Getter;
+import oauth2jwt.ranger.domain.user.User;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+
+import java.util.Map;
+
+// OIDC 로그인 (ID Token 클레임으로 만든 사용자, UserInfo 엔드포인트는 호출하지 않으므로 userInfo 는 null)
+@Getter
+public class CustomOidcUser extends CustomOAuth2User implements OidcUser {
+
+    private final OidcIdToken idToken;
+
+    public CustomOidcUser(User user, OidcIdToken idToken) {
+        super(user, idToken.getClaims());
+        this.idToken = idToken;
+    }
+
+    @Override
+    public Map<String, Object> getClaims() {
+        return idToken.getClaims();
+    }
+
+    @Override
+    public OidcUserInfo getUserInfo() {
+        return null;
+    }
+}
@@ -0,0 +1,80 @@
+package oauth2jwt.ranger.auth.authorization;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 인가 요청 저장소 공용 Helper (쿠키 읽기/쓰기 + OAuth2AuthorizationRequest 직렬화)
+ *
+ * 쿠키는 HttpOnly + SameSite=Lax (Provider 에서 돌아오는 top-level GET 리다이렉트에는 전송됨), HTTPS 요청이면 Secure
+ * 직렬화는 JDK 직렬화 + Deflate (Redis 에 저장한 값 또는 서버 키로 암호화한 쿠키만 역직렬화함)
+ */
+final class AuthorizationRequestCookies {
+
+    private AuthorizationRequestCookies() {
+    }
+
+    static Optional<String> read(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return Optional.empty();
+        }
+        for (Cookie cookie : cookies) {
+            if (name.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return Optional.of(cookie.getValue());
+            }
+        }
+        return Optional.empty();
+    }
+
+    static void write(HttpServletRequest request, HttpServletResponse response,
+                      String name, String value, Duration maxAge) {
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(name, value)
+                .path("/")
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build()
+                .toString());
+    }
+
+    static void clear(HttpServletRequest request, HttpServletResponse response, String name) {
+        write(request, response, name, "", Duration.ZERO);
+    }
+
+    static byte[] serialize(OAuth2AuthorizationRequest authorizationRequest) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeObject(authorizationRequest);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // 형식이 맞지 않으면 null (저장소 구현 변경/배포 중 이전 형식 등)
+    static OAuth2AuthorizationRequest deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            return (in.readObject() instanceof OAuth2AuthorizationRequest authorizationRequest)
+                    ? authorizationRequest : null;
+        } catch (IOException | ClassNotFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package oauth2jwt.ranger.auth.authorization;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * 암호화 쿠키 인가 요청 저장소 (app.oauth2.authorization-request.store=cookie)
+ *
+ * 인가 요청을 서버에 저장하지 않고 AES-256-GCM 으로 암호화/서명한 쿠키에 담음 (Redis 도 사용하지 않음)
+ * - 쿠키 값: base64url(IV 12B + 암호문(만료 시각 8B + 직렬화한 인가 요청) + 인증 태그 16B)
+ * - 키: cookie-secret (비워두면 jwt.secret) 에서 HMAC-SHA256 으로 파생, 모든 노드가 같은 값을 써야 함
+ * - 만료 시각이 지났거나, 변조되었거나, 콜백의 state 와 다르면 없는 것으로 처리
+ * 쿠키는 재사용을 서버에서 막을 수 없으므로 콜백에서 바로 지우고, 유효기간(ttl-seconds)을 짧게 둠
+ */
+@Component
+@ConditionalOnProperty(name = "app.oauth2.authorization-request.store", havingValue = "cookie")
+public class CookieAuthorizationRequestRepository implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    static final String COOKIE_NAME = "OAUTH2_AUTHORIZATION_REQUEST";
+    private static final String KEY_LABEL = "oauth2-authorization-request";
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+
+    public CookieAuthorizationRequestRepository(
+            @Value("${app.oauth2.authorization-request.cookie-secret:}") String cookieSecret,
+            @Value("${jwt.secret}") String jwtSecret,
+            @Value("${app.oauth2.authorization-request.ttl-seconds:300}") long ttlSeconds) {
+
+        this.key = deriveKey(StringUtils.hasText(cookieSecret) ? cookieSecret : jwtSecret);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String state = request.getParameter(OAuth2ParameterNames.STATE);
+        if (state == null) {
+            return null;
+        }
+        OAuth2AuthorizationRequest authorizationRequest = AuthorizationRequestCookies.read(request, COOKIE_NAME)
+                .map(this::decrypt)
+                .orElse(null);
+        return (authorizationRequest != null && state.equals(authorizationRequest.getState()))
+                ? authorizationRequest : null;
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request, HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            AuthorizationRequestCookies.clear(request, response, COOKIE_NAME);
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() / 1000 + ttl.toSeconds();
+        AuthorizationRequestCookies.write(request, response, COOKIE_NAME,
+                encrypt(expiresAt, AuthorizationRequestCookies.serialize(authorizationRequest)), ttl);
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request,
+                                                                 HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        AuthorizationRequestCookies.clear(request, response, COOKIE_NAME);
+        return authorizationRequest;
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private String encrypt(long expiresAt, byte[] payload) {
+        byte[] iv = new byte[IV_BYTES];
+        RANDOM.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(COOKIE_NAME.getBytes(StandardCharsets.US_ASCII));
+            byte[] plain = ByteBuffer.allocate(Long.BYTES + payload.length).putLong(expiresAt).put(payload).array();
+            byte[] sealed = cipher.doFinal(plain);
+            return ENCODER.encodeToString(ByteBuffer.allocate(iv.length + sealed.length).put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("인가 요청 쿠키 암호화 실패", e);
+        }
+    }
+
+    // 변조/만료/형식 오류면 null
+    private OAuth2AuthorizationRequest decrypt(String value) {
+        try {
+            byte[] bytes = DECODER.decode(value);
+            if (bytes.length <= IV_BYTES) {
+                return null;
+            }
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_BYTES));
+            cipher.updateAAD(COOKIE_NAME.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer plain = ByteBuffer.wrap(cipher.doFinal(bytes, IV_BYTES, bytes.length - IV_BYTES));
+            if (plain.remaining() <= Long.BYTES || plain.getLong() < System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            byte[] payload = new byte[plain.remaining()];
+            plain.get(payload);
+            return AuthorizationRequestCookies.deserialize(payload);
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            return null;
+        }
+    }
+
+    private static SecretKeySpec deriveKey(String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return new SecretKeySpec(mac.doFinal(KEY_LABEL.getBytes(StandardCharsets.US_ASCII)), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("인가 요청 쿠키 키 생성 실패", e);
+        }
+    }
+}
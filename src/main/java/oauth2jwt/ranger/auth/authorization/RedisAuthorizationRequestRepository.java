@@ -0,0 +1,93 @@
+package oauth2jwt.ranger.auth.authorization;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Redis 인가 요청 저장소 (app.oauth2.authorization-request.store=redis, 기본값)
+ *
+ * Provider 로 리다이렉트할 때 만든 인가 요청을 HttpSession 대신 Redis 에 보관 -> 콜백이 다른 노드로 가도 로그인 가능
+ * - oauth2:authorization:{state} -> 직렬화한 OAuth2AuthorizationRequest (TTL: ttl-seconds)
+ * - 브라우저에는 state 만 쿠키로 줌 (콜백의 state 와 쿠키가 다르면 거부, 다른 브라우저에서 시작한 요청으로 로그인 방지)
+ * 콜백에서 GETDEL 로 꺼내므로 같은 state 로는 한 번만 로그인 가능
+ */
+@Component
+@ConditionalOnProperty(name = "app.oauth2.authorization-request.store", havingValue = "redis", matchIfMissing = true)
+public class RedisAuthorizationRequestRepository implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    static final String COOKIE_NAME = "OAUTH2_AUTHORIZATION_STATE";
+    private static final String KEY_PREFIX = "oauth2:authorization:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Duration ttl;
+
+    public RedisAuthorizationRequestRepository(
+            RedisTemplate<String, String> redisTemplate,
+            @Value("${app.oauth2.authorization-request.ttl-seconds:300}") long ttlSeconds) {
+
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        return boundState(request)
+                .map(state -> redisTemplate.opsForValue().get(KEY_PREFIX + state))
+                .map(this::decode)
+                .orElse(null);
+    }
+
+    @Override
+    public void saveAuthorizationRequest(OAuth2AuthorizationRequest authorizationRequest,
+                                         HttpServletRequest request, HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            removeAuthorizationRequest(request, response);
+            return;
+        }
+        String state = authorizationRequest.getState();
+        redisTemplate.opsForValue().set(KEY_PREFIX + state,
+                Base64.getEncoder().encodeToString(AuthorizationRequestCookies.serialize(authorizationRequest)), ttl);
+        AuthorizationRequestCookies.write(request, response, COOKIE_NAME, state, ttl);
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(HttpServletRequest request,
+                                                                 HttpServletResponse response) {
+        Optional<String> state = boundState(request);
+        AuthorizationRequestCookies.clear(request, response, COOKIE_NAME);
+        return state
+                .map(s -> redisTemplate.opsForValue().getAndDelete(KEY_PREFIX + s))
+                .map(this::decode)
+                .orElse(null);
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    // 콜백의 state 파라미터가 이 브라우저에 준 쿠키와 같을 때만 사용
+    private Optional<String> boundState(HttpServletRequest request) {
+        String state = request.getParameter(OAuth2ParameterNames.STATE);
+        if (state == null) {
+            return Optional.empty();
+        }
+        return AuthorizationRequestCookies.read(request, COOKIE_NAME).filter(state::equals);
+    }
+
+    private OAuth2AuthorizationRequest decode(String value) {
+        try {
+            return AuthorizationRequestCookies.deserialize(Base64.getDecoder().decode(value));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
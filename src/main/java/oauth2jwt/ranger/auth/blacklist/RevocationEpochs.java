@@ -0,0 +1,238 @@
+package oauth2jwt.ranger.auth.blacklist;
+
+import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.auth.jwt.VerifiedToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별/전체 토큰 무효화 기준 시각 ("이 시각 이전에 발급된 토큰은 무효")
+ *
+ * 토큰마다 블랙리스트 엔트리를 만드는 대신 사용자당 키 하나(revocation:epoch:v2:{userId} -> epoch 밀리초)만 저장함
+ * - 모든 기기 로그아웃/탈퇴는 발급된 토큰 수와 상관없이 키 하나로 처리
+ * - 장애 대응용 전체 무효화는 revocation:epoch:v2:global 키 하나로 처리
+ * - Redis 키의 TTL 은 Refresh Token 유효기간 (그 이후에는 기준 시각 이전에 발급된 Refresh Token 이 남아 있을 수 없음)
+ * TokenBlacklist 와 같은 방식으로 각 노드가 메모리에 들고 있음 (기동 시 SCAN, pub/sub 전파, 주기적 재동기화)
+ * - 메모리 엔트리는 기준 시각 + Access Token 유효기간까지만 유지 (그 이후에는 기준 시각 이전에 발급된 Access Token 이 없음)
+ * 필터에서는 토큰의 iat 와 비교만 하므로 요청당 Redis 조회가 없음
+ * 기준 시각과 iat 모두 밀리초 단위 (기준 시각과 같은 초에 로그인한 토큰이 바로 거절되지 않도록)
+ * Refresh Token 재발급도 같은 기준 시각으로 거절함 (AuthService, 무효화 이전에 발급된 Refresh Token 으로 새 토큰을 받을 수 없음)
+ * - 메모리 엔트리가 만료된 뒤에도 거절되도록 메모리에 없으면 Redis 키를 직접 조회 (재발급 요청당 MGET 한 번)
+ * v1(초 단위) 키/채널과 섞이지 않도록 키 접두사와 채널 이름에 버전을 붙임
+ */
+@Slf4j
+@Component
+public class RevocationEpochs implements MessageListener {
+
+    public static final String CHANNEL = "revocation:events:v2";
+    private static final String KEY_PREFIX = "revocation:epoch:v2:";
+    private static final String GLOBAL = "global";
+    private static final int SCAN_BATCH_SIZE = 500;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long accessTtlMillis;
+    private final long keyTtlMillis;
+
+    // key: userId 또는 "global", value: 기준 시각 + 엔트리 만료 시각
+    private final Map<String, Epoch> epochs = new ConcurrentHashMap<>();
+
+    public RevocationEpochs(
+            RedisTemplate<String, String> redisTemplate,
+            @Value("${jwt.access-token-validity-in-seconds}") long accessTokenValidity,
+            @Value("${jwt.refresh-token-validity-in-seconds}") long refreshTokenValidity) {
+
+        this.redisTemplate = redisTemplate;
+        this.accessTtlMillis = accessTokenValidity * 1000;
+        this.keyTtlMillis = Math.max(accessTokenValidity, refreshTokenValidity) * 1000;
+    }
+
+    // 해당 사용자에게 지금까지 발급된 모든 토큰 무효화 (모든 기기 로그아웃, 탈퇴)
+    public void revokeUser(Long userId) {
+        revoke(String.valueOf(userId));
+    }
+
+    // 여러 사용자를 한 번에 무효화 (대량 탈퇴, 키 저장과 전파를 파이프라인 한 번으로 처리)
+    public void revokeUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Epoch epoch = new Epoch(now, now + accessTtlMillis);
+        byte[] value = String.valueOf(epoch.epochMillis()).getBytes(StandardCharsets.UTF_8);
+        byte[] channel = CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            for (Long userId : userIds) {
+                String id = String.valueOf(userId);
+                connection.stringCommands().pSetEx((KEY_PREFIX + id).getBytes(StandardCharsets.UTF_8), keyTtlMillis, value);
+                connection.publish(channel, (id + ":" + epoch.epochMillis() + ":" + epoch.expiresAt())
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        for (Long userId : userIds) {
+            apply(String.valueOf(userId), epoch);
+        }
+    }
+
+    // 전체 사용자의 토큰 무효화 (키 유출 등 장애 대응)
+    public void revokeAll() {
+        revoke(GLOBAL);
+    }
+
+    // 토큰 발급 시각이 사용자/전체 기준 시각 이전이면 무효 (iat 가 없는 예전 토큰은 기준 시각이 있으면 무효)
+    public boolean isRevoked(VerifiedToken token) {
+        return isRevoked(token.subject(), token.issuedAt());
+    }
+
+    // Refresh Token 재발급용 (저장소에 기록된 발급 시각, 발급 시각이 없는 예전 토큰은 기준 시각이 있으면 무효)
+    // 메모리 엔트리는 Access Token 유효기간 뒤에 사라지므로 메모리에 없으면 Redis 의 기준 시각과 비교
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        String subject = (userId == null) ? null : String.valueOf(userId);
+        if (isRevoked(subject, issuedAt)) {
+            return true;
+        }
+        List<String> keys = (subject == null)
+                ? List.of(KEY_PREFIX + GLOBAL)
+                : List.of(KEY_PREFIX + GLOBAL, KEY_PREFIX + subject);
+        List<String> stored = redisTemplate.opsForValue().multiGet(keys);
+        if (stored == null) {
+            return false;
+        }
+        long issuedAtMillis = (issuedAt == null) ? Long.MIN_VALUE : issuedAt.toEpochMilli();
+        for (String epochMillis : stored) {
+            if (epochMillis != null && issuedAtMillis <= Long.parseLong(epochMillis)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 다른 노드에서 등록한 기준 시각 수신 ("<userId|global>:<epochMillis>:<expiresAt>")
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts.length != 3) {
+            log.warn("잘못된 토큰 무효화 메시지: {}", String.join(":", parts));
+            return;
+        }
+        apply(parts[0], new Epoch(Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+    }
+
+    // 기동 시 + 주기적으로 Redis 의 기준 시각 전체를 다시 적재
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.blacklist.resync-interval-ms:300000}",
+            initialDelayString = "${jwt.blacklist.resync-interval-ms:300000}")
+    public void reload() {
+        try {
+            List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+            int loaded = 0;
+            ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(SCAN_BATCH_SIZE).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    batch.add(cursor.next());
+                    if (batch.size() == SCAN_BATCH_SIZE) {
+                        loaded += loadBatch(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            loaded += loadBatch(batch);
+            log.info("토큰 무효화 기준 시각 동기화 완료: {}건", loaded);
+        } catch (Exception e) {
+            log.error("토큰 무효화 기준 시각 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    // 만료된 엔트리 정리
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        epochs.values().removeIf(epoch -> epoch.expiresAt() <= now);
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private boolean isRevoked(String subject, Instant issuedAt) {
+        if (epochs.isEmpty()) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        long issuedAtMillis = (issuedAt == null) ? Long.MIN_VALUE : issuedAt.toEpochMilli();
+        return revokedBy(epochs.get(GLOBAL), issuedAtMillis, now)
+                || (subject != null && revokedBy(epochs.get(subject), issuedAtMillis, now));
+    }
+
+    private void revoke(String id) {
+        long now = System.currentTimeMillis();
+        Epoch epoch = new Epoch(now, now + accessTtlMillis);
+
+        redisTemplate.opsForValue().set(KEY_PREFIX + id, String.valueOf(epoch.epochMillis()),
+                keyTtlMillis, TimeUnit.MILLISECONDS);
+        apply(id, epoch);
+        redisTemplate.convertAndSend(CHANNEL, id + ":" + epoch.epochMillis() + ":" + epoch.expiresAt());
+    }
+
+    // 같은 사용자에 대해 더 늦은 기준 시각만 반영 (메시지 순서가 뒤바뀌어도 안전)
+    private void apply(String id, Epoch epoch) {
+        epochs.merge(id, epoch, (current, incoming) ->
+                incoming.epochMillis() >= current.epochMillis() ? incoming : current);
+    }
+
+    // 기준 시각과 같은 밀리초에 발급된 토큰까지 무효 (정수 iat 인 예전 토큰은 해당 초의 시작 시각으로 비교)
+    private boolean revokedBy(Epoch epoch, long issuedAtMillis, long now) {
+        return epoch != null && epoch.expiresAt() > now && issuedAtMillis <= epoch.epochMillis();
+    }
+
+    // 키마다 값과 남은 TTL 을 파이프라인으로 한 번에 조회 (Access Token 유효기간이 지난 기준 시각은 메모리에 올리지 않음)
+    private int loadBatch(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            for (String key : keys) {
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                connection.stringCommands().get(rawKey);
+                connection.keyCommands().pTtl(rawKey);
+            }
+            return null;
+        });
+
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            Object value = results.get(i * 2);
+            if (value != null && results.get(i * 2 + 1) instanceof Long ttl && ttl > 0) {
+                long epochMillis = Long.parseLong(value.toString());
+                long expiresAt = Math.min(epochMillis + accessTtlMillis, now + ttl);
+                if (expiresAt > now) {
+                    apply(keys.get(i).substring(KEY_PREFIX.length()), new Epoch(epochMillis, expiresAt));
+                    loaded++;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private record Epoch(long epochMillis, long expiresAt) {
+    }
+}
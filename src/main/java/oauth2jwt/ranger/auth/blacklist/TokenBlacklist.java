@@ -0,0 +1,216 @@
+package oauth2jwt.ranger.auth.blacklist;
+
+import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.auth.jwt.TokenDigest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access Token 블랙리스트 (로그아웃/탈퇴된 토큰)
+ *
+ * Redis 가 원본 저장소이고, 각 노드는 아직 만료되지 않은 블랙리스트 토큰을 메모리에 들고 있음
+ * - 기동 시 SCAN 으로 전체 적재, 이후 주기적으로 재동기화 (pub/sub 유실 대비)
+ * - 등록 시 다른 노드에 pub/sub 메시지 전파
+ * - 엔트리는 토큰 자체의 만료 시각에 제거되므로 메모리는 "만료 전 폐기 토큰 수" 만큼만 사용
+ * 따라서 인증 요청마다 Redis 를 조회하지 않고 메모리에서 바로 판단함
+ *
+ * 토큰 원문 대신 jti(16자)로 식별하고, Redis 에는 토큰 만료 시각 구간별 해시에 모아서 저장
+ * - bl:{bucket}:{shard} -> hash {jti: reason}
+ *   bucket = 만료 시각을 jwt.blacklist.bucket-seconds 단위로 올림, shard = jti 해시 % jwt.blacklist.shards
+ * - 해시 전체가 구간 끝에 만료 (PEXPIREAT) 되므로 엔트리별 TTL 이 필요 없음
+ * - 해시 하나의 필드 수를 hash-max-listpack-entries(기본 128) 이하로 유지하면 listpack 인코딩으로 저장되어
+ *   키마다 붙는 dictEntry/redisObject/만료 정보가 사라짐
+ * - 한도를 넘으면 해시 전체가 hashtable 로 바뀌므로 shard 수는 예상 폐기량(jwt.blacklist.expected-revocations)에서 계산
+ *   (구간 수 = Access Token 유효기간 / bucket-seconds, 해시당 필드 수가 한도의 3/4 이하가 되도록 2의 거듭제곱으로 올림)
+ *   기본값(30분 토큰, 60초 구간, 100만 건)이면 512 -> 해시당 약 65개
+ * 저장 방식별 실제 메모리는 TokenBlacklistMemoryUsageTest 로 측정 (MEMORY USAGE, Redis 가 있을 때만 실행)
+ */
+@Slf4j
+@Component
+public class TokenBlacklist implements MessageListener {
+
+    public static final String CHANNEL = "blacklist:events";
+    private static final String KEY_PREFIX = "bl:";
+    // jti 도입 전 형식 (blacklist:{토큰 원문}), Access Token 유효기간이 지나면 더 이상 남아 있지 않음
+    private static final String LEGACY_KEY_PREFIX = "blacklist:";
+    private static final int SCAN_BATCH_SIZE = 500;
+    private static final int LISTPACK_MAX_ENTRIES = 128;
+    private static final int MIN_SHARDS = 512;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long bucketMillis;
+    private final int shards;
+
+    // key: 토큰 식별자 (jti, jti 가 없는 예전 토큰은 SHA-256 다이제스트), value: 토큰 만료 시각(epoch ms)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public TokenBlacklist(
+            RedisTemplate<String, String> redisTemplate,
+            @Value("${jwt.access-token-validity-in-seconds}") long accessTokenValidity,
+            @Value("${jwt.blacklist.bucket-seconds:60}") long bucketSeconds,
+            @Value("${jwt.blacklist.shards:0}") int shards,
+            @Value("${jwt.blacklist.expected-revocations:1000000}") long expectedRevocations) {
+
+        this.redisTemplate = redisTemplate;
+        this.bucketMillis = bucketSeconds * 1000;
+        this.shards = (shards > 0) ? shards : shardsFor(expectedRevocations, accessTokenValidity, bucketSeconds);
+        log.info("블랙리스트 구간당 해시 수: {}", this.shards);
+    }
+
+    // 유효기간 안에 동시에 남아 있을 수 있는 폐기 토큰 수 -> 구간당 해시 수 (해시당 필드 수 <= 한도의 3/4, 최소 512)
+    static int shardsFor(long expectedRevocations, long accessTokenValiditySeconds, long bucketSeconds) {
+        long buckets = Math.max(1, Math.ceilDiv(accessTokenValiditySeconds, bucketSeconds));
+        long perBucket = Math.ceilDiv(expectedRevocations, buckets);
+        long needed = Math.ceilDiv(perBucket, LISTPACK_MAX_ENTRIES * 3 / 4);
+        long shards = (needed <= 1) ? 1 : Long.highestOneBit(needed - 1) << 1;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(MIN_SHARDS, shards));
+    }
+
+    // 블랙리스트 등록 (Redis 저장 + 로컬 반영 + 다른 노드에 전파)
+    public void register(String tokenId, long expiresAt, String reason) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        long bucketEnd = (Math.floorDiv(expiresAt, bucketMillis) + 1) * bucketMillis;
+        byte[] key = (KEY_PREFIX + (bucketEnd / bucketMillis) + ":" + Math.floorMod(tokenId.hashCode(), shards))
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] field = tokenId.getBytes(StandardCharsets.UTF_8);
+        byte[] value = reason.getBytes(StandardCharsets.UTF_8);
+
+        redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            connection.hashCommands().hSet(key, field, value);
+            connection.keyCommands().pExpireAt(key, bucketEnd);
+            return null;
+        });
+        revoked.put(tokenId, expiresAt);
+        redisTemplate.convertAndSend(CHANNEL, tokenId + ":" + expiresAt);
+    }
+
+    // 블랙리스트 확인 (Redis 조회 없이 메모리에서 판단)
+    public boolean isBlacklisted(String tokenId) {
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    // 다른 노드에서 등록한 블랙리스트 수신 ("<tokenId>:<expiresAt>")
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0) {
+            log.warn("잘못된 블랙리스트 메시지: {}", body);
+            return;
+        }
+        revoked.put(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+    }
+
+    // 기동 시 + 주기적으로 Redis 의 블랙리스트 전체를 다시 적재
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.blacklist.resync-interval-ms:300000}",
+            initialDelayString = "${jwt.blacklist.resync-interval-ms:300000}")
+    public void reload() {
+        try {
+            int loaded = scan(KEY_PREFIX, this::loadBuckets) + scan(LEGACY_KEY_PREFIX, this::loadLegacyKeys);
+            log.info("블랙리스트 동기화 완료: {}건", loaded);
+        } catch (Exception e) {
+            log.error("블랙리스트 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    // 만료된 엔트리 정리
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private int scan(String prefix, BatchLoader loader) {
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        int loaded = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(SCAN_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == SCAN_BATCH_SIZE) {
+                    loaded += loader.load(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            loaded += loader.load(batch);
+        }
+        return loaded;
+    }
+
+    // 구간 해시마다 jti 목록과 남은 TTL 을 파이프라인으로 한 번에 조회
+    // (로컬 만료 시각은 구간 끝으로 잡힘, 토큰 자체는 그 전에 만료되므로 판단 결과는 같음)
+    private int loadBuckets(List<String> keys) {
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            for (String key : keys) {
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                connection.hashCommands().hKeys(rawKey);
+                connection.keyCommands().pTtl(rawKey);
+            }
+            return null;
+        });
+
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            if (results.get(i * 2) instanceof Set<?> tokenIds
+                    && results.get(i * 2 + 1) instanceof Long ttl && ttl > 0) {
+                for (Object tokenId : tokenIds) {
+                    revoked.putIfAbsent(tokenId.toString(), now + ttl);
+                    loaded++;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    // 예전 형식 키는 토큰 원문이 키에 들어 있으므로 다이제스트로 식별
+    private int loadLegacyKeys(List<String> keys) {
+        List<Object> ttls = redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            for (String key : keys) {
+                connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            if (ttls.get(i) instanceof Long ttl && ttl > 0) {
+                String token = keys.get(i).substring(LEGACY_KEY_PREFIX.length());
+                revoked.put(TokenDigest.sha256(token), now + ttl);
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    @FunctionalInterface
+    private interface BatchLoader {
+        int load(List<String> keys);
+    }
+}
@@ -6,14 +6,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import oauth2jwt.ranger.auth.CustomOAuth2User;
 import oauth2jwt.ranger.auth.jwt.JwtTokenProvider;
+import oauth2jwt.ranger.auth.refresh.RefreshTokenStore;
+import oauth2jwt.ranger.auth.session.SessionDevice;
+import oauth2jwt.ranger.auth.session.SessionRegistry;
 import oauth2jwt.ranger.domain.user.User;
-
-import oauth2jwt.ranger.repository.user.UserRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
@@ -24,7 +24,8 @@ import java.io.IOException;
 public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final UserRepository userRepository;
+    private final RefreshTokenStore refreshTokenStore;
+    private final SessionRegistry sessionRegistry;
 
     // application.yml에서 리다이렉트 주소를 가져옵니다.
     // 기본값은 로컬 테스트용 html 경로로 설정해두었습니다.
@@ -32,7 +33,6 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
     private String redirectUri;
 
     @Override
-    @Transactional
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication)
             throws IOException {
 
@@ -41,27 +41,27 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
         CustomOAuth2User oAuth2User = (CustomOAuth2User) authentication.getPrincipal();
         User user = oAuth2User.getUser();
 
-        // 2. JWT 토큰 생성 (Access & Refresh)
-        String accessToken = jwtTokenProvider.createAccessToken(authentication);
-        String refreshToken = jwtTokenProvider.createRefreshToken();
+        // 2. 로그인 세션 등록 (기기별 세션, 최대 세션 수를 넘으면 가장 오래된 세션 종료)
+        String sessionId = sessionRegistry.open(user.getId(), SessionDevice.from(request));
 
-        log.info("✅ 소셜 로그인 성공: {}", user.getUsername());
-        log.info("🆕 JWT 토큰 발급 완료");
+        // 3. Access Token 생성 (sid 클레임으로 세션 식별)
+        String accessToken = jwtTokenProvider.createAccessToken(authentication, sessionId);
 
-        // 3. Refresh Token DB 저장 (Ranger 서비스 전용 토큰)
+        // 4. Refresh Token 발급 + 저장 (Ranger 서비스 전용 토큰, 저장 위치는 RefreshTokenStore 구현체가 결정)
         // 참고: 소셜 플랫폼의 토큰(providerAccessToken)은 이미 UserService에서 저장했습니다.
-        // 여기서는 우리 서비스의 재발급용 토큰을 저장합니다.
-        user.updateRefreshToken(refreshToken);
-        userRepository.save(user); // 변경 감지(Dirty Checking)가 일어나지만, 명시적으로 save 호출
+        String refreshToken = refreshTokenStore.issue(user, sessionId);
+
+        log.info("✅ 소셜 로그인 성공: {}", user.getUsername());
+        log.info("🆕 JWT 토큰 발급 완료");
 
-        // 4. 리다이렉트 URL 생성
+        // 5. 리다이렉트 URL 생성
         // 설정파일(application.yml)에서 불러온 주소를 사용합니다.
         String targetUrl = UriComponentsBuilder.fromUriString(redirectUri)
                 .queryParam("accessToken", accessToken)
                 .queryParam("refreshToken", refreshToken)
                 .build().toUriString();
 
-        // 5. 리다이렉트 수행
+        // 6. 리다이렉트 수행
         getRedirectStrategy().sendRedirect(request, response, targetUrl);
     }
 }
@@ -0,0 +1,230 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 우리 서비스가 발급한 HS256 토큰 전용 검증기 (요청 경로 최적화용)
+ *
+ * JwtKey.newBuilder() 가 만드는 헤더와 정확히 같은 토큰만 처리하고, 그 외에는 null 을 반환해서
+ * jjwt 로 넘김 (만료/서명 불일치 토큰도 null -> jjwt 가 기존과 같은 예외를 던짐)
+ * - 헤더는 디코딩하지 않고 키별로 미리 구해둔 헤더 세그먼트와 문자열 비교
+ * - HMAC 은 스레드별로 재사용하는 Mac 으로 계산하고 상수 시간 비교
+ * - base64url 은 토큰 문자열에서 바로 디코딩 (substring 없음)
+ * - 페이로드는 Jackson 스트리밍 파서로 jti/sid/sub/username/auth/iat/exp 만 읽음
+ */
+@Component
+@RequiredArgsConstructor
+public class FastHs256Verifier {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int HS256_SIGNATURE_LENGTH = 32;
+    private static final int MAX_CACHED_AUTHORITIES = 64;
+
+    // base64url 문자 -> 6bit 값 (그 외 문자는 -1)
+    private static final byte[] BASE64URL = new byte[128];
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    // HMAC 입력(헤더.페이로드) ASCII 버퍼 재사용
+    private static final ThreadLocal<byte[]> SIGNING_INPUT = ThreadLocal.withInitial(() -> new byte[512]);
+
+    private final JwtKeyRing keyRing;
+
+    // 'auth' 클레임 문자열 -> 권한 목록 (권한 조합 수는 몇 개 되지 않으므로 캐시)
+    private final Map<String, List<GrantedAuthority>> authoritiesCache = new ConcurrentHashMap<>();
+
+    // 검증 성공 시 VerifiedToken, 이 검증기가 처리할 수 없는 토큰은 null
+    public VerifiedToken verify(String token) {
+        int firstDot = token.indexOf('.');
+        if (firstDot <= 0) {
+            return null;
+        }
+        int secondDot = token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return null;
+        }
+
+        HmacJwtKey key = findKey(token, firstDot);
+        if (key == null) {
+            return null;
+        }
+
+        // 1. 서명 검증
+        byte[] signature = decode(token, secondDot + 1, token.length());
+        if (signature == null || signature.length != HS256_SIGNATURE_LENGTH) {
+            return null;
+        }
+        byte[] input = signingInput(token, secondDot);
+        if (input == null) {
+            return null;
+        }
+        Mac mac = key.mac();
+        mac.update(input, 0, secondDot);
+        if (!MessageDigest.isEqual(mac.doFinal(), signature)) {
+            return null;
+        }
+
+        // 2. 클레임 파싱
+        byte[] payload = decode(token, firstDot + 1, secondDot);
+        if (payload == null) {
+            return null;
+        }
+        VerifiedToken verified = readClaims(payload);
+        if (verified == null || verified.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return verified;
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private HmacJwtKey findKey(String token, int headerLength) {
+        for (HmacJwtKey key : keyRing.hmacKeys()) {
+            String header = key.headerSegment();
+            if (header.length() == headerLength && token.regionMatches(0, header, 0, headerLength)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private VerifiedToken readClaims(byte[] payload) {
+        String tokenId = null;
+        String sessionId = null;
+        String subject = null;
+        String username = null;
+        String auth = null;
+        Instant issuedAt = null;
+        long exp = -1;
+
+        try (JsonParser parser = JSON.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "jti" -> tokenId = readText(parser, value);
+                    case "sid" -> sessionId = readText(parser, value);
+                    case "sub" -> subject = readText(parser, value);
+                    case "username" -> username = readText(parser, value);
+                    case "auth" -> auth = readText(parser, value);
+                    case "exp" -> {
+                        if (value != JsonToken.VALUE_NUMBER_INT) {
+                            return null;
+                        }
+                        exp = parser.getLongValue();
+                    }
+                    case "iat" -> {
+                        // 우리가 발급한 토큰은 밀리초까지 담은 소수 (예전 토큰은 정수)
+                        if (value != JsonToken.VALUE_NUMBER_INT && value != JsonToken.VALUE_NUMBER_FLOAT) {
+                            return null;
+                        }
+                        issuedAt = VerifiedToken.fromNumericDate(parser.getDecimalValue());
+                    }
+                    // jjwt 가 추가로 검증하는 클레임은 jjwt 에 맡김
+                    case "nbf" -> {
+                        return null;
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            return null;
+        }
+
+        if (exp < 0) {
+            return null;
+        }
+        return new VerifiedToken(tokenId, sessionId, subject, username, authorities(auth), issuedAt, Instant.ofEpochSecond(exp));
+    }
+
+    private String readText(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.VALUE_STRING) {
+            throw new IllegalStateException("문자열 클레임이 아닙니다.");
+        }
+        return parser.getText();
+    }
+
+    private List<GrantedAuthority> authorities(String auth) {
+        if (auth == null) {
+            return List.of();
+        }
+        List<GrantedAuthority> cached = authoritiesCache.get(auth);
+        if (cached != null) {
+            return cached;
+        }
+        List<GrantedAuthority> parsed = List.copyOf(Arrays.stream(auth.split(","))
+                .map(SimpleGrantedAuthority::new)
+                .toList());
+        if (authoritiesCache.size() < MAX_CACHED_AUTHORITIES) {
+            authoritiesCache.put(auth, parsed);
+        }
+        return parsed;
+    }
+
+    // 토큰의 "헤더.페이로드" 부분을 ASCII 바이트로 복사 (스레드별 버퍼 재사용)
+    private byte[] signingInput(String token, int length) {
+        byte[] buffer = SIGNING_INPUT.get();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            SIGNING_INPUT.set(buffer);
+        }
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c >= 128) {
+                return null;
+            }
+            buffer[i] = (byte) c;
+        }
+        return buffer;
+    }
+
+    // token[from, to) 구간의 base64url(패딩 없음) 디코딩, 잘못된 문자가 있으면 null
+    private static byte[] decode(String token, int from, int to) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return null;
+        }
+        byte[] out = new byte[length * 3 / 4];
+        int buffer = 0;
+        int bits = 0;
+        int index = 0;
+        for (int i = from; i < to; i++) {
+            char c = token.charAt(i);
+            int value = (c < 128) ? BASE64URL[c] : -1;
+            if (value < 0) {
+                return null;
+            }
+            buffer = (buffer << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                out[index++] = (byte) (buffer >> bits);
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,51 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+
+/**
+ * HS256 키 + 이 키로 발급하는 토큰의 헤더 세그먼트 + 스레드별 Mac
+ * 키 링 스냅샷을 만들 때 한 번만 생성되어 발급(JwtTokenIssuer)과 검증(FastHs256Verifier)이 함께 사용
+ */
+public final class HmacJwtKey {
+
+    private final JwtKey key;
+    private final String headerSegment;
+    private final byte[] headerBytes;
+    private final ThreadLocal<Mac> mac;
+
+    HmacJwtKey(JwtKey key) {
+        this.key = key;
+        // 헤더 구성은 JwtKey.newBuilder() 와 항상 같아야 하므로 같은 빌더로 만든 토큰에서 가져옴
+        String sample = key.newBuilder().setSubject("header").compact();
+        this.headerSegment = sample.substring(0, sample.indexOf('.'));
+        this.headerBytes = headerSegment.getBytes(StandardCharsets.US_ASCII);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(key.signingKey());
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 을 초기화할 수 없습니다.", e);
+            }
+        });
+    }
+
+    public JwtKey key() {
+        return key;
+    }
+
+    public String headerSegment() {
+        return headerSegment;
+    }
+
+    byte[] headerBytes() {
+        return headerBytes;
+    }
+
+    // 현재 스레드의 Mac (doFinal 후 자동으로 초기 상태로 돌아가므로 그대로 재사용)
+    public Mac mac() {
+        return mac.get();
+    }
+}
@@ -8,8 +8,12 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import oauth2jwt.ranger.auth.blacklist.RevocationEpochs;
+import oauth2jwt.ranger.auth.blacklist.TokenBlacklist;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
+import oauth2jwt.ranger.exception.auth.InvalidTokenException;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
@@ -27,7 +31,9 @@ import static oauth2jwt.ranger.auth.jwt.JwtConstants.TOKEN_PREFIX;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final TokenBlacklist tokenBlacklist;
+    private final RevocationEpochs revocationEpochs;
+    private final AuthMetrics authMetrics;
     private final AuthenticationEntryPoint entryPoint; // 전역 EntryPoint 주입
 
     private static final List<AntPathRequestMatcher> SKIP_MATCHERS = List.of(
@@ -36,6 +42,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             new AntPathRequestMatcher("/swagger-ui/**"),
             new AntPathRequestMatcher("/v3/api-docs/**"),
             new AntPathRequestMatcher("/redis/ping"),
+            new AntPathRequestMatcher("/.well-known/jwks.json"),
+            new AntPathRequestMatcher("/actuator/health"),
+            new AntPathRequestMatcher("/livez"),
+            new AntPathRequestMatcher("/readyz"),
             new AntPathRequestMatcher("/")
     );
 
@@ -59,32 +69,60 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            // 블랙리스트(로그아웃 토큰)
-            if (Boolean.TRUE.equals(redisTemplate.hasKey("blacklist:" + token))) {
-                entryPoint.commence(request, response,
-                        new org.springframework.security.core.AuthenticationException("로그아웃된 사용자입니다.") {});
-                return;
+            authenticate(token);
+        } catch (AuthenticationException e) {
+            SecurityContextHolder.clearContext();
+            entryPoint.commence(request, response, e);
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+
+    // 서명/만료 검증 -> 블랙리스트 확인 -> 클레임 매핑 (단계별 소요 시간/결과를 AuthMetrics 에 기록)
+    private void authenticate(String token) {
+        long start = System.nanoTime();
+        long stageStart = start;
+        AuthMetrics.Stage stage = AuthMetrics.Stage.SIGNATURE;
+        AuthMetrics.Outcome outcome = AuthMetrics.Outcome.VALID;
+
+        try {
+            // 유효성 검사 (서명/만료 검증은 요청당 한 번, 결과는 VerifiedTokenCache 에 보관)
+            VerifiedToken verified = jwtTokenProvider.verify(token);
+            stageStart = authMetrics.recordStage(stage, outcome, stageStart);
+
+            // 블랙리스트(로그아웃 토큰) - 검증 결과의 jti 로 Redis 조회 없이 로컬 인덱스에서 확인
+            stage = AuthMetrics.Stage.BLACKLIST;
+            if (tokenBlacklist.isBlacklisted(verified.tokenId())) {
+                outcome = AuthMetrics.Outcome.REVOKED;
+                throw failure("로그아웃된 사용자입니다.");
             }
+            stageStart = authMetrics.recordStage(stage, outcome, stageStart);
 
-            // 유효성 검사
-            if (jwtTokenProvider.validateToken(token)) {
-                Authentication auth = jwtTokenProvider.getAuthentication(token);
-                SecurityContextHolder.getContext().setAuthentication(auth);
-            } else {
-                SecurityContextHolder.clearContext();
-                entryPoint.commence(request, response,
-                        new org.springframework.security.core.AuthenticationException("유효하지 않은 토큰입니다.") {});
-                return;
+            // 모든 기기 로그아웃/탈퇴/전체 무효화 이전에 발급된 토큰 (iat 와 기준 시각 비교)
+            stage = AuthMetrics.Stage.CLAIMS;
+            if (revocationEpochs.isRevoked(verified)) {
+                outcome = AuthMetrics.Outcome.REVOKED;
+                throw failure("로그아웃된 사용자입니다.");
             }
 
-        } catch (JwtException | IllegalArgumentException e) {
-            SecurityContextHolder.clearContext();
-            entryPoint.commence(request, response,
-                    new org.springframework.security.core.AuthenticationException("JWT 오류: " + e.getMessage()) {});
-            return;
+            Authentication auth = jwtTokenProvider.getAuthentication(verified);
+            SecurityContextHolder.getContext().setAuthentication(auth);
+
+        } catch (JwtException e) {
+            outcome = AuthMetrics.Outcome.of(e);
+            throw failure("유효하지 않은 토큰입니다.");
+        } catch (InvalidTokenException | IllegalArgumentException e) {
+            outcome = AuthMetrics.Outcome.MALFORMED;
+            throw failure("JWT 오류: " + e.getMessage());
+        } finally {
+            long end = authMetrics.recordStage(stage, outcome, stageStart);
+            authMetrics.recordFilter(outcome, end - start);
         }
+    }
 
-        chain.doFilter(request, response);
+    private static AuthenticationException failure(String message) {
+        return new AuthenticationException(message) {};
     }
 
     /** Authorization: Bearer <token> 에서 토큰만 추출 */
@@ -0,0 +1,42 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+import java.security.PublicKey;
+
+/**
+ * 키 링에 등록된 서명 키 하나
+ * - kid: JWT 헤더의 kid (기존 jwt.secret 키는 kid 없이 발급되므로 null)
+ * - signingKey: 서명용 키 (검증 전용으로 남겨둔 키는 null)
+ * - verificationKey: 검증용 키 (HS256 은 signingKey 와 동일한 SecretKey)
+ */
+public record JwtKey(
+        String kid,
+        SignatureAlgorithm algorithm,
+        Key signingKey,
+        Key verificationKey
+) {
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+
+    // 이 키로 서명하는 JwtBuilder (헤더 구성은 항상 여기서만 결정)
+    public JwtBuilder newBuilder() {
+        JwtBuilder builder = Jwts.builder().signWith(signingKey, algorithm);
+        if (kid != null) {
+            // 검증 측(우리 서비스 + JWKS 를 쓰는 다른 서비스)이 키를 고를 수 있도록 kid 명시
+            builder.setHeaderParam(JwsHeader.KEY_ID, kid);
+        }
+        return builder;
+    }
+
+    // 공개키만 JWKS 로 공개 (HMAC 비밀키는 절대 공개하지 않음)
+    public boolean isPublishable() {
+        return kid != null && verificationKey instanceof PublicKey;
+    }
+}
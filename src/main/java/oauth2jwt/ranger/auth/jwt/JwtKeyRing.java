@@ -0,0 +1,378 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * JWT 서명 키 링
+ *
+ * 여러 개의 키를 동시에 들고 있다가 JWT 헤더의 kid 로 검증 키를 선택함
+ * jwt.key-ring.path 디렉터리를 주기적으로 다시 읽어서 재시작 없이 키를 교체(rotation)함
+ *
+ *   {kid}.pem      PKCS#8 개인키 (RSA -> RS256, EC P-256/384/521 -> ES256/384/512)
+ *   {kid}.pub.pem  X.509 공개키 (검증 + JWKS 공개, 개인키를 지운 키는 검증 전용으로 남음)
+ *   {kid}.secret   base64url HMAC 비밀키 (HS256, JWKS 로 공개되지 않음)
+ *   active         서명에 사용할 kid (없으면 기존 jwt.secret 키로 서명)
+ *
+ * kid 가 없는 토큰은 기존 jwt.secret 키(legacy)로 검증함
+ * jwt.key-ring.legacy-accepted-until 을 지정하면 그 시각 이후에는 kid 가 없는 토큰을 거부함 (legacy 키 폐기용)
+ * - 거부 이후에도 서명할 수 없도록 active kid 가 반드시 있어야 함 (없으면 기동/재적재 실패)
+ * - 그 전에 검증되어 캐시에 남은 토큰은 시각이 지난 뒤 첫 재적재 주기에 캐시를 비워 정리함
+ * 키 조회용 Map, JwtParser, JWKS JSON 은 키 링이 바뀔 때 한 번만 만들어 두므로
+ * 요청 경로에서는 volatile 읽기 + Map 조회만 발생함
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    private static final String ACTIVE_FILE = "active";
+
+    private final JwtKey legacyKey;
+    private final long legacyAcceptedUntil;
+    private final Path keyDirectory;
+    private final ObjectMapper objectMapper;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private volatile Snapshot snapshot;
+    private String fingerprint;
+    private volatile boolean legacyCacheCleared;
+
+    public JwtKeyRing(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.key-ring.path:}") String keyRingPath,
+            @Value("${jwt.key-ring.legacy-accepted-until:}") String legacyAcceptedUntil,
+            ObjectMapper objectMapper,
+            VerifiedTokenCache verifiedTokenCache) {
+
+        SecretKey legacy = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secretKey));
+        this.legacyKey = new JwtKey(null, SignatureAlgorithm.HS256, legacy, legacy);
+        this.legacyAcceptedUntil = StringUtils.hasText(legacyAcceptedUntil)
+                ? Instant.parse(legacyAcceptedUntil).toEpochMilli()
+                : Long.MAX_VALUE;
+        this.keyDirectory = StringUtils.hasText(keyRingPath) ? Path.of(keyRingPath) : null;
+        this.objectMapper = objectMapper;
+        this.verifiedTokenCache = verifiedTokenCache;
+
+        if (keyDirectory != null) {
+            // 기동 시에는 키 파일 오류를 바로 드러내기 위해 예외를 그대로 던짐
+            loadKeyDirectory();
+        } else {
+            this.snapshot = buildSnapshot(Map.of(), null);
+        }
+    }
+
+    // 새 토큰 서명에 사용할 키
+    public JwtKey signingKey() {
+        return snapshot.signingKey();
+    }
+
+    // kid 로 검증 키를 고르는 파서 (키 링이 바뀔 때만 다시 생성)
+    public JwtParser parser() {
+        return snapshot.parser();
+    }
+
+    // /.well-known/jwks.json 응답 본문
+    public String jwks() {
+        return snapshot.jwks();
+    }
+
+    // 검증 가능한 HS256 키 목록 (kid 가 없는 토큰을 아직 허용하면 legacy 포함)
+    public List<HmacJwtKey> hmacKeys() {
+        Snapshot current = snapshot;
+        return isLegacyAccepted() ? current.hmacKeys() : current.kidHmacKeys();
+    }
+
+    // kid 가 없는 토큰(legacy 키) 허용 여부
+    public boolean isLegacyAccepted() {
+        return System.currentTimeMillis() < legacyAcceptedUntil;
+    }
+
+    // 서명 키가 HS256 이면 해당 키, 아니면 null
+    public HmacJwtKey hmacSigningKey() {
+        return snapshot.hmacSigningKey();
+    }
+
+    // 키 디렉터리가 바뀌었으면 다시 적재 (실패 시 기존 키 링 유지)
+    @Scheduled(fixedDelayString = "${jwt.key-ring.reload-interval-ms:60000}",
+            initialDelayString = "${jwt.key-ring.reload-interval-ms:60000}")
+    public void reload() {
+        if (keyDirectory == null) {
+            return;
+        }
+        // legacy 허용 시각이 지나기 전에 검증되어 캐시에 남은 kid 없는 토큰 정리 (한 번만)
+        if (!legacyCacheCleared && !isLegacyAccepted()) {
+            verifiedTokenCache.invalidateAll();
+            legacyCacheCleared = true;
+            log.info("kid 가 없는 토큰 허용 기간 종료, 검증 캐시를 비웠습니다.");
+        }
+        try {
+            loadKeyDirectory();
+        } catch (Exception e) {
+            log.error("JWT 키 링 재적재 실패, 기존 키 링을 유지합니다: {}", e.getMessage());
+        }
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private synchronized void loadKeyDirectory() {
+        try {
+            String current = fingerprintOf(keyDirectory);
+            if (current.equals(fingerprint)) {
+                return;
+            }
+
+            Map<String, JwtKey> keys = loadKeys(keyDirectory);
+            Path activeFile = keyDirectory.resolve(ACTIVE_FILE);
+            String activeKid = Files.exists(activeFile) ? Files.readString(activeFile).trim() : null;
+
+            Snapshot previous = this.snapshot;
+            this.snapshot = buildSnapshot(keys, StringUtils.hasText(activeKid) ? activeKid : null);
+            this.fingerprint = current;
+
+            // 제거된 키로 검증된 토큰이 캐시에 남지 않도록 비움
+            if (previous != null && !keys.keySet().containsAll(previous.keys().keySet())) {
+                verifiedTokenCache.invalidateAll();
+            }
+            log.info("JWT 키 링 적재 완료: kids={}, active={}", keys.keySet(), snapshot.signingKey().kid());
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 키 링을 읽을 수 없습니다: " + keyDirectory, e);
+        }
+    }
+
+    private Snapshot buildSnapshot(Map<String, JwtKey> keys, String activeKid) {
+        JwtKey signing = (activeKid == null) ? legacyKey : keys.get(activeKid);
+        if (signing == null || !signing.canSign()) {
+            throw new IllegalStateException("서명에 사용할 수 있는 키가 아닙니다: " + activeKid);
+        }
+        if (signing == legacyKey && legacyAcceptedUntil != Long.MAX_VALUE) {
+            throw new IllegalStateException("jwt.key-ring.legacy-accepted-until 을 지정하면 active kid 가 필요합니다.");
+        }
+
+        Map<String, JwtKey> frozen = Map.copyOf(keys);
+        JwtParser parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyRingResolver(frozen))
+                .build();
+
+        // HS256 키는 헤더 세그먼트/Mac 을 미리 준비 (발급/검증 전용 경로에서 사용)
+        List<HmacJwtKey> hmacKeys = new ArrayList<>();
+        List<HmacJwtKey> kidHmacKeys = new ArrayList<>();
+        HmacJwtKey hmacSigningKey = null;
+        List<JwtKey> candidates = new ArrayList<>(frozen.values());
+        candidates.add(legacyKey);
+        for (JwtKey key : candidates) {
+            if (key.algorithm() == SignatureAlgorithm.HS256) {
+                HmacJwtKey hmacKey = new HmacJwtKey(key);
+                hmacKeys.add(hmacKey);
+                if (key != legacyKey) {
+                    kidHmacKeys.add(hmacKey);
+                }
+                if (key == signing) {
+                    hmacSigningKey = hmacKey;
+                }
+            }
+        }
+
+        return new Snapshot(frozen, signing, parser, toJwks(frozen), List.copyOf(hmacKeys), List.copyOf(kidHmacKeys),
+                hmacSigningKey);
+    }
+
+    private Map<String, JwtKey> loadKeys(Path directory) throws IOException, GeneralSecurityException {
+        Map<String, JwtKey> keys = new HashMap<>();
+        Map<String, PrivateKey> privateKeys = new HashMap<>();
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".secret")) {
+                    String kid = name.substring(0, name.length() - ".secret".length());
+                    SecretKey secret = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(Files.readString(file).trim()));
+                    keys.put(kid, new JwtKey(kid, SignatureAlgorithm.HS256, secret, secret));
+                } else if (name.endsWith(".pub.pem")) {
+                    publicKeys.put(name.substring(0, name.length() - ".pub.pem".length()),
+                            readPublicKey(readPem(file)));
+                } else if (name.endsWith(".pem")) {
+                    privateKeys.put(name.substring(0, name.length() - ".pem".length()),
+                            readPrivateKey(readPem(file)));
+                }
+            }
+        }
+
+        for (Map.Entry<String, PublicKey> entry : publicKeys.entrySet()) {
+            String kid = entry.getKey();
+            PublicKey publicKey = entry.getValue();
+            keys.put(kid, new JwtKey(kid, algorithmFor(publicKey), privateKeys.get(kid), publicKey));
+        }
+        privateKeys.keySet().stream()
+                .filter(kid -> !publicKeys.containsKey(kid))
+                .forEach(kid -> log.warn("공개키({}.pub.pem)가 없는 개인키는 무시합니다: {}", kid, kid));
+
+        return keys;
+    }
+
+    private SignatureAlgorithm algorithmFor(PublicKey publicKey) {
+        if (publicKey instanceof RSAPublicKey) {
+            return SignatureAlgorithm.RS256;
+        }
+        if (publicKey instanceof ECPublicKey ec) {
+            return switch (ec.getParams().getCurve().getField().getFieldSize()) {
+                case 256 -> SignatureAlgorithm.ES256;
+                case 384 -> SignatureAlgorithm.ES384;
+                case 521 -> SignatureAlgorithm.ES512;
+                default -> throw new IllegalArgumentException("지원하지 않는 EC 곡선입니다.");
+            };
+        }
+        throw new IllegalArgumentException("지원하지 않는 키 타입입니다: " + publicKey.getAlgorithm());
+    }
+
+    private byte[] readPem(Path file) throws IOException {
+        String body = Files.readAllLines(file).stream()
+                .filter(line -> !line.startsWith("-----"))
+                .collect(Collectors.joining());
+        return Base64.getMimeDecoder().decode(body);
+    }
+
+    private PrivateKey readPrivateKey(byte[] der) throws GeneralSecurityException {
+        try {
+            return KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(der));
+        } catch (InvalidKeySpecException e) {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(der));
+        }
+    }
+
+    private PublicKey readPublicKey(byte[] der) throws GeneralSecurityException {
+        try {
+            return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(der));
+        } catch (InvalidKeySpecException e) {
+            return KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(der));
+        }
+    }
+
+    // 파일 이름/수정 시각/크기로 변경 여부 판단
+    private String fingerprintOf(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<String> entries = new ArrayList<>();
+            for (Path file : files.sorted(Comparator.naturalOrder()).toList()) {
+                entries.add(file.getFileName() + "@" + Files.getLastModifiedTime(file).toMillis() + "/" + Files.size(file));
+            }
+            return String.join(",", entries);
+        }
+    }
+
+    // ---------------------- JWKS ----------------------
+
+    private String toJwks(Map<String, JwtKey> keys) {
+        List<Map<String, String>> jwks = keys.values().stream()
+                .filter(JwtKey::isPublishable)
+                .sorted(Comparator.comparing(JwtKey::kid))
+                .map(this::toJwk)
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(Map.of("keys", jwks));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("JWKS 직렬화 실패", e);
+        }
+    }
+
+    private Map<String, String> toJwk(JwtKey key) {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        jwk.put("kid", key.kid());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.algorithm().getValue());
+
+        if (key.verificationKey() instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus(), (rsa.getModulus().bitLength() + 7) / 8));
+            jwk.put("e", base64Url(rsa.getPublicExponent(), (rsa.getPublicExponent().bitLength() + 7) / 8));
+        } else if (key.verificationKey() instanceof ECPublicKey ec) {
+            int fieldSize = ec.getParams().getCurve().getField().getFieldSize();
+            int length = (fieldSize + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-" + fieldSize);
+            jwk.put("x", base64Url(ec.getW().getAffineX(), length));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), length));
+        }
+        return jwk;
+    }
+
+    // 부호 없는 big-endian 고정 길이로 변환 후 base64url 인코딩
+    private String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        byte[] unsigned = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, unsigned, length - copy, copy);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(unsigned);
+    }
+
+    // 한 시점의 키 링 (교체 시 통째로 바꿔 끼움)
+    private record Snapshot(Map<String, JwtKey> keys, JwtKey signingKey, JwtParser parser, String jwks,
+                            List<HmacJwtKey> hmacKeys, List<HmacJwtKey> kidHmacKeys, HmacJwtKey hmacSigningKey) {
+    }
+
+    // JWT 헤더의 kid 로 검증 키 선택
+    private class KeyRingResolver extends SigningKeyResolverAdapter {
+
+        private final Map<String, JwtKey> keys;
+
+        private KeyRingResolver(Map<String, JwtKey> keys) {
+            this.keys = keys;
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String kid = header.getKeyId();
+            if (kid == null && !isLegacyAccepted()) {
+                throw new UnsupportedJwtException("kid 가 없는 토큰은 더 이상 허용하지 않습니다.");
+            }
+            JwtKey key = (kid == null) ? legacyKey : keys.get(kid);
+            if (key == null) {
+                throw new UnsupportedJwtException("알 수 없는 kid 입니다: " + kid);
+            }
+            // 헤더의 alg 를 바꿔치기하는 공격 방지
+            if (!key.algorithm().getValue().equals(header.getAlgorithm())) {
+                throw new UnsupportedJwtException("kid 와 서명 알고리즘이 일치하지 않습니다: " + kid);
+            }
+            return key.verificationKey();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import oauth2jwt.ranger.domain.role.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Access/Refresh Token 발급기 (로그인 폭주, 배포 직후 대량 재발급 대비)
+ *
+ * 서명 키가 HS256 이면 jjwt 빌더를 거치지 않고 직접 토큰을 조립함
+ * - 헤더 세그먼트는 키 링 스냅샷에서 미리 인코딩된 값을 사용
+ * - Role 별 'auth' 클레임 조각은 한 번만 만들어 둠
+ * - 페이로드 JSON/base64url 인코딩은 스레드별 버퍼에 바로 씀
+ * - 서명은 스레드별로 재사용하는 Mac 으로 계산
+ * 클레임 순서는 jjwt 로 만든 토큰과 동일 (Access: {"exp","iat","jti","sid","sub","username","auth"}, Refresh: {"exp","iat","jti"})
+ * iat 는 밀리초까지 담은 NumericDate (예: 1700000000.123, RFC 7519 는 소수 허용)
+ * - 무효화 기준 시각(RevocationEpochs)과 밀리초 단위로 비교 (기준 시각과 같은 초에 로그인해도 새 토큰은 유효)
+ * sid 는 로그인 세션 식별자 (SessionRegistry, 세션 없이 발급한 토큰에는 없음)
+ * jti 는 96bit 난수 (Access Token: 블랙리스트 키, Refresh Token: 같은 초에 발급해도 서로 다른 토큰이 되도록)
+ * RS/ES 키로 서명할 때는 jjwt 빌더를 그대로 사용
+ */
+@Component
+public class JwtTokenIssuer {
+
+    private static final byte[] BASE64URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final int HS256_SIGNATURE_LENGTH = 32;
+    private static final int TOKEN_ID_BYTES = 12;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder TOKEN_ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    // 토큰 조립용 버퍼 (payload: JSON, token: 최종 토큰, signature: HMAC 결과)
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final JwtKeyRing keyRing;
+    private final long accessTokenValidityInMilliseconds;
+    private final long refreshTokenValidityInMilliseconds;
+
+    // Role -> ,"auth":"ROLE_USER"} (페이로드 마지막 조각)
+    private final Map<Role, byte[]> authClaimTails = new EnumMap<>(Role.class);
+
+    public JwtTokenIssuer(
+            JwtKeyRing keyRing,
+            @Value("${jwt.access-token-validity-in-seconds}") long accessTokenValidity,
+            @Value("${jwt.refresh-token-validity-in-seconds}") long refreshTokenValidity) {
+
+        this.keyRing = keyRing;
+        this.accessTokenValidityInMilliseconds = accessTokenValidity * 1000;
+        this.refreshTokenValidityInMilliseconds = refreshTokenValidity * 1000;
+        for (Role role : Role.values()) {
+            authClaimTails.put(role, (",\"auth\":\"" + role.name() + "\"}").getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    // Access Token 발급
+    public String issueAccessToken(Long userId, String username, Role role) {
+        return issueAccessToken(userId, username, role, null);
+    }
+
+    // 로그인 세션에 묶인 Access Token 발급
+    public String issueAccessToken(Long userId, String username, Role role, String sessionId) {
+        long now = System.currentTimeMillis();
+        HmacJwtKey hmacKey = keyRing.hmacSigningKey();
+        if (hmacKey == null) {
+            return buildWithJjwt(now, now + accessTokenValidityInMilliseconds, userId, username, role, sessionId);
+        }
+        return signAccessToken(hmacKey, now, expSeconds(now, accessTokenValidityInMilliseconds),
+                userId, username, role, sessionId);
+    }
+
+    // Refresh Token 발급
+    public String issueRefreshToken() {
+        long now = System.currentTimeMillis();
+        HmacJwtKey hmacKey = keyRing.hmacSigningKey();
+        if (hmacKey == null) {
+            return buildWithJjwt(now, now + refreshTokenValidityInMilliseconds, null, null, null, null);
+        }
+        return signRefreshToken(hmacKey, now, expSeconds(now, refreshTokenValidityInMilliseconds));
+    }
+
+    // 로그인/재발급 시 Access + Refresh Token 을 한 번에 발급 (키/시각 조회 1회)
+    public TokenPair issueTokenPair(Long userId, String username, Role role) {
+        long now = System.currentTimeMillis();
+        HmacJwtKey hmacKey = keyRing.hmacSigningKey();
+        if (hmacKey == null) {
+            return new TokenPair(
+                    buildWithJjwt(now, now + accessTokenValidityInMilliseconds, userId, username, role, null),
+                    buildWithJjwt(now, now + refreshTokenValidityInMilliseconds, null, null, null, null));
+        }
+        return new TokenPair(
+                signAccessToken(hmacKey, now, expSeconds(now, accessTokenValidityInMilliseconds), userId, username, role, null),
+                signRefreshToken(hmacKey, now, expSeconds(now, refreshTokenValidityInMilliseconds)));
+    }
+
+    // ---------------------- HS256 직접 조립 ----------------------
+
+    private String signAccessToken(HmacJwtKey key, long now, long exp,
+                                   Long userId, String username, Role role, String sessionId) {
+        Buffers buffers = BUFFERS.get();
+        TokenBuffer payload = buffers.payload.reset();
+        payload.ascii("{\"exp\":").number(exp)
+                .ascii(",\"iat\":").numericDate(now)
+                .ascii(",\"jti\":\"").ascii(newTokenId()).ascii("\"");
+        if (sessionId != null) {
+            payload.ascii(",\"sid\":").jsonString(sessionId);
+        }
+        payload.ascii(",\"sub\":\"").number(userId).ascii("\"");
+        if (username != null) {
+            payload.ascii(",\"username\":").jsonString(username);
+        }
+        payload.bytes(authClaimTails.get(role));
+        return sign(key, buffers);
+    }
+
+    private String signRefreshToken(HmacJwtKey key, long now, long exp) {
+        Buffers buffers = BUFFERS.get();
+        buffers.payload.reset().ascii("{\"exp\":").number(exp)
+                .ascii(",\"iat\":").numericDate(now)
+                .ascii(",\"jti\":\"").ascii(newTokenId()).ascii("\"}");
+        return sign(key, buffers);
+    }
+
+    // header.payload 를 인코딩하고 HMAC 서명을 붙여 최종 토큰 문자열 생성
+    private String sign(HmacJwtKey key, Buffers buffers) {
+        TokenBuffer token = buffers.token.reset();
+        token.bytes(key.headerBytes()).ascii(".");
+        token.base64Url(buffers.payload.data, buffers.payload.length);
+
+        Mac mac = key.mac();
+        mac.update(token.data, 0, token.length);
+        try {
+            mac.doFinal(buffers.signature, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+
+        token.ascii(".").base64Url(buffers.signature, HS256_SIGNATURE_LENGTH);
+        return new String(token.data, 0, token.length, StandardCharsets.US_ASCII);
+    }
+
+    // 토큰 식별자 (96bit 난수, base64url 16자)
+    private static String newTokenId() {
+        byte[] bytes = new byte[TOKEN_ID_BYTES];
+        RANDOM.nextBytes(bytes);
+        return TOKEN_ID_ENCODER.encodeToString(bytes);
+    }
+
+    private long expSeconds(long now, long validityInMilliseconds) {
+        // jjwt 의 setExpiration(Date) 와 같은 초 단위 내림
+        return (now + validityInMilliseconds) / 1000;
+    }
+
+    // ---------------------- RS/ES 키 (jjwt) ----------------------
+
+    private String buildWithJjwt(long now, long expiresAtMillis, Long userId, String username, Role role,
+                                 String sessionId) {
+        JwtBuilder builder = keyRing.signingKey().newBuilder()
+                .setExpiration(new Date(expiresAtMillis));
+
+        // 발급 시각 (무효화 기준 시각과 비교, setIssuedAt 은 초 단위로 내림하므로 밀리초까지 직접 기록)
+        builder.claim(Claims.ISSUED_AT, BigDecimal.valueOf(now, 3));
+        // 토큰 식별자 (블랙리스트 키)
+        builder.setId(newTokenId());
+        if (sessionId != null) {
+            // 로그인 세션 식별자 (로그아웃 시 해당 세션만 종료)
+            builder.claim("sid", sessionId);
+        }
+        if (userId != null) {
+            // subject에는 User의 ID를 저장 (고유 식별자)
+            builder.setSubject(userId.toString());
+        }
+        if (username != null) {
+            // 'username'이라는 별도 클레임을 만들어 사용자 이름 저장
+            builder.claim("username", username);
+        }
+        if (role != null) {
+            // 'auth' 클레임에 권한 정보 저장
+            builder.claim("auth", role.name());
+        }
+
+        return builder.compact();
+    }
+
+    // ---------------------- 버퍼 ----------------------
+
+    private static final class Buffers {
+        private final TokenBuffer payload = new TokenBuffer(256);
+        private final TokenBuffer token = new TokenBuffer(512);
+        private final byte[] signature = new byte[HS256_SIGNATURE_LENGTH];
+    }
+
+    // 재사용 가능한 가변 길이 바이트 버퍼 (JSON/base64url 쓰기 전용)
+    private static final class TokenBuffer {
+
+        private byte[] data;
+        private int length;
+
+        private TokenBuffer(int capacity) {
+            this.data = new byte[capacity];
+        }
+
+        private TokenBuffer reset() {
+            length = 0;
+            return this;
+        }
+
+        private void ensure(int additional) {
+            if (length + additional > data.length) {
+                byte[] grown = new byte[Math.max(data.length * 2, length + additional)];
+                System.arraycopy(data, 0, grown, 0, length);
+                data = grown;
+            }
+        }
+
+        private TokenBuffer bytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, data, length, bytes.length);
+            length += bytes.length;
+            return this;
+        }
+
+        // 호출부에서 넘기는 고정 ASCII 문자열 전용
+        private TokenBuffer ascii(String value) {
+            ensure(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                data[length++] = (byte) value.charAt(i);
+            }
+            return this;
+        }
+
+        private TokenBuffer number(long value) {
+            return ascii(Long.toString(value));
+        }
+
+        // epoch 밀리초 -> 초 단위 NumericDate (소수점 아래 세 자리)
+        private TokenBuffer numericDate(long epochMillis) {
+            long millis = epochMillis % 1000;
+            number(epochMillis / 1000).ascii(".");
+            if (millis < 100) {
+                ascii(millis < 10 ? "00" : "0");
+            }
+            return number(millis);
+        }
+
+        // JSON 문자열 (따옴표 포함, 이스케이프 + UTF-8 인코딩)
+        private TokenBuffer jsonString(String value) {
+            ensure(value.length() * 6 + 2);
+            data[length++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    data[length++] = '\\';
+                    data[length++] = (byte) c;
+                } else if (c < 0x20) {
+                    String escaped = String.format("\\u%04x", (int) c);
+                    for (int j = 0; j < escaped.length(); j++) {
+                        data[length++] = (byte) escaped.charAt(j);
+                    }
+                } else if (c < 0x80) {
+                    data[length++] = (byte) c;
+                } else {
+                    byte[] encoded = String.valueOf(c).getBytes(StandardCharsets.UTF_8);
+                    if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+                        encoded = value.substring(i, i + 2).getBytes(StandardCharsets.UTF_8);
+                        i++;
+                    }
+                    System.arraycopy(encoded, 0, data, length, encoded.length);
+                    length += encoded.length;
+                }
+            }
+            data[length++] = '"';
+            return this;
+        }
+
+        // src[0, srcLength) 를 base64url(패딩 없음)로 인코딩해서 이어 씀
+        private TokenBuffer base64Url(byte[] src, int srcLength) {
+            ensure((srcLength + 2) / 3 * 4);
+            int i = 0;
+            for (; i + 2 < srcLength; i += 3) {
+                int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+                data[length++] = BASE64URL[bits >>> 18 & 0x3f];
+                data[length++] = BASE64URL[bits >>> 12 & 0x3f];
+                data[length++] = BASE64URL[bits >>> 6 & 0x3f];
+                data[length++] = BASE64URL[bits & 0x3f];
+            }
+            int remaining = srcLength - i;
+            if (remaining == 1) {
+                int bits = (src[i] & 0xff) << 16;
+                data[length++] = BASE64URL[bits >>> 18 & 0x3f];
+                data[length++] = BASE64URL[bits >>> 12 & 0x3f];
+            } else if (remaining == 2) {
+                int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+                data[length++] = BASE64URL[bits >>> 18 & 0x3f];
+                data[length++] = BASE64URL[bits >>> 12 & 0x3f];
+                data[length++] = BASE64URL[bits >>> 6 & 0x3f];
+            }
+            return this;
+        }
+    }
+}
@@ -1,26 +1,20 @@
 package oauth2jwt.ranger.auth.jwt;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import oauth2jwt.ranger.auth.CustomOAuth2User;
 import oauth2jwt.ranger.domain.role.Role;
 import oauth2jwt.ranger.domain.user.User;
 import oauth2jwt.ranger.exception.auth.InvalidTokenException;
 import oauth2jwt.ranger.repository.user.UserRepository;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
-
-import java.security.Key;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.Date;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import static oauth2jwt.ranger.auth.jwt.JwtConstants.*;
@@ -29,102 +23,138 @@ import static oauth2jwt.ranger.auth.jwt.JwtConstants.*;
 @Component
 public class JwtTokenProvider {
 
-    private final Key key;
-    private final long accessTokenValidityInMilliseconds;
-    private final long refreshTokenValidityInMilliseconds;
+    private final JwtKeyRing keyRing;
+    private final FastHs256Verifier fastHs256Verifier;
+    private final JwtTokenIssuer jwtTokenIssuer;
     private final UserRepository userRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     public JwtTokenProvider(
-            @Value("${jwt.secret}") String secretKey,
-            @Value("${jwt.access-token-validity-in-seconds}") long accessTokenValidity,
-            @Value("${jwt.refresh-token-validity-in-seconds}") long refreshTokenValidity,
-            UserRepository userRepository) {
-
-        this.key = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secretKey));
-        this.accessTokenValidityInMilliseconds = accessTokenValidity * 1000;
-        this.refreshTokenValidityInMilliseconds = refreshTokenValidity * 1000;
+            JwtKeyRing keyRing,
+            FastHs256Verifier fastHs256Verifier,
+            JwtTokenIssuer jwtTokenIssuer,
+            UserRepository userRepository,
+            VerifiedTokenCache verifiedTokenCache) {
+
+        this.keyRing = keyRing;
+        this.fastHs256Verifier = fastHs256Verifier;
+        this.jwtTokenIssuer = jwtTokenIssuer;
         this.userRepository = userRepository;
-        log.info("JwtTokenProvider initialized with secret key and token validity settings.");
+        this.verifiedTokenCache = verifiedTokenCache;
+        log.info("JwtTokenProvider initialized with key ring and token issuer.");
     }
 
     // Access Token 생성
     public String createAccessToken(Authentication authentication) {
+        return createAccessToken(authentication, null);
+    }
+
+    // 로그인 세션에 묶인 Access Token 생성 (sid 클레임)
+    public String createAccessToken(Authentication authentication, String sessionId) {
 
         User user = extractUserFromAuthentication(authentication);
-        String authorities = extractAuthorities(authentication);
-        Date validity = calculateTokenValidity(this.accessTokenValidityInMilliseconds);
 
-        // ✅ buildToken에 user.getId()와 user.getUsername()을 명시적으로 전달
-        return buildToken(user.getId().toString(), user.getUsername(), authorities, validity);
+        // ✅ 발급기에 user.getId()와 user.getUsername()을 명시적으로 전달
+        return jwtTokenIssuer.issueAccessToken(user.getId(), user.getUsername(), user.getRole(), sessionId);
     }
 
     // Refresh Token 생성
     public String createRefreshToken() {
-        log.info("Creating refresh token");
-        Date validity = calculateTokenValidity(this.refreshTokenValidityInMilliseconds);
-        return buildToken(null, null, null, validity);
+        return jwtTokenIssuer.issueRefreshToken();
+    }
+
+    // 재발급용 Access Token 생성 (Refresh Token 저장소에 보관된 소유자 정보 사용, DB 조회 없음)
+    public String createAccessToken(Long userId, String username, Role role, String sessionId) {
+        return jwtTokenIssuer.issueAccessToken(userId, username, role, sessionId);
+    }
+
+    // 토큰 검증 (서명 + 만료) 후 검증된 토큰 반환
+    // 최근 검증한 토큰은 캐시에서 바로 반환하므로 HMAC 검증/JSON 디코딩이 반복되지 않음
+    // 검증 실패 시 JwtException 발생
+    public VerifiedToken verify(String token) {
+        token = stripBearerPrefix(token);
+        String digest = TokenDigest.sha256(token);
+
+        VerifiedToken cached = verifiedTokenCache.get(digest);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return cached;
+        }
+
+        // 우리가 발급한 HS256 토큰은 전용 검증기로 처리하고, 그 외 형태는 jjwt 로 검증
+        // (jjwt 는 헤더의 kid 로 키 링에서 검증 키를 선택)
+        VerifiedToken verified = fastHs256Verifier.verify(token);
+        if (verified == null) {
+            Claims claims = keyRing.parser().parseClaimsJws(token).getBody();
+            verified = toVerifiedToken(claims);
+        }
+        if (verified.tokenId() == null) {
+            // jti 도입 전에 발급된 토큰은 다이제스트로 식별 (블랙리스트 키)
+            verified = verified.withTokenId(digest);
+        }
+        verifiedTokenCache.put(digest, verified);
+        return verified;
     }
 
     // Authentication 객체 가져오기 (Stateless)
     public Authentication getAuthentication(String token) {
-        log.info("Parsing JWT token to get authentication without DB lookup");
-        token = stripBearerPrefix(token);
-        Claims claims = parseClaimsFromToken(token);
+        log.debug("Parsing JWT token to get authentication without DB lookup");
+        try {
+            return getAuthentication(verify(token));
+        } catch (JwtException e) {
+            log.error("Error parsing JWT token: {}", e.getMessage());
+            throw new IllegalArgumentException("Invalid JWT token", e);
+        }
+    }
 
+    // 이미 검증된 토큰으로 Authentication 생성 (파싱 없음)
+    public Authentication getAuthentication(VerifiedToken token) {
         // 'auth' 클레임이 없으면 Access Token이 아니므로 예외 발생
-        if (claims.get("auth") == null) {
+        if (!token.isAccessToken()) {
             throw new InvalidTokenException("권한 정보가 없는 토큰입니다.");
         }
 
-        Collection<? extends GrantedAuthority> authorities =
-                Arrays.stream(claims.get("auth").toString().split(","))
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
-
         User principal = User.builder()
-                .id(Long.parseLong(claims.getSubject()))
-                .username(claims.get("username", String.class))
-                .name(claims.get("name", String.class))
-                .role(Role.valueOf((String) authorities.iterator().next().getAuthority()))
+                .id(Long.parseLong(token.subject()))
+                .username(token.username())
+                .role(Role.valueOf(token.authorities().get(0).getAuthority()))
                 .build();
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        return new UsernamePasswordAuthenticationToken(principal, "", token.authorities());
     }
 
     // User로부터 Authentication 생성
     public Authentication getAuthenticationFromUser(User user) {
-        log.info("Creating Authentication from user: {}", user.getUsername());
+        log.debug("Creating Authentication from user: {}", user.getUsername());
         return new UsernamePasswordAuthenticationToken(user, "", user.getAuthorities());
     }
 
     // JWT 토큰 검증
     public boolean validateToken(String token) {
-        token = stripBearerPrefix(token);
-
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            log.info("JWT token is valid.");
+            verify(token);
+            log.debug("JWT token is valid.");
             return true;
-        } catch (JwtException e) {
-            log.error("JWT token is invalid: {}", e.getMessage());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT token is invalid: {}", e.getMessage());
         }
         return false;
     }
 
+    // 블랙리스트 조회용 토큰 식별자 (jti, 없으면 다이제스트)
+    // 재발급 요청에는 보통 만료된 Access Token 이 오므로 만료된 토큰도 서명이 맞으면 식별자를 반환
+    public String tokenIdOf(String token) {
+        try {
+            return verify(token).tokenId();
+        } catch (ExpiredJwtException e) {
+            String tokenId = e.getClaims().getId();
+            return (tokenId != null) ? tokenId : TokenDigest.sha256(stripBearerPrefix(token));
+        }
+    }
+
     // AccessToken 남은 만료 시간(ms) 조회
     public long getRemainingTime(String token) {
         try {
-            token = stripBearerPrefix(token); // "Bearer " 제거
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-
-            Date expiration = claims.getExpiration();
-            long now = System.currentTimeMillis();
-
-            return expiration.getTime() - now; // 남은 만료 시간 (ms)
+            return verify(token).remainingMillis(); // 남은 만료 시간 (ms)
         } catch (JwtException e) {
             log.error("Error getting expiration from token: {}", e.getMessage());
             throw new InvalidTokenException("유효하지 않은 토큰입니다.");
@@ -137,54 +167,34 @@ public class JwtTokenProvider {
         Object principal = authentication.getPrincipal();
 
         if (principal instanceof CustomOAuth2User oAuth2User) {
-            log.info("Extracted user from CustomOAuth2User: {}", oAuth2User.getUser().getUsername());
+            log.debug("Extracted user from CustomOAuth2User: {}", oAuth2User.getUser().getUsername());
             return oAuth2User.getUser();
         } else if (principal instanceof User user) {
-            log.info("Extracted user from User: {}", user.getUsername());
+            log.debug("Extracted user from User: {}", user.getUsername());
             return user;
         } else {
             throw new IllegalArgumentException("Unsupported principal type: " + principal.getClass().getName());
         }
     }
 
-    private String extractAuthorities(Authentication authentication) {
-        return authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.joining(","));
-    }
-
-    private Date calculateTokenValidity(long validityInMilliseconds) {
-        long now = (new Date()).getTime();
-        return new Date(now + validityInMilliseconds);
-    }
-
-    private String buildToken(String userId, String username, String authorities, Date validity) {
-        JwtBuilder builder = Jwts.builder()
-                .signWith(key, SignatureAlgorithm.HS256)
-                .setExpiration(validity);
-
-        if (userId != null) {
-            // subject에는 User의 ID를 저장 (고유 식별자)
-            builder.setSubject(userId);
-        }
-        if (username != null) {
-            // 'username'이라는 별도 클레임을 만들어 사용자 이름 저장
-            builder.claim("username", username);
-        }
-        if (authorities != null) {
-            // 'auth' 클레임에 권한 정보 저장
-            builder.claim("auth", authorities);
-        }
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        Object auth = claims.get("auth");
+        List<GrantedAuthority> authorities = (auth == null)
+                ? List.of()
+                : Arrays.stream(auth.toString().split(","))
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList());
 
-        return builder.compact();
-    }
-    private Claims parseClaimsFromToken(String token) {
-        try {
-            return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
-        } catch (JwtException e) {
-            log.error("Error parsing JWT token: {}", e.getMessage());
-            throw new IllegalArgumentException("Invalid JWT token", e);
-        }
+        return new VerifiedToken(
+                claims.getId(),
+                claims.get("sid", String.class),
+                claims.getSubject(),
+                claims.get("username", String.class),
+                authorities,
+                // getIssuedAt() 은 초 단위로 내림하므로 원래 값(밀리초 포함)을 사용
+                (claims.get(Claims.ISSUED_AT) instanceof Number issuedAt) ? VerifiedToken.fromNumericDate(issuedAt) : null,
+                claims.getExpiration().toInstant()
+        );
     }
 
     private String stripBearerPrefix(String token) {
@@ -0,0 +1,7 @@
+package oauth2jwt.ranger.auth.jwt;
+
+/**
+ * 로그인/재발급 시 함께 발급되는 Access + Refresh Token
+ */
+public record TokenPair(String accessToken, String refreshToken) {
+}
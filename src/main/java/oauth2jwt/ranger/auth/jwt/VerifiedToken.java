@@ -0,0 +1,63 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 서명/만료 검증을 통과한 JWT 의 불변 스냅샷
+ * 한 번 검증한 결과를 필터, 서비스가 함께 사용하므로 토큰을 다시 파싱할 필요가 없음
+ * (Refresh Token 은 subject/username/auth 클레임이 없으므로 authorities 가 비어 있음)
+ * (issuedAt 은 iat 클레임 도입 전에 발급된 토큰이면 null, 밀리초까지 담은 iat 는 밀리초 단위로 보존)
+ * tokenId 는 jti 클레임 (jti 도입 전에 발급된 토큰은 JwtTokenProvider 가 토큰 다이제스트로 채움)
+ * sessionId 는 sid 클레임 (로그인 세션 없이 발급된 토큰이면 null)
+ */
+public record VerifiedToken(
+        String tokenId,
+        String sessionId,
+        String subject,
+        String username,
+        List<GrantedAuthority> authorities,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public VerifiedToken {
+        authorities = (authorities == null) ? List.of() : List.copyOf(authorities);
+    }
+
+    // NumericDate(초, 소수점 아래는 밀리초까지) -> Instant
+    static Instant fromNumericDate(Number seconds) {
+        if (seconds == null) {
+            return null;
+        }
+        BigDecimal decimal = switch (seconds) {
+            case BigDecimal value -> value;
+            case Double value -> BigDecimal.valueOf(value);
+            case Float value -> BigDecimal.valueOf(value.doubleValue());
+            default -> BigDecimal.valueOf(seconds.longValue());
+        };
+        return Instant.ofEpochMilli(decimal.movePointRight(3).setScale(0, RoundingMode.FLOOR).longValue());
+    }
+
+    public VerifiedToken withTokenId(String tokenId) {
+        return new VerifiedToken(tokenId, sessionId, subject, username, authorities, issuedAt, expiresAt);
+    }
+
+    // 'auth' 클레임이 있는 토큰만 Access Token 으로 취급
+    public boolean isAccessToken() {
+        return !authorities.isEmpty();
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAt.toEpochMilli() <= nowMillis;
+    }
+
+    // 만료까지 남은 시간(ms)
+    public long remainingMillis() {
+        return expiresAt.toEpochMilli() - System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,177 @@
+package oauth2jwt.ranger.auth.metrics;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import oauth2jwt.ranger.exception.auth.InvalidTokenException;
+import oauth2jwt.ranger.exception.auth.RefreshInProgressException;
+import oauth2jwt.ranger.exception.auth.TokenNotFoundException;
+import oauth2jwt.ranger.exception.auth.UnauthorizedException;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 인증 경로 단계별 Micrometer 지표 (/actuator/prometheus 로 노출)
+ *
+ * - auth.filter          : JwtAuthenticationFilter 전체 (outcome)
+ * - auth.filter.stage    : 필터 단계별 (stage = signature/blacklist/claims, outcome)
+ * - auth.operation       : 재발급/로그아웃/탈퇴 등 AuthService 작업 (operation, outcome)
+ * - auth.provider.call   : 소셜 Provider 외부 호출 (provider, operation, outcome)
+ * - auth.user.store      : 소셜 로그인 시 사용자 조회/저장 (provider, operation, outcome)
+ * - auth.refresh.coalesced : 동시 재발급 요청이 기존 Rotation 결과를 공유한 횟수 (source, Counter)
+ * Timer 는 호출 수(_count)도 함께 노출됨
+ * 필터 Timer 는 요청마다 조회하지 않도록 stage/outcome 조합별로 미리 등록해 둠
+ * 퍼센타일 히스토그램/SLO 구간은 management.metrics.distribution.* 설정으로 지정
+ */
+@Component
+public class AuthMetrics {
+
+    private static final String SUCCESS = "success";
+
+    public enum Stage { SIGNATURE, BLACKLIST, CLAIMS }
+
+    public enum Outcome {
+        VALID, EXPIRED, REVOKED, BAD_SIGNATURE, MALFORMED;
+
+        // jjwt/검증기 예외를 outcome 으로 분류
+        public static Outcome of(JwtException e) {
+            if (e instanceof ExpiredJwtException) {
+                return EXPIRED;
+            }
+            if (e instanceof SecurityException) {
+                return BAD_SIGNATURE;
+            }
+            return MALFORMED;
+        }
+
+        private String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Outcome, Timer> filterTimers = new EnumMap<>(Outcome.class);
+    private final Map<Stage, Map<Outcome, Timer>> stageTimers = new EnumMap<>(Stage.class);
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Outcome outcome : Outcome.values()) {
+            filterTimers.put(outcome, Timer.builder("auth.filter")
+                    .description("JwtAuthenticationFilter 처리 시간")
+                    .tag("outcome", outcome.tag())
+                    .register(registry));
+        }
+        for (Stage stage : Stage.values()) {
+            Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                timers.put(outcome, Timer.builder("auth.filter.stage")
+                        .description("JwtAuthenticationFilter 단계별 처리 시간")
+                        .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                        .tag("outcome", outcome.tag())
+                        .register(registry));
+            }
+            stageTimers.put(stage, timers);
+        }
+    }
+
+    // ---------------------- JwtAuthenticationFilter ----------------------
+
+    // 단계 소요 시간 기록 후 현재 시각(ns) 반환 (다음 단계의 시작 시각으로 사용)
+    public long recordStage(Stage stage, Outcome outcome, long startNanos) {
+        long now = System.nanoTime();
+        stageTimers.get(stage).get(outcome).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void recordFilter(Outcome outcome, long elapsedNanos) {
+        filterTimers.get(outcome).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ---------------------- AuthService ----------------------
+
+    public <T> T recordOperation(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = action.get();
+            outcome = SUCCESS;
+            return result;
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(registry.timer("auth.operation", "operation", operation, "outcome", outcome));
+        }
+    }
+
+    public void recordOperation(String operation, Runnable action) {
+        recordOperation(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // 동시/중복 재발급 요청이 Rotation 없이 기존 결과를 받은 경우
+    public void recordRefreshCoalesced(String source) {
+        registry.counter("auth.refresh.coalesced", "source", source).increment();
+    }
+
+    // ---------------------- 외부 Provider 호출 / 사용자 저장소 ----------------------
+
+    public <T> T recordProviderCall(String provider, String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "failure";
+        try {
+            T result = call.get();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            sample.stop(registry.timer("auth.provider.call",
+                    "provider", provider, "operation", operation, "outcome", outcome));
+        }
+    }
+
+    public void recordProviderCall(String provider, String operation, Runnable call) {
+        recordProviderCall(provider, operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    public Timer.Sample startSample() {
+        return Timer.start(registry);
+    }
+
+    public void recordUserStore(Timer.Sample sample, String provider, String operation, String outcome) {
+        sample.stop(registry.timer("auth.user.store",
+                "provider", provider, "operation", operation, "outcome", outcome));
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private String outcomeOf(RuntimeException e) {
+        if (e instanceof UnauthorizedException) {
+            return "unauthorized";
+        }
+        if (e instanceof InvalidTokenException) {
+            return "invalid";
+        }
+        if (e instanceof TokenNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof RefreshInProgressException) {
+            return "in_progress";
+        }
+        if (e instanceof JwtException jwtException) {
+            return Outcome.of(jwtException).tag();
+        }
+        return "error";
+    }
+}
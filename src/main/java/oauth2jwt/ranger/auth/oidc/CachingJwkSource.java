@@ -0,0 +1,86 @@
+package oauth2jwt.ranger.auth.oidc;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.ResourceRetriever;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URL;
+import java.util.List;
+
+/**
+ * Provider JWKS 캐시 (refresh-ahead)
+ *
+ * 키는 OidcIdTokenDecoders 의 주기 작업이 백그라운드에서 미리 갱신하므로 로그인 요청은 메모리의 키로만 검증함
+ * 캐시에 없는 kid 로 서명된 토큰(Provider 키 교체 직후)이면 한 번 바로 다시 받아옴
+ * (잘못된 kid 로 반복 요청해도 마지막 시도 후 minRefreshIntervalMillis 안에는 다시 받지 않음, Provider 장애 중에도 동일)
+ * 갱신에 실패하면 기존 키를 계속 사용
+ * 아직 키를 한 번도 받지 못했으면 간격 안의 로그인 요청은 Provider 를 호출하지 않고 바로 실패 (백그라운드 갱신은 간격과 상관없이 시도)
+ */
+@Slf4j
+public class CachingJwkSource implements JWKSource<SecurityContext> {
+
+    private final URL jwkSetUrl;
+    private final ResourceRetriever retriever;
+    private final long minRefreshIntervalMillis;
+
+    private volatile JWKSet jwkSet;
+    private volatile long attemptedAt;
+
+    public CachingJwkSource(URL jwkSetUrl, ResourceRetriever retriever, long minRefreshIntervalMillis) {
+        this.jwkSetUrl = jwkSetUrl;
+        this.retriever = retriever;
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext context) throws KeySourceException {
+        JWKSet current = jwkSet;
+        if (current == null) {
+            current = refreshIfStale(minRefreshIntervalMillis);
+        }
+        List<JWK> keys = selector.select(current);
+        if (keys.isEmpty()) {
+            // 모르는 kid -> Provider 가 키를 교체했을 수 있으므로 한 번 다시 받아옴
+            keys = selector.select(refreshIfStale(minRefreshIntervalMillis));
+        }
+        return keys;
+    }
+
+    // 백그라운드 갱신 (실패하면 기존 키 유지)
+    public void refresh() {
+        try {
+            refreshIfStale(0);
+        } catch (KeySourceException e) {
+            log.warn("JWKS 갱신 실패, 기존 키를 유지합니다 ({}): {}", jwkSetUrl, e.getMessage());
+        }
+    }
+
+    // 마지막 시도 후 minAgeMillis 가 지났을 때만 다시 받아옴 (동시에 여러 요청이 와도 한 번만, 실패한 시도도 포함)
+    // 간격 안인데 받아 둔 키가 없으면(첫 조회 실패) 다시 시도하지 않고 바로 실패
+    private synchronized JWKSet refreshIfStale(long minAgeMillis) throws KeySourceException {
+        JWKSet current = jwkSet;
+        if (System.currentTimeMillis() - attemptedAt < minAgeMillis) {
+            if (current != null) {
+                return current;
+            }
+            throw new KeySourceException("JWKS 조회 실패, 다음 시도까지 대기 중: " + jwkSetUrl);
+        }
+        attemptedAt = System.currentTimeMillis();
+        try {
+            JWKSet loaded = JWKSet.parse(retriever.retrieveResource(jwkSetUrl).getContent());
+            jwkSet = loaded;
+            log.debug("JWKS 갱신 완료 ({}): {}개", jwkSetUrl, loaded.getKeys().size());
+            return loaded;
+        } catch (Exception e) {
+            if (current != null) {
+                return current;
+            }
+            throw new KeySourceException("JWKS 조회 실패: " + jwkSetUrl, e);
+        }
+    }
+}
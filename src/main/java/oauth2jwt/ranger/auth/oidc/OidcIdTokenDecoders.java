@@ -0,0 +1,124 @@
+package oauth2jwt.ranger.auth.oidc;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenDecoderFactory;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenValidator;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.converter.ClaimTypeConverter;
+import org.springframework.security.oauth2.core.oidc.OidcScopes;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoderFactory;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OIDC ID Token 디코더 (OAuth2 로그인 설정이 JwtDecoderFactory<ClientRegistration> 빈을 자동으로 사용)
+ *
+ * 기본 OidcIdTokenDecoderFactory 와 같은 검증(RS256 서명, exp/iat, iss/aud/azp/nonce)을 하되
+ * JWKS 는 CachingJwkSource 로 미리 받아 두고 주기적으로 백그라운드에서 갱신함 (로그인 요청 중 JWKS 조회 없음)
+ * - 기동 시: openid scope 를 쓰는 Provider 의 JWKS 를 미리 적재
+ * - 주기: app.oauth2.oidc.jwks-refresh-interval-ms (Google 키는 보통 며칠 단위로 교체, 교체 직후 모르는 kid 는 즉시 재조회)
+ */
+@Slf4j
+@Component
+public class OidcIdTokenDecoders implements JwtDecoderFactory<ClientRegistration> {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 2000;
+    private static final int READ_TIMEOUT_MILLIS = 5000;
+    private static final int SIZE_LIMIT_BYTES = 50 * 1024;
+
+    private final ClientRegistrationRepository clientRegistrationRepository;
+    private final long minRefreshIntervalMillis;
+    private final DefaultResourceRetriever retriever =
+            new DefaultResourceRetriever(CONNECT_TIMEOUT_MILLIS, READ_TIMEOUT_MILLIS, SIZE_LIMIT_BYTES);
+
+    // key: JWKS URI (같은 Provider 의 여러 등록이 키를 공유)
+    private final Map<String, CachingJwkSource> jwkSources = new ConcurrentHashMap<>();
+    // key: registrationId
+    private final Map<String, JwtDecoder> decoders = new ConcurrentHashMap<>();
+
+    public OidcIdTokenDecoders(
+            ClientRegistrationRepository clientRegistrationRepository,
+            @Value("${app.oauth2.oidc.jwks-min-refresh-interval-ms:30000}") long minRefreshIntervalMillis) {
+
+        this.clientRegistrationRepository = clientRegistrationRepository;
+        this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+    }
+
+    @Override
+    public JwtDecoder createDecoder(ClientRegistration registration) {
+        return decoders.computeIfAbsent(registration.getRegistrationId(), id -> buildDecoder(registration));
+    }
+
+    // 기동 시 JWKS 미리 적재 (첫 로그인 요청이 JWKS 조회를 기다리지 않도록)
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (clientRegistrationRepository instanceof Iterable<?> registrations) {
+            for (Object registration : registrations) {
+                if (registration instanceof ClientRegistration client && isOidc(client)) {
+                    jwkSource(client).refresh();
+                }
+            }
+        }
+    }
+
+    // 백그라운드 주기 갱신 (refresh-ahead)
+    @Scheduled(fixedDelayString = "${app.oauth2.oidc.jwks-refresh-interval-ms:3600000}",
+            initialDelayString = "${app.oauth2.oidc.jwks-refresh-interval-ms:3600000}")
+    public void refresh() {
+        jwkSources.values().forEach(CachingJwkSource::refresh);
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private JwtDecoder buildDecoder(ClientRegistration registration) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource(registration)));
+        // 클레임 검증은 아래 Spring 검증기가 담당
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                new JwtTimestampValidator(), new OidcIdTokenValidator(registration)));
+        decoder.setClaimSetConverter(new ClaimTypeConverter(OidcIdTokenDecoderFactory.createDefaultClaimTypeConverters()));
+        return decoder;
+    }
+
+    private CachingJwkSource jwkSource(ClientRegistration registration) {
+        String jwkSetUri = registration.getProviderDetails().getJwkSetUri();
+        if (!StringUtils.hasText(jwkSetUri)) {
+            throw new IllegalStateException("JWKS URI 가 설정되지 않았습니다: " + registration.getRegistrationId());
+        }
+        return jwkSources.computeIfAbsent(jwkSetUri, uri -> {
+            try {
+                return new CachingJwkSource(URI.create(uri).toURL(), retriever, minRefreshIntervalMillis);
+            } catch (MalformedURLException | IllegalArgumentException e) {
+                throw new IllegalStateException("잘못된 JWKS URI: " + uri, e);
+            }
+        });
+    }
+
+    private boolean isOidc(ClientRegistration registration) {
+        return registration.getScopes().contains(OidcScopes.OPENID)
+                && StringUtils.hasText(registration.getProviderDetails().getJwkSetUri());
+    }
+}
@@ -0,0 +1,65 @@
+package oauth2jwt.ranger.auth.refresh;
+
+import lombok.RequiredArgsConstructor;
+import oauth2jwt.ranger.auth.jwt.JwtTokenProvider;
+import oauth2jwt.ranger.auth.jwt.TokenDigest;
+import oauth2jwt.ranger.domain.user.User;
+import oauth2jwt.ranger.exception.auth.InvalidTokenException;
+import oauth2jwt.ranger.repository.user.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * users.refresh_token_digest 컬럼에 JWT Refresh Token 다이제스트를 저장하는 구현체 (jwt.refresh-token.store=jpa)
+ *
+ * Rotation 은 조건부 UPDATE 한 번 (WHERE digest = 기존 다이제스트)
+ * 같은 토큰으로 동시에 재발급해도 한 요청만 1 row 를 갱신하고 나머지는 0 -> 재사용으로 간주
+ * 컬럼이 하나이므로 사용자당 토큰도 하나 (다른 기기에서 로그인하면 이전 기기의 토큰은 폐기됨, 세션 정보는 저장하지 않음)
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh-token.store", havingValue = "jpa")
+@RequiredArgsConstructor
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final UserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+
+    @Override
+    @Transactional
+    public String issue(User user, String sessionId) {
+        String refreshToken = jwtTokenProvider.createRefreshToken();
+        userRepository.updateRefreshTokenDigest(user.getId(), TokenDigest.sha256(refreshToken));
+        return refreshToken;
+    }
+
+    @Override
+    @Transactional
+    public Optional<RefreshTokenGrant> rotate(String refreshToken) {
+        // 1. Refresh Token 유효성 검증 (발급 시각은 무효화 기준 시각과 비교)
+        if (!jwtTokenProvider.validateToken(refreshToken)) {
+            throw new InvalidTokenException("유효하지 않은 Refresh Token 입니다.");
+        }
+        Instant issuedAt = jwtTokenProvider.verify(refreshToken).issuedAt();
+
+        // 2. 새 토큰으로 교체 (CAS), 0 row 면 이미 사용되었거나 폐기된 토큰
+        String rotated = jwtTokenProvider.createRefreshToken();
+        String rotatedDigest = TokenDigest.sha256(rotated);
+        if (userRepository.rotateRefreshTokenDigest(TokenDigest.sha256(refreshToken), rotatedDigest) == 0) {
+            return Optional.empty();
+        }
+
+        // 3. 새 다이제스트로 소유자 조회 (유니크 인덱스)
+        return userRepository.findByRefreshTokenDigest(rotatedDigest)
+                .map(user -> new RefreshTokenGrant(user.getId(), null, issuedAt, rotated));
+    }
+
+    @Override
+    @Transactional
+    public void revoke(Long userId, String sessionId) {
+        userRepository.updateRefreshTokenDigest(userId, null);
+    }
+}
@@ -0,0 +1,181 @@
+package oauth2jwt.ranger.auth.refresh;
+
+import oauth2jwt.ranger.auth.jwt.TokenDigest;
+import oauth2jwt.ranger.domain.user.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Redis Refresh Token 저장소 (jwt.refresh-token.store=redis, 기본값)
+ *
+ * 토큰은 "{소유자}.{256bit 난수(base64url)}" 형태의 불투명 문자열이고 Redis 에는 원문 대신 다이제스트만 저장
+ * - refresh:v2:session:{sid}   -> hash {digest, uid, iat} (세션의 현재 유효한 토큰, 소유자 = sid)
+ * - refresh:v2:user:{userId}   -> 같은 구조, 세션 도입 전에 발급된 토큰을 이어받은 것 (소유자 = ~userId)
+ * 모든 키의 TTL 은 jwt.refresh-token-validity-in-seconds, iat 는 현재 토큰의 발급 시각(ms)
+ * 토큰에서 소유자 키를 바로 알 수 있으므로 발급/Rotation 은 KEYS 로 넘긴 키 하나에 대한 Lua 스크립트 한 번 (Redis Cluster 에서도 슬롯 하나)
+ * digest 가 일치할 때만 교체하므로 같은 토큰으로 동시에 재발급해도 한 번만 성공
+ * username/role 은 저장하지 않음 (권한이 바뀌어도 반영되도록 재발급할 때마다 UserProfileCache 에서 현재 값을 읽음)
+ *
+ * 예전 형식 토큰(소유자 없음, refresh:token:{digest} + refresh:session:{sid} / refresh:user:{userId})은
+ * 첫 재발급 때 한 번 소비하고 같은 소유자의 새 형식 토큰으로 교체 (jwt.refresh-token-validity-in-seconds 가 지나면 제거 가능)
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh-token.store", havingValue = "redis", matchIfMissing = true)
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String SESSION_KEY_PREFIX = "refresh:v2:session:";
+    private static final String USER_KEY_PREFIX = "refresh:v2:user:";
+    private static final String USER_OWNER_PREFIX = "~";
+    private static final char OWNER_SEPARATOR = '.';
+    private static final String LEGACY_TOKEN_KEY_PREFIX = "refresh:token:";
+    private static final String LEGACY_SESSION_KEY_PREFIX = "refresh:session:";
+    private static final String LEGACY_USER_KEY_PREFIX = "refresh:user:";
+    private static final int TOKEN_BYTES = 32;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    // KEYS: 소유자 키 / ARGV: digest, TTL(ms), uid, 발급 시각(ms)
+    // 이전 토큰은 digest 를 덮어쓰는 것으로 폐기됨
+    private static final RedisScript<Long> ISSUE = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'digest', ARGV[1], 'uid', ARGV[3], 'iat', ARGV[4])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS: 소유자 키 / ARGV: 기존 digest, 새 digest, TTL(ms), 발급 시각(ms)
+    // digest 가 다르면(만료/폐기/이미 사용됨) nil, 같으면 새 digest 로 교체하고 {uid, 기존 토큰의 iat} 반환
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE = new DefaultRedisScript<>("""
+            local owner = redis.call('HMGET', KEYS[1], 'digest', 'uid', 'iat')
+            if owner[1] ~= ARGV[1] then
+                return nil
+            end
+            redis.call('HSET', KEYS[1], 'digest', ARGV[2], 'iat', ARGV[4])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return {owner[2], owner[3]}
+            """, List.class);
+
+    // KEYS: 예전 토큰 키 / 소유자 정보를 꺼내고 삭제 (없으면 빈 목록, 같은 토큰으로 동시에 요청해도 한 번만 꺼냄)
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CONSUME_LEGACY = new DefaultRedisScript<>("""
+            local owner = redis.call('HGETALL', KEYS[1])
+            redis.call('DEL', KEYS[1])
+            return owner
+            """, List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String ttlMillis;
+
+    public RedisRefreshTokenStore(
+            RedisTemplate<String, String> redisTemplate,
+            @Value("${jwt.refresh-token-validity-in-seconds}") long refreshTokenValidity) {
+
+        this.redisTemplate = redisTemplate;
+        this.ttlMillis = String.valueOf(refreshTokenValidity * 1000);
+    }
+
+    @Override
+    public String issue(User user, String sessionId) {
+        return store(owner(user.getId(), sessionId), user.getId());
+    }
+
+    @Override
+    public Optional<RefreshTokenGrant> rotate(String refreshToken) {
+        int separator = refreshToken.indexOf(OWNER_SEPARATOR);
+        if (separator < 0) {
+            return rotateLegacy(refreshToken);
+        }
+
+        String owner = refreshToken.substring(0, separator);
+        String rotated = newToken(owner);
+        List<?> values = redisTemplate.execute(ROTATE, List.of(ownerKey(owner)),
+                TokenDigest.sha256(refreshToken), TokenDigest.sha256(rotated), ttlMillis,
+                String.valueOf(System.currentTimeMillis()));
+        if (values == null || values.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new RefreshTokenGrant(
+                Long.parseLong(String.valueOf(values.get(0))),
+                owner.startsWith(USER_OWNER_PREFIX) ? null : owner,
+                Instant.ofEpochMilli(Long.parseLong(String.valueOf(values.get(1)))),
+                rotated));
+    }
+
+    @Override
+    public void revoke(Long userId, String sessionId) {
+        revokeLegacy(sessionId != null ? LEGACY_SESSION_KEY_PREFIX + sessionId : LEGACY_USER_KEY_PREFIX + userId);
+        redisTemplate.delete(ownerKey(owner(userId, sessionId)));
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    // 새 토큰 발급 후 소유자 키에 저장 (같은 소유자의 이전 토큰은 폐기)
+    private String store(String owner, Long userId) {
+        String refreshToken = newToken(owner);
+        redisTemplate.execute(ISSUE, List.of(ownerKey(owner)),
+                TokenDigest.sha256(refreshToken), ttlMillis, String.valueOf(userId),
+                String.valueOf(System.currentTimeMillis()));
+        return refreshToken;
+    }
+
+    // 예전 형식 토큰: 한 번 소비하고 같은 소유자(세션, sid 가 없으면 사용자)의 새 형식 토큰 발급
+    private Optional<RefreshTokenGrant> rotateLegacy(String refreshToken) {
+        List<?> fields = redisTemplate.execute(CONSUME_LEGACY,
+                List.of(LEGACY_TOKEN_KEY_PREFIX + TokenDigest.sha256(refreshToken)));
+        if (fields == null || fields.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map<String, String> legacy = new HashMap<>();
+        for (int i = 0; i + 1 < fields.size(); i += 2) {
+            legacy.put(String.valueOf(fields.get(i)), String.valueOf(fields.get(i + 1)));
+        }
+        Long userId = Long.parseLong(legacy.get("uid"));
+        String sessionId = legacy.get("sid");
+        String iat = legacy.get("iat");
+
+        String rotated = store(owner(userId, sessionId), userId);
+        return Optional.of(new RefreshTokenGrant(userId, sessionId,
+                (iat != null) ? Instant.ofEpochMilli(Long.parseLong(iat)) : null, rotated));
+    }
+
+    // 예전 형식: 세션/사용자 키가 가리키는 토큰까지 삭제 (두 키의 슬롯이 다를 수 있으므로 스크립트 대신 명령을 나눠 실행)
+    private void revokeLegacy(String key) {
+        String current = redisTemplate.opsForValue().getAndDelete(key);
+        if (current != null) {
+            redisTemplate.delete(LEGACY_TOKEN_KEY_PREFIX + current);
+        }
+    }
+
+    // 토큰 소유자: 세션이면 sid, 세션 도입 전에 발급된 토큰이면 ~userId
+    private static String owner(Long userId, String sessionId) {
+        return (sessionId != null) ? sessionId : USER_OWNER_PREFIX + userId;
+    }
+
+    private static String ownerKey(String owner) {
+        return owner.startsWith(USER_OWNER_PREFIX)
+                ? USER_KEY_PREFIX + owner.substring(USER_OWNER_PREFIX.length())
+                : SESSION_KEY_PREFIX + owner;
+    }
+
+    private static String newToken(String owner) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        return owner + OWNER_SEPARATOR + ENCODER.encodeToString(bytes);
+    }
+}
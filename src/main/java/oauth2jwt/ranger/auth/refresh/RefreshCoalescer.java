@@ -0,0 +1,272 @@
+package oauth2jwt.ranger.auth.refresh;
+
+import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.auth.jwt.TokenDigest;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
+import oauth2jwt.ranger.dto.auth.response.TokenResponse;
+import oauth2jwt.ranger.exception.auth.RefreshInProgressException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 Refresh Token 으로 동시에 들어온 재발급 요청을 한 번의 Rotation 으로 합침 (single-flight)
+ *
+ * 앱 복귀 직후 여러 탭/요청이 같은 Refresh Token 을 보내면 첫 요청만 Rotation 에 성공하고
+ * 나머지는 TokenNotFoundException -> 재시도 폭주로 이어지므로
+ * - 같은 노드: 진행 중인 Rotation 결과(CompletableFuture)를 함께 기다림 (대기 시간 초과는 409, 클라이언트 재시도)
+ * - 다른 노드: Redis 락(refresh:lock:{digest})을 잡은 노드만 Rotation, 나머지는 결과가 올라올 때까지 대기 (대기 시간 초과는 409)
+ * - 늦게 도착한 중복 요청: 유예 시간 동안 이미 발급한 토큰 쌍을 그대로 반환 (refresh:grace:{digest})
+ * 유예 키에는 토큰 원문 대신 이전 Refresh Token 에서 파생한 키로 AES-GCM 암호화한 값만 저장
+ * (Redis 에는 이전 토큰의 다이제스트만 있으므로 이전 토큰을 가진 요청만 복호화할 수 있음)
+ * 세션을 종료하면 invalidateSession 으로 해당 세션의 유예 키를 지움 (refresh:grace:session:{sid} -> 다이제스트 목록)
+ * 유예 시간 동안은 이전 Refresh Token 으로도 같은 토큰 쌍을 받을 수 있으므로 짧게 유지해야 함
+ */
+@Slf4j
+@Component
+public class RefreshCoalescer {
+
+    private static final String LOCK_KEY_PREFIX = "refresh:lock:";
+    private static final String GRACE_KEY_PREFIX = "refresh:grace:";
+    private static final String GRACE_SESSION_KEY_PREFIX = "refresh:grace:session:";
+    private static final long POLL_INTERVAL_MILLIS = 25;
+
+    private static final String KEY_LABEL = "refresh-grace";
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // 내가 잡은 락만 해제 (값 비교 후 삭제)
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final AuthMetrics authMetrics;
+    private final Duration gracePeriod;
+    private final Duration lockTtl;
+    private final long lockWaitMillis;
+
+    // key: 기존 Refresh Token 다이제스트
+    private final Map<String, CompletableFuture<TokenResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public RefreshCoalescer(
+            RedisTemplate<String, String> redisTemplate,
+            AuthMetrics authMetrics,
+            @Value("${jwt.refresh-token.grace-period-ms:10000}") long gracePeriodMillis,
+            @Value("${jwt.refresh-token.lock-ttl-ms:5000}") long lockTtlMillis,
+            @Value("${jwt.refresh-token.lock-wait-ms:3000}") long lockWaitMillis) {
+
+        this.redisTemplate = redisTemplate;
+        this.authMetrics = authMetrics;
+        this.gracePeriod = Duration.ofMillis(gracePeriodMillis);
+        this.lockTtl = Duration.ofMillis(lockTtlMillis);
+        this.lockWaitMillis = lockWaitMillis;
+    }
+
+    // rotation 은 같은 Refresh Token 에 대해 (유예 시간 안에서) 클러스터 전체에서 한 번만 실행됨
+    public TokenResponse reissue(String refreshToken, Supplier<Rotated> rotation) {
+        String digest = TokenDigest.sha256(refreshToken);
+
+        // 1. 같은 노드에서 진행 중인 Rotation 이 있으면 결과를 함께 기다림
+        CompletableFuture<TokenResponse> mine = new CompletableFuture<>();
+        CompletableFuture<TokenResponse> running = inFlight.putIfAbsent(digest, mine);
+        if (running != null) {
+            authMetrics.recordRefreshCoalesced("in_flight");
+            return await(running);
+        }
+
+        try {
+            TokenResponse result = rotateOnce(refreshToken, digest, rotation);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(digest, mine);
+        }
+    }
+
+    // 세션 종료(로그아웃, 다른 기기 로그아웃, 세션 수 초과) 시 해당 세션의 유예 결과 삭제
+    public void invalidateSession(String sessionId) {
+        String indexKey = GRACE_SESSION_KEY_PREFIX + sessionId;
+        Set<String> digests = redisTemplate.opsForSet().members(indexKey);
+        List<String> keys = new ArrayList<>();
+        keys.add(indexKey);
+        if (digests != null) {
+            for (String digest : digests) {
+                keys.add(GRACE_KEY_PREFIX + digest);
+            }
+        }
+        redisTemplate.delete(keys);
+    }
+
+    // Rotation 결과 (유예 결과를 세션 종료 시 지우기 위해 세션 식별자를 함께 받음, 세션 없는 예전 토큰이면 null)
+    public record Rotated(String sessionId, TokenResponse tokens) {
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    // 노드 간 single-flight: 락을 잡은 노드만 Rotation, 나머지는 유예 키에 결과가 올라오거나 락이 풀릴 때까지 대기
+    // 락 없이는 Rotation 하지 않음 (대기 시간 초과는 같은 노드 대기와 마찬가지로 409, 클라이언트 재시도)
+    private TokenResponse rotateOnce(String refreshToken, String digest, Supplier<Rotated> rotation) {
+        String lockKey = LOCK_KEY_PREFIX + digest;
+        String owner = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + lockWaitMillis;
+        boolean waited = false;
+
+        while (true) {
+            TokenResponse issued = readGrace(refreshToken, digest);
+            if (issued != null) {
+                authMetrics.recordRefreshCoalesced(waited ? "lock_wait" : "grace_redis");
+                return issued;
+            }
+
+            if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, owner, lockTtl))) {
+                try {
+                    // 유예 키 확인 -> 락 획득 사이에 이전 보유 노드가 결과 저장 후 락을 풀었을 수 있으므로 다시 확인
+                    issued = readGrace(refreshToken, digest);
+                    if (issued != null) {
+                        authMetrics.recordRefreshCoalesced("lock_wait");
+                        return issued;
+                    }
+                    // 다른 노드가 결과 없이 끝났으면(실패) 직접 시도 (이미 소비된 토큰이면 저장소가 거절)
+                    Rotated result = rotation.get();
+                    writeGrace(refreshToken, digest, result);
+                    return result.tokens();
+                } finally {
+                    redisTemplate.execute(RELEASE, List.of(lockKey), owner);
+                }
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                log.warn("Refresh Token Rotation 대기 시간 초과: {}ms", lockWaitMillis);
+                throw new RefreshInProgressException("토큰 재발급이 진행 중입니다. 잠시 후 다시 시도해주세요.");
+            }
+            waited = true;
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private TokenResponse await(CompletableFuture<TokenResponse> running) {
+        try {
+            return running.get(lockWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // 먼저 들어온 요청이 아직 Rotation 중 -> 잠시 후 다시 시도하면 유예 결과를 받음
+            throw new RefreshInProgressException("토큰 재발급이 진행 중입니다. 잠시 후 다시 시도해주세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 암호화한 "<accessToken> <refreshToken>" 저장 + 세션별 유예 키 목록에 추가
+    private void writeGrace(String refreshToken, String digest, Rotated result) {
+        TokenResponse issued = result.tokens();
+        redisTemplate.opsForValue().set(GRACE_KEY_PREFIX + digest,
+                seal(refreshToken, digest, issued.getAccessToken() + " " + issued.getRefreshToken()), gracePeriod);
+        if (result.sessionId() != null) {
+            String indexKey = GRACE_SESSION_KEY_PREFIX + result.sessionId();
+            redisTemplate.opsForSet().add(indexKey, digest);
+            redisTemplate.expire(indexKey, gracePeriod);
+        }
+    }
+
+    private TokenResponse readGrace(String refreshToken, String digest) {
+        String value = redisTemplate.opsForValue().get(GRACE_KEY_PREFIX + digest);
+        if (value == null) {
+            return null;
+        }
+        String plain = open(refreshToken, digest, value);
+        if (plain == null) {
+            return null;
+        }
+        int separator = plain.indexOf(' ');
+        return TokenResponse.of(plain.substring(0, separator), plain.substring(separator + 1));
+    }
+
+    // base64url(IV 12B + 암호문 + 인증 태그 16B), AAD 는 이전 토큰 다이제스트
+    private String seal(String refreshToken, String digest, String plain) {
+        byte[] iv = new byte[IV_BYTES];
+        RANDOM.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, graceKey(refreshToken), new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(digest.getBytes(StandardCharsets.US_ASCII));
+            byte[] sealed = cipher.doFinal(plain.getBytes(StandardCharsets.US_ASCII));
+            return ENCODER.encodeToString(ByteBuffer.allocate(iv.length + sealed.length).put(iv).put(sealed).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("재발급 유예 결과 암호화 실패", e);
+        }
+    }
+
+    // 변조/형식 오류면 null
+    private String open(String refreshToken, String digest, String value) {
+        try {
+            byte[] bytes = DECODER.decode(value);
+            if (bytes.length <= IV_BYTES) {
+                return null;
+            }
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, graceKey(refreshToken), new GCMParameterSpec(TAG_BITS, bytes, 0, IV_BYTES));
+            cipher.updateAAD(digest.getBytes(StandardCharsets.US_ASCII));
+            String plain = new String(cipher.doFinal(bytes, IV_BYTES, bytes.length - IV_BYTES), StandardCharsets.US_ASCII);
+            return (plain.indexOf(' ') > 0) ? plain : null;
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            return null;
+        }
+    }
+
+    // 이전 Refresh Token 원문에서 HMAC-SHA256 으로 파생 (다이제스트(SHA-256)와는 다른 값)
+    private static SecretKeySpec graceKey(String refreshToken) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(refreshToken.getBytes(StandardCharsets.US_ASCII), "HmacSHA256"));
+            return new SecretKeySpec(mac.doFinal(KEY_LABEL.getBytes(StandardCharsets.US_ASCII)), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("재발급 유예 키 생성 실패", e);
+        }
+    }
+}
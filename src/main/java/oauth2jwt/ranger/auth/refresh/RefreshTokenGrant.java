@@ -0,0 +1,12 @@
+package oauth2jwt.ranger.auth.refresh;
+
+import java.time.Instant;
+
+/**
+ * Rotation 결과: 토큰 소유자(사용자 ID, 세션) + 새 Refresh Token
+ * username/role 은 담지 않음 (Access Token 발급 시 UserProfileCache 에서 현재 값을 읽음)
+ * (sessionId 는 세션 도입 전에 발급된 토큰이거나 jpa 저장소이면 null)
+ * issuedAt 은 이번에 소비한 Refresh Token 의 발급 시각 (무효화 기준 시각과 비교, 발급 시각 기록 전에 발급된 토큰이면 null)
+ */
+public record RefreshTokenGrant(Long userId, String sessionId, Instant issuedAt, String refreshToken) {
+}
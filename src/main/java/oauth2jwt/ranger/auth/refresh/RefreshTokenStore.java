@@ -0,0 +1,25 @@
+package oauth2jwt.ranger.auth.refresh;
+
+import oauth2jwt.ranger.domain.user.User;
+
+import java.util.Optional;
+
+/**
+ * 우리 서비스 Refresh Token 저장소
+ *
+ * Refresh Token 은 로그인 세션(SessionRegistry) 하나에 묶임 (세션당 유효한 토큰은 하나)
+ * jwt.refresh-token.store 값으로 구현체 선택
+ * - redis (기본값): 불투명 토큰 + Redis, 세션마다 토큰 보관, 재발급 시 DB 를 사용하지 않음
+ * - jpa: 기존 방식 (JWT Refresh Token 다이제스트를 users.refresh_token_digest 컬럼에 저장, 사용자당 토큰 하나)
+ */
+public interface RefreshTokenStore {
+
+    // 로그인 세션용 Refresh Token 발급 후 저장 (로그인)
+    String issue(User user, String sessionId);
+
+    // Refresh Token 을 소비하고 새 토큰으로 교체 (Rotation), 저장소에 없는 토큰이면 empty
+    Optional<RefreshTokenGrant> rotate(String refreshToken);
+
+    // 세션의 Refresh Token 폐기 (sessionId 가 null 이면 세션 도입 전에 발급된 사용자 토큰)
+    void revoke(Long userId, String sessionId);
+}
@@ -1,87 +1,105 @@
 package oauth2jwt.ranger.auth.service;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import oauth2jwt.ranger.auth.CustomOAuth2User;
-import oauth2jwt.ranger.domain.role.Role;
-import oauth2jwt.ranger.domain.status.UserStatus;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
 import oauth2jwt.ranger.domain.user.User;
 import oauth2jwt.ranger.oauth2.provider.*;
+import oauth2jwt.ranger.repository.user.ArchivedUserRepository;
+import oauth2jwt.ranger.repository.user.UserAuthView;
+import oauth2jwt.ranger.repository.user.UserProviderCredentialRepository;
 import oauth2jwt.ranger.repository.user.UserRepository;
-import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
+import oauth2jwt.ranger.service.user.UserProfileCache;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
 import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
 import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomOAuth2UserService extends DefaultOAuth2UserService {
+public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequest, OAuth2User> {
 
+    private final OAuth2UserInfoLoader oAuth2UserInfoLoader;
     private final UserRepository userRepository;
+    private final UserProviderCredentialRepository userProviderCredentialRepository;
+    private final ArchivedUserRepository archivedUserRepository;
+    private final UserProfileCache userProfileCache;
+    private final AuthMetrics authMetrics;
 
     @Override
     @Transactional
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
-        OAuth2User oAuth2User = super.loadUser(userRequest);
-        String registrationId = userRequest.getClientRegistration().getRegistrationId();
+        // 사용자 정보 조회 + 파싱 (응답 스트림에서 id/이메일/이름만 꺼냄)
+        OAuth2UserInfoLoader.LoadedUserInfo loaded = oAuth2UserInfoLoader.load(userRequest);
+
+        return new CustomOAuth2User(saveUser(userRequest, loaded.userInfo()), loaded.attributes());
+    }
 
+    // 소셜 로그인 사용자 저장 (OIDC 로그인은 CustomOidcUserService 가 ID Token 클레임으로 만든 사용자 정보로 호출)
+    @Transactional
+    public User saveUser(OAuth2UserRequest userRequest, OAuth2UserInfo oAuth2UserInfo) {
         // 1. 소셜 토큰 추출 (탈퇴 시 연동 해제용 - 이건 필수라 남김)
         String providerAccessToken = userRequest.getAccessToken().getTokenValue();
+        Instant expiresAt = userRequest.getAccessToken().getExpiresAt();
+        LocalDateTime providerAccessTokenExpiresAt =
+                (expiresAt == null) ? null : LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault());
         String providerRefreshToken = (String) userRequest.getAdditionalParameters().get("refresh_token");
 
-        // 2. 정보 파싱
-        OAuth2UserInfo oAuth2UserInfo;
-        switch (registrationId) {
-            case "google" -> oAuth2UserInfo = new GoogleUserInfo(oAuth2User.getAttributes());
-            case "naver" -> oAuth2UserInfo = new NaverUserInfo(oAuth2User.getAttributes());
-            case "kakao" -> oAuth2UserInfo = new KakaoUserInfo(oAuth2User.getAttributes());
-            case "facebook" -> oAuth2UserInfo = new FacebookUserInfo(oAuth2User.getAttributes());
-            default -> throw new OAuth2AuthenticationException("Unsupported provider: " + registrationId);
-        }
-
         String provider = oAuth2UserInfo.getProvider();
         String providerId = oAuth2UserInfo.getProviderId();
 
-        // 3. DB 조회 및 처리
-        User user = userRepository.findByProviderAndProviderIdIncludingDeleted(provider, providerId)
-                .map(existingUser -> {
-                    // ✅ 토큰 최신화
-                    existingUser.updateProviderTokens(providerAccessToken, providerRefreshToken);
+        // 2. DB 저장 (upsert 두 문장: 신규 가입 / 탈퇴 유저 복구 + Provider 토큰 최신화, 조회 후 저장하지 않음)
+        // Provider 토큰은 users 가 아닌 user_provider_credentials 에 저장 (로그인/인증 경로에서 함께 읽지 않도록)
+        // 신규 가입 여부는 영향 행 수가 아닌 LAST_INSERT_ID 로 판단 (드라이버 설정에 따라 바뀌지 않은 기존 행도 1)
+        Timer.Sample upsert = authMetrics.startSample();
+        int affected = userRepository.upsertSocialUser(
+                provider + "_" + providerId,
+                oAuth2UserInfo.getName(),
+                oAuth2UserInfo.getEmail(),
+                provider,
+                providerId);
+        Long insertedId = userRepository.lastInsertId();
+        boolean inserted = insertedId != null && insertedId != 0L;
 
-                    // ✅ 탈퇴한 유저라면 복구 (Re-activate)
-                    if (existingUser.getStatus() == UserStatus.DELETED) {
-                        existingUser.reActivate();
-                        // 재가입 시 닉네임은 소셜 정보로 초기화 (프로필 사진 로직 삭제됨)
-                        existingUser.updateName(oAuth2UserInfo.getName());
-                    }
-                    // ACTIVE 유저는 닉네임 변경 안 함 (기존 유지)
-
-                    return userRepository.save(existingUser);
-                })
-                .orElseGet(() -> saveNewUser(oAuth2UserInfo, providerAccessToken, providerRefreshToken));
-
-        return new CustomOAuth2User(user, oAuth2UserInfo.getAttributes());
-    }
+        // 3. users 에 새 행이 생겼으면 보관 테이블로 옮겨진 탈퇴 회원의 재가입인지 확인 (기존 회원 로그인은 보관 테이블을 읽지 않음)
+        // 보관된 회원이면 방금 만든 행을 보관된 행(기존 ID)으로 교체하고 보관 테이블에서 삭제 (Provider 토큰은 교체된 ID 로 저장)
+        boolean restored = inserted
+                && archivedUserRepository.findByProviderAndProviderId(provider, providerId).isPresent();
+        if (restored) {
+            userRepository.restoreArchived(provider, providerId, oAuth2UserInfo.getName());
+            archivedUserRepository.deleteByProviderAndProviderId(provider, providerId);
+        }
 
-    private User saveNewUser(OAuth2UserInfo oAuth2UserInfo, String accessToken, String refreshToken) {
-        String username = oAuth2UserInfo.getProvider() + "_" + oAuth2UserInfo.getProviderId();
+        userProviderCredentialRepository.upsert(
+                provider,
+                providerId,
+                providerAccessToken,
+                providerAccessTokenExpiresAt,
+                providerRefreshToken);
+        authMetrics.recordUserStore(upsert, provider, "upsert",
+                restored ? "restored" : inserted ? "created" : "updated");
 
-        User newUser = User.builder()
-                .username(username)
-                .name(oAuth2UserInfo.getName())
-                .email(oAuth2UserInfo.getEmail())
-                .provider(oAuth2UserInfo.getProvider())
-                .providerId(oAuth2UserInfo.getProviderId())
-                .role(Role.ROLE_USER)
-                .providerAccessToken(accessToken)
-                .providerRefreshToken(refreshToken)
-                .status(UserStatus.ACTIVE)
-                .build();
+        // 4. 저장된 사용자 조회 (유니크 인덱스, 토큰 발급/세션 등록에 필요한 컬럼만 읽고 엔티티로 로딩하지 않음)
+        Timer.Sample lookup = authMetrics.startSample();
+        User user = userRepository.findAuthViewByProviderAndProviderId(provider, providerId)
+                .map(UserAuthView::toUser)
+                .orElseThrow(() -> new OAuth2AuthenticationException("사용자 저장에 실패했습니다: " + provider));
+        authMetrics.recordUserStore(lookup, provider, "lookup", "found");
 
-        return userRepository.save(newUser);
+        // 5. users 행이 바뀌었으면(탈퇴 유저 복구 + 닉네임 초기화) 프로필 캐시 무효화 (커밋 후, 모든 노드)
+        if (affected == 2 || restored) {
+            userProfileCache.evict(user.getId());
+        }
+        return user;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package oauth2jwt.ranger.auth.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.auth.CustomOidcUser;
+import oauth2jwt.ranger.oauth2.provider.GoogleUserInfo;
+import oauth2jwt.ranger.oauth2.provider.KakaoUserInfo;
+import oauth2jwt.ranger.oauth2.provider.OAuth2UserInfo;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.stereotype.Service;
+
+/**
+ * OIDC 로그인 (scope 에 openid 가 있는 Provider, 현재 Google)
+ *
+ * ID Token 은 토큰 교환 직후 OidcIdTokenDecoders 가 캐시된 JWKS 로 서명/iss/aud/exp 를 로컬에서 검증한 상태로 전달됨
+ * 필요한 정보(sub, email, name)는 ID Token 클레임에 있으므로 UserInfo 엔드포인트를 호출하지 않음 (로그인당 외부 호출 1회 감소)
+ * Kakao 도 OIDC 를 켜면(scope 에 openid 추가) 같은 경로를 사용함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomOidcUserService implements OAuth2UserService<OidcUserRequest, OidcUser> {
+
+    private final CustomOAuth2UserService customOAuth2UserService;
+
+    @Override
+    public OidcUser loadUser(OidcUserRequest userRequest) throws OAuth2AuthenticationException {
+        OidcIdToken idToken = userRequest.getIdToken();
+        String registrationId = userRequest.getClientRegistration().getRegistrationId();
+
+        OAuth2UserInfo oAuth2UserInfo = switch (registrationId) {
+            case "google" -> new GoogleUserInfo(idToken.getSubject(), idToken.getEmail(), idToken.getFullName());
+            case "kakao" -> new KakaoUserInfo(idToken.getSubject(), idToken.getEmail(), idToken.getNickName());
+            default -> throw new OAuth2AuthenticationException(
+                    new OAuth2Error("invalid_id_token", "OIDC 로그인을 지원하지 않는 Provider입니다: " + registrationId, null));
+        };
+
+        return new CustomOidcUser(customOAuth2UserService.saveUser(userRequest, oAuth2UserInfo), idToken);
+    }
+}
@@ -0,0 +1,21 @@
+package oauth2jwt.ranger.auth.session;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 로그인 세션의 기기 정보 (세션 목록 표시용)
+ */
+public record SessionDevice(String userAgent, String ipAddress) {
+
+    private static final int MAX_USER_AGENT_LENGTH = 256;
+
+    public static SessionDevice from(HttpServletRequest request) {
+        String userAgent = request.getHeader("User-Agent");
+        if (userAgent == null) {
+            userAgent = "";
+        } else if (userAgent.length() > MAX_USER_AGENT_LENGTH) {
+            userAgent = userAgent.substring(0, MAX_USER_AGENT_LENGTH);
+        }
+        return new SessionDevice(userAgent, request.getRemoteAddr());
+    }
+}
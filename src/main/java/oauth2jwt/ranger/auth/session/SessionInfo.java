@@ -0,0 +1,9 @@
+package oauth2jwt.ranger.auth.session;
+
+import java.time.Instant;
+
+/**
+ * 로그인 세션 정보 (SessionRegistry 조회 결과)
+ */
+public record SessionInfo(String sessionId, String userAgent, String ipAddress, Instant createdAt, Instant lastUsedAt) {
+}
@@ -0,0 +1,273 @@
+package oauth2jwt.ranger.auth.session;
+
+import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.auth.refresh.RefreshCoalescer;
+import oauth2jwt.ranger.auth.refresh.RefreshTokenStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 사용자별 로그인 세션 목록 (기기마다 세션 하나, Refresh Token 은 세션에 묶임)
+ *
+ * - session:{userId}:user       -> sorted set {sid: 마지막 사용 시각(ms)}
+ * - session:{userId}:info:{sid} -> hash {uid, userAgent, ip, createdAt, lastUsedAt}
+ * 두 키 모두 TTL 은 jwt.refresh-token-validity-in-seconds (사용할 때마다 연장)
+ * 키에 사용자 ID 해시 태그를 붙여 한 사용자의 키는 Redis Cluster 에서 같은 슬롯에 둠
+ * Lua 스크립트는 KEYS 로 넘긴 키만 사용하고, 스크립트 실행 전에는 알 수 없는 세션 정보 키(밀려난/전체 종료된 세션)는
+ * 스크립트가 돌려준 sid 로 스크립트 밖에서 지움 (세션 목록에서 먼저 빠지므로 그 사이에 사용할 수 없음)
+ * 세션 추가/사용 기록은 ZADD 한 번 (O(log n)), 사용자당 세션 수가 jwt.session.max-per-user 를 넘으면
+ * 가장 오래 사용하지 않은 세션부터 종료하고 해당 세션의 Refresh Token 도 폐기
+ * 세션을 종료하면 Refresh Token 과 함께 재발급 유예 결과(RefreshCoalescer)도 지움
+ * 세션 관련 정보는 Redis 에만 저장하므로 로그인/재발급/로그아웃 시 DB 를 사용하지 않음
+ *
+ * 예전 키(session:user:{userId}, session:info:{sid})에 남은 세션은 다음 재발급 때 새 키로 옮기고,
+ * 세션 종료/전체 종료 시 함께 지움 (jwt.refresh-token-validity-in-seconds 가 지나면 제거 가능)
+ */
+@Slf4j
+@Component
+public class SessionRegistry {
+
+    private static final String KEY_PREFIX = "session:{";
+    private static final String USER_KEY_SUFFIX = "}:user";
+    private static final String INFO_KEY_SUFFIX = "}:info:";
+    private static final String LEGACY_USER_KEY_PREFIX = "session:user:";
+    private static final String LEGACY_INFO_KEY_PREFIX = "session:info:";
+    private static final List<String> INFO_FIELDS = List.of("userAgent", "ip", "createdAt", "lastUsedAt");
+    private static final int SESSION_ID_BYTES = 16;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    // KEYS: 사용자 키, 세션 정보 키 / ARGV: 현재 시각(ms), sid, TTL(ms), 최대 세션 수, uid, userAgent, ip
+    // 만료된 세션(마지막 사용 후 TTL 경과)을 먼저 정리하고, 최대 세션 수를 넘은 만큼 오래된 세션을 목록에서 뺀 뒤 그 sid 목록 반환
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> OPEN = new DefaultRedisScript<>("""
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', tonumber(ARGV[1]) - tonumber(ARGV[3]))
+            redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            redis.call('HSET', KEYS[2], 'uid', ARGV[5], 'userAgent', ARGV[6], 'ip', ARGV[7],
+                    'createdAt', ARGV[1], 'lastUsedAt', ARGV[1])
+            redis.call('PEXPIRE', KEYS[2], ARGV[3])
+            local overflow = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[4])
+            if overflow <= 0 then
+                return {}
+            end
+            local evicted = redis.call('ZRANGE', KEYS[1], 0, overflow - 1)
+            redis.call('ZREMRANGEBYRANK', KEYS[1], 0, overflow - 1)
+            return evicted
+            """, List.class);
+
+    // KEYS: 사용자 키, 세션 정보 키 / ARGV: 현재 시각(ms), sid, TTL(ms)
+    // 종료된(폐기/초과로 밀려난/만료된) 세션이면 0
+    private static final RedisScript<Long> TOUCH = new DefaultRedisScript<>("""
+            if not redis.call('ZSCORE', KEYS[1], ARGV[2]) then
+                return 0
+            end
+            redis.call('ZADD', KEYS[1], 'XX', ARGV[1], ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            redis.call('HSET', KEYS[2], 'lastUsedAt', ARGV[1])
+            redis.call('PEXPIRE', KEYS[2], ARGV[3])
+            return 1
+            """, Long.class);
+
+    // KEYS: 사용자 키, 세션 정보 키 / ARGV: sid
+    // 해당 사용자의 세션 목록에 있을 때만 세션 정보 삭제 (다른 사용자의 sid 로는 아무것도 지우지 않음)
+    private static final RedisScript<Long> REVOKE = new DefaultRedisScript<>("""
+            local removed = redis.call('ZREM', KEYS[1], ARGV[1])
+            if removed == 1 then
+                redis.call('DEL', KEYS[2])
+            end
+            return removed
+            """, Long.class);
+
+    // KEYS: 사용자 키 / 세션 목록을 비우고 종료된 sid 목록 반환
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> REVOKE_ALL = new DefaultRedisScript<>("""
+            local sids = redis.call('ZRANGE', KEYS[1], 0, -1)
+            redis.call('DEL', KEYS[1])
+            return sids
+            """, List.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RefreshTokenStore refreshTokenStore;
+    private final RefreshCoalescer refreshCoalescer;
+    private final long ttlMillis;
+    private final int maxSessionsPerUser;
+
+    public SessionRegistry(
+            RedisTemplate<String, String> redisTemplate,
+            RefreshTokenStore refreshTokenStore,
+            RefreshCoalescer refreshCoalescer,
+            @Value("${jwt.refresh-token-validity-in-seconds}") long refreshTokenValidity,
+            @Value("${jwt.session.max-per-user:5}") int maxSessionsPerUser) {
+
+        this.redisTemplate = redisTemplate;
+        this.refreshTokenStore = refreshTokenStore;
+        this.refreshCoalescer = refreshCoalescer;
+        this.ttlMillis = refreshTokenValidity * 1000;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+    }
+
+    // 새 세션 등록 (로그인), 최대 세션 수를 넘어 밀려난 세션의 Refresh Token 은 폐기
+    public String open(Long userId, SessionDevice device) {
+        String sessionId = newSessionId();
+        List<?> evicted = redisTemplate.execute(OPEN,
+                List.of(userKey(userId), infoKey(userId, sessionId)),
+                String.valueOf(System.currentTimeMillis()), sessionId, String.valueOf(ttlMillis),
+                String.valueOf(maxSessionsPerUser),
+                String.valueOf(userId), device.userAgent(), String.valueOf(device.ipAddress()));
+
+        if (evicted != null && !evicted.isEmpty()) {
+            List<String> evictedSessionIds = evicted.stream().map(String::valueOf).toList();
+            redisTemplate.delete(evictedSessionIds.stream().map(sid -> infoKey(userId, sid)).toList());
+            for (String evictedSessionId : evictedSessionIds) {
+                revokeRefreshToken(userId, evictedSessionId);
+            }
+            log.info("최대 세션 수 초과로 세션 종료: userId={}, {}건", userId, evicted.size());
+        }
+        return sessionId;
+    }
+
+    // 세션 사용 기록 (재발급), 이미 종료된 세션이면 false
+    public boolean touch(Long userId, String sessionId) {
+        Long touched = redisTemplate.execute(TOUCH,
+                List.of(userKey(userId), infoKey(userId, sessionId)),
+                String.valueOf(System.currentTimeMillis()), sessionId, String.valueOf(ttlMillis));
+        if (touched != null && touched == 1L) {
+            return true;
+        }
+        return migrateLegacy(userId, sessionId);
+    }
+
+    // 세션 하나 종료 (로그아웃, 다른 기기 로그아웃), 해당 사용자의 세션이 아니면 false
+    public boolean revoke(Long userId, String sessionId) {
+        Long removed = redisTemplate.execute(REVOKE,
+                List.of(userKey(userId), infoKey(userId, sessionId)), sessionId);
+        if ((removed == null || removed != 1L) && !revokeLegacy(userId, sessionId)) {
+            return false;
+        }
+        revokeRefreshToken(userId, sessionId);
+        return true;
+    }
+
+    // 사용자의 모든 세션 종료 (모든 기기 로그아웃, 탈퇴), 세션 도입 전에 발급된 토큰도 함께 폐기
+    public void revokeAll(Long userId) {
+        List<String> sessionIds = new ArrayList<>();
+        List<String> infoKeys = new ArrayList<>();
+        List<?> revoked = redisTemplate.execute(REVOKE_ALL, List.of(userKey(userId)));
+        if (revoked != null) {
+            for (Object sessionId : revoked) {
+                sessionIds.add(sessionId.toString());
+                infoKeys.add(infoKey(userId, sessionId.toString()));
+            }
+        }
+        Set<String> legacy = redisTemplate.opsForZSet().range(LEGACY_USER_KEY_PREFIX + userId, 0, -1);
+        if (legacy != null && !legacy.isEmpty()) {
+            for (String sessionId : legacy) {
+                sessionIds.add(sessionId);
+                infoKeys.add(LEGACY_INFO_KEY_PREFIX + sessionId);
+            }
+            infoKeys.add(LEGACY_USER_KEY_PREFIX + userId);
+        }
+
+        if (!infoKeys.isEmpty()) {
+            redisTemplate.delete(infoKeys);
+        }
+        for (String sessionId : sessionIds) {
+            revokeRefreshToken(userId, sessionId);
+        }
+        refreshTokenStore.revoke(userId, null);
+    }
+
+    // 사용자의 세션 목록 (최근 사용 순, 세션 정보가 이미 만료된 세션은 제외)
+    public List<SessionInfo> list(Long userId) {
+        Set<String> sessionIds = redisTemplate.opsForZSet().reverseRange(userKey(userId), 0, -1);
+        if (sessionIds == null || sessionIds.isEmpty()) {
+            return List.of();
+        }
+        HashOperations<String, String, String> hashOperations = redisTemplate.opsForHash();
+        List<SessionInfo> sessions = new ArrayList<>(sessionIds.size());
+        for (String sessionId : sessionIds) {
+            List<String> info = hashOperations.multiGet(infoKey(userId, sessionId), INFO_FIELDS);
+            if (info.get(2) != null) {
+                sessions.add(new SessionInfo(
+                        sessionId,
+                        info.get(0),
+                        info.get(1),
+                        Instant.ofEpochMilli(Long.parseLong(info.get(2))),
+                        Instant.ofEpochMilli(Long.parseLong(info.get(3)))));
+            }
+        }
+        return sessions;
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    // 종료된 세션의 Refresh Token 폐기 + 재발급 유예 결과 삭제 (이전 토큰으로 유예 결과를 받을 수 없도록)
+    private void revokeRefreshToken(Long userId, String sessionId) {
+        refreshTokenStore.revoke(userId, sessionId);
+        refreshCoalescer.invalidateSession(sessionId);
+    }
+
+    // 예전 키에 남은 세션을 새 키로 옮김 (예전 목록에서 ZREM 에 성공한 요청만 옮기므로 동시에 재발급해도 한 번만 처리)
+    private boolean migrateLegacy(Long userId, String sessionId) {
+        Long removed = redisTemplate.opsForZSet().remove(LEGACY_USER_KEY_PREFIX + userId, sessionId);
+        if (removed == null || removed != 1L) {
+            return false;
+        }
+        String legacyInfoKey = LEGACY_INFO_KEY_PREFIX + sessionId;
+        HashOperations<String, String, String> hashOperations = redisTemplate.opsForHash();
+        Map<String, String> info = new HashMap<>(hashOperations.entries(legacyInfoKey));
+        redisTemplate.delete(legacyInfoKey);
+
+        String now = String.valueOf(System.currentTimeMillis());
+        info.put("uid", String.valueOf(userId));
+        info.putIfAbsent("createdAt", now);
+        info.put("lastUsedAt", now);
+        Duration ttl = Duration.ofMillis(ttlMillis);
+        redisTemplate.opsForZSet().add(userKey(userId), sessionId, Double.parseDouble(now));
+        redisTemplate.expire(userKey(userId), ttl);
+        hashOperations.putAll(infoKey(userId, sessionId), info);
+        redisTemplate.expire(infoKey(userId, sessionId), ttl);
+        return true;
+    }
+
+    // 예전 키에 남은 세션 종료 (해당 사용자의 예전 목록에 있을 때만)
+    private boolean revokeLegacy(Long userId, String sessionId) {
+        Long removed = redisTemplate.opsForZSet().remove(LEGACY_USER_KEY_PREFIX + userId, sessionId);
+        if (removed == null || removed != 1L) {
+            return false;
+        }
+        redisTemplate.delete(LEGACY_INFO_KEY_PREFIX + sessionId);
+        return true;
+    }
+
+    private static String userKey(Long userId) {
+        return KEY_PREFIX + userId + USER_KEY_SUFFIX;
+    }
+
+    private static String infoKey(Long userId, String sessionId) {
+        return KEY_PREFIX + userId + INFO_KEY_SUFFIX + sessionId;
+    }
+
+    // 세션 식별자 (128bit 난수, base64url)
+    private String newSessionId() {
+        byte[] bytes = new byte[SESSION_ID_BYTES];
+        RANDOM.nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+}
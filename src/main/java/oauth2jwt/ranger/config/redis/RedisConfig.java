@@ -1,11 +1,16 @@
 package oauth2jwt.ranger.config.redis;
 
+import oauth2jwt.ranger.auth.blacklist.RevocationEpochs;
+import oauth2jwt.ranger.auth.blacklist.TokenBlacklist;
+import oauth2jwt.ranger.service.user.UserProfileCache;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -31,5 +36,19 @@ public class RedisConfig {
         template.setValueSerializer(new StringRedisSerializer());
         return template;
     }
+
+    // pub/sub 구독 컨테이너 (노드 간 블랙리스트/토큰 무효화 기준 시각/프로필 캐시 무효화 전파)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory,
+                                                                       TokenBlacklist tokenBlacklist,
+                                                                       RevocationEpochs revocationEpochs,
+                                                                       UserProfileCache userProfileCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(tokenBlacklist, new ChannelTopic(TokenBlacklist.CHANNEL));
+        container.addMessageListener(revocationEpochs, new ChannelTopic(RevocationEpochs.CHANNEL));
+        container.addMessageListener(userProfileCache, new ChannelTopic(UserProfileCache.CHANNEL));
+        return container;
+    }
 }
 
@@ -4,14 +4,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import oauth2jwt.ranger.auth.blacklist.RevocationEpochs;
+import oauth2jwt.ranger.auth.blacklist.TokenBlacklist;
 import oauth2jwt.ranger.auth.handler.OAuth2SuccessHandler;
 import oauth2jwt.ranger.auth.jwt.JwtAuthenticationFilter;
 import oauth2jwt.ranger.auth.jwt.JwtTokenProvider;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
 import oauth2jwt.ranger.auth.service.CustomOAuth2UserService;
+import oauth2jwt.ranger.auth.service.CustomOidcUserService;
 import oauth2jwt.ranger.dto.global.response.ApiResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -19,9 +23,15 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
@@ -32,9 +42,14 @@ import static org.springframework.security.config.Customizer.withDefaults;
 public class SecurityConfig {
 
     private final CustomOAuth2UserService customOAuth2UserService;
+    private final CustomOidcUserService customOidcUserService;
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
+    private final OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> authorizationCodeTokenResponseClient;
+    private final AuthorizationRequestRepository<OAuth2AuthorizationRequest> authorizationRequestRepository;
     private final JwtTokenProvider jwtTokenProvider;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final TokenBlacklist tokenBlacklist;
+    private final RevocationEpochs revocationEpochs;
+    private final AuthMetrics authMetrics;
 
     // 전역 401 응답 EntryPoint (필터/컨트롤러에서 전달한 ex.getMessage() 우선 사용)
     @Bean
@@ -55,12 +70,15 @@ public class SecurityConfig {
     // ✅ JwtAuthenticationFilter를 Bean으로 등록 (EntryPoint 주입)
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter(AuthenticationEntryPoint restAuthenticationEntryPoint) {
-        return new JwtAuthenticationFilter(jwtTokenProvider, redisTemplate, restAuthenticationEntryPoint);
+        return new JwtAuthenticationFilter(
+                jwtTokenProvider, tokenBlacklist, revocationEpochs, authMetrics, restAuthenticationEntryPoint);
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http,
-                                                   JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+                                                   JwtAuthenticationFilter jwtAuthenticationFilter,
+                                                   @Value("${server.port:8080}") int serverPort,
+                                                   @Value("${management.server.port:-1}") int managementPort) throws Exception {
         http
                 .cors(withDefaults())
 
@@ -77,9 +95,13 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/", "/index.html", "/auth/callback.html",
-                                "/auth/refresh", "/redis/ping").permitAll()
+                                "/auth/refresh", "/redis/ping", "/.well-known/jwks.json").permitAll()
                         .requestMatchers("/oauth2/**", "/login/oauth2/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                        .requestMatchers("/actuator/health", "/livez", "/readyz").permitAll()
+                        // 메트릭은 내부망에만 여는 관리 포트에서만 인증 없이 수집, 서비스 포트로 들어오면 관리자만
+                        .requestMatchers(onManagementPort(serverPort, managementPort, "/actuator/prometheus")).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
 
@@ -89,7 +111,14 @@ public class SecurityConfig {
                 // OAuth2 로그인
                 .oauth2Login(oauth2 -> oauth2
                         .successHandler(oAuth2SuccessHandler)
-                        .userInfoEndpoint(u -> u.userService(customOAuth2UserService))
+                        // 인가 요청은 HttpSession 대신 Redis/암호화 쿠키에 보관 (app.oauth2.authorization-request.store)
+                        .authorizationEndpoint(a -> a.authorizationRequestRepository(authorizationRequestRepository))
+                        // 인가 코드 -> 토큰 교환은 로그인 공용 커넥션 풀 사용 (LoginHttpClient)
+                        .tokenEndpoint(t -> t.accessTokenResponseClient(authorizationCodeTokenResponseClient))
+                        // openid scope 를 쓰는 Provider(Google)는 ID Token 클레임을 사용 (UserInfo 호출 없음)
+                        .userInfoEndpoint(u -> u
+                                .userService(customOAuth2UserService)
+                                .oidcUserService(customOidcUserService))
                 )
 
                 // JWT 필터(Bean) 등록
@@ -97,5 +126,12 @@ public class SecurityConfig {
 
         return http.build();
     }
+
+    // 서비스 포트와 다른 관리 포트(management.server.port)로 들어온 요청만 일치
+    private static RequestMatcher onManagementPort(int serverPort, int managementPort, String pattern) {
+        AntPathRequestMatcher path = new AntPathRequestMatcher(pattern);
+        return request -> managementPort > 0 && managementPort != serverPort
+                && request.getLocalPort() == managementPort && path.matches(request);
+    }
 }
 
@@ -0,0 +1,99 @@
+package oauth2jwt.ranger.config.webClient;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ReactorNettyClientRequestFactory;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.util.StringUtils;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * OAuth2 로그인 공용 HTTP 클라이언트 (토큰 교환 + 사용자 정보 조회)
+ *
+ * Spring Security 기본 RestTemplate 은 커넥션 풀이 없어 로그인마다 Provider 와 TLS 연결을 새로 맺음
+ * 여기서는 Reactor Netty 커넥션 풀 하나를 두고 keep-alive 로 연결을 재사용함 (HTTP/2 는 ALPN 으로 협상)
+ * - Provider 호스트(토큰/사용자 정보 엔드포인트)마다 커넥션 한도: app.oauth2.http.providers.{provider}.max-connections
+ * - 그 외 호스트: app.oauth2.http.login.max-connections
+ * 지표: reactor.netty.connection.provider.* (name=oauth2-login, remote.address 별), reactor.netty.http.client.*
+ */
+@Slf4j
+public class LoginHttpClient implements DisposableBean {
+
+    private static final String POOL_NAME = "oauth2-login";
+
+    private final ConnectionProvider pool;
+    private final ReactorNettyClientRequestFactory requestFactory;
+
+    public LoginHttpClient(ProviderHttpProperties properties, Iterable<ClientRegistration> registrations) {
+        ProviderHttpProperties.Login login = properties.getLogin();
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(login.getMaxConnections())
+                .pendingAcquireTimeout(login.getPendingAcquireTimeout())
+                .maxIdleTime(login.getMaxIdleTime())
+                .maxLifeTime(login.getMaxLifeTime())
+                .metrics(true);
+        providerHosts(registrations).forEach((address, provider) -> {
+            ProviderHttpProperties.Settings settings = properties.settings(provider);
+            builder.forRemoteHost(address, spec -> spec
+                    .maxConnections(settings.getMaxConnections())
+                    .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+                    .pendingAcquireTimeout(login.getPendingAcquireTimeout())
+                    .maxIdleTime(login.getMaxIdleTime())
+                    .maxLifeTime(login.getMaxLifeTime())
+                    .metrics(true));
+        });
+        this.pool = builder.build();
+
+        HttpClient httpClient = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) login.getConnectTimeout().toMillis())
+                .responseTimeout(login.getResponseTimeout())
+                .keepAlive(true)
+                // uri 태그는 Provider 엔드포인트 경로 (쿼리 문자열 제외, 태그 수가 엔드포인트 수로 고정)
+                .metrics(true, uri -> uri.contains("?") ? uri.substring(0, uri.indexOf('?')) : uri);
+        if (login.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+        this.requestFactory = new ReactorNettyClientRequestFactory(httpClient);
+    }
+
+    public ClientHttpRequestFactory requestFactory() {
+        return requestFactory;
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    // 등록된 Provider 의 토큰/사용자 정보 엔드포인트 호스트 (key: 호스트 주소, value: Provider)
+    private static Map<InetSocketAddress, String> providerHosts(Iterable<ClientRegistration> registrations) {
+        Map<InetSocketAddress, String> hosts = new LinkedHashMap<>();
+        for (ClientRegistration registration : registrations) {
+            ClientRegistration.ProviderDetails details = registration.getProviderDetails();
+            for (String uri : new String[] {details.getTokenUri(), details.getUserInfoEndpoint().getUri()}) {
+                if (StringUtils.hasText(uri)) {
+                    hosts.putIfAbsent(address(URI.create(uri)), registration.getRegistrationId());
+                }
+            }
+        }
+        return hosts;
+    }
+
+    private static InetSocketAddress address(URI uri) {
+        int port = uri.getPort();
+        if (port < 0) {
+            port = "http".equalsIgnoreCase(uri.getScheme()) ? 80 : 443;
+        }
+        return InetSocketAddress.createUnresolved(uri.getHost(), port);
+    }
+}
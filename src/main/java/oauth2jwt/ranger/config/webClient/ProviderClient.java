@@ -0,0 +1,23 @@
+package oauth2jwt.ranger.config.webClient;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.function.Supplier;
+
+/**
+ * 소셜 Provider 하나의 HTTP 클라이언트 (전용 커넥션 풀 WebClient + Rate Limiter + Bulkhead + Circuit Breaker)
+ */
+public record ProviderClient(String provider, WebClient webClient, RateLimiter rateLimiter,
+                             Bulkhead bulkhead, CircuitBreaker circuitBreaker) {
+
+    // 호출 허용 수를 다 쓰면 다음 주기까지 대기 (대기 시간 초과 시 RequestNotPermitted)
+    // Circuit Breaker 가 열려 있으면 CallNotPermittedException, 동시 호출 한도를 넘으면 BulkheadFullException 으로 바로 실패
+    // 대기 시간이 지연 호출로 기록되지 않도록 Rate Limiter 를 Circuit Breaker 바깥에 둠
+    public <T> T execute(Supplier<T> call) {
+        return RateLimiter.decorateSupplier(rateLimiter,
+                CircuitBreaker.decorateSupplier(circuitBreaker, Bulkhead.decorateSupplier(bulkhead, call))).get();
+    }
+}
@@ -0,0 +1,123 @@
+package oauth2jwt.ranger.config.webClient;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRateLimiterMetrics;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 소셜 Provider 별로 격리된 HTTP 클라이언트
+ *
+ * Provider 하나가 장애여도 다른 Provider 호출과 요청 스레드에 영향이 가지 않도록 Provider 마다
+ * - Reactor Netty 커넥션 풀 (최대 커넥션/대기 수/대기 시간) + 연결/응답 타임아웃
+ * - Rate Limiter (주기마다 호출 허용 수를 채우는 토큰 버킷, Provider API 호출 한도 초과 방지)
+ * - Bulkhead (동시 호출 수 제한, 초과 시 대기 없이 거절)
+ * - Circuit Breaker (실패율/지연 호출 비율이 높으면 일정 시간 호출하지 않고 바로 실패)
+ * 를 따로 둠
+ * 지표: reactor.netty.connection.provider.* (name=oauth2-{provider}, 풀 포화),
+ *       resilience4j.ratelimiter.*, resilience4j.bulkhead.*, resilience4j.circuitbreaker.* (name={provider}, 상태/호출 결과)
+ */
+public class ProviderHttpClients implements DisposableBean {
+
+    public static final List<String> PROVIDERS = List.of("google", "kakao", "naver", "facebook");
+
+    private final Map<String, ProviderClient> clients = new HashMap<>();
+    private final Map<String, ConnectionProvider> pools = new HashMap<>();
+
+    public ProviderHttpClients(ProviderHttpProperties properties, MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.ofDefaults();
+
+        for (String provider : PROVIDERS) {
+            ProviderHttpProperties.Settings settings = properties.settings(provider);
+
+            ConnectionProvider pool = ConnectionProvider.builder("oauth2-" + provider)
+                    .maxConnections(settings.getMaxConnections())
+                    .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+                    .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+                    .maxIdleTime(settings.getMaxIdleTime())
+                    .metrics(true)
+                    .build();
+            HttpClient httpClient = HttpClient.create(pool)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+                    .responseTimeout(settings.getResponseTimeout());
+            WebClient webClient = WebClient.builder()
+                    .clientConnector(new ReactorClientHttpConnector(httpClient))
+                    .build();
+
+            clients.put(provider, new ProviderClient(
+                    provider,
+                    webClient,
+                    rateLimiterRegistry.rateLimiter(provider, RateLimiterConfig.custom()
+                            .limitForPeriod(settings.getRateLimitForPeriod())
+                            .limitRefreshPeriod(settings.getLimitRefreshPeriod())
+                            .timeoutDuration(settings.getRateLimitTimeout())
+                            .build()),
+                    bulkheadRegistry.bulkhead(provider, BulkheadConfig.custom()
+                            .maxConcurrentCalls(settings.getMaxConcurrentCalls())
+                            .maxWaitDuration(settings.getMaxWaitDuration())
+                            .build()),
+                    circuitBreakerRegistry.circuitBreaker(provider, CircuitBreakerConfig.custom()
+                            .failureRateThreshold(settings.getFailureRateThreshold())
+                            .slowCallDurationThreshold(settings.getSlowCallDurationThreshold())
+                            .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                            .slidingWindowSize(settings.getSlidingWindowSize())
+                            .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                            .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                            .permittedNumberOfCallsInHalfOpenState(settings.getPermittedNumberOfCallsInHalfOpenState())
+                            .recordException(ProviderHttpClients::isProviderFailure)
+                            .ignoreExceptions(BulkheadFullException.class)
+                            .build())));
+            pools.put(provider, pool);
+        }
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        TaggedRateLimiterMetrics.ofRateLimiterRegistry(rateLimiterRegistry).bindTo(meterRegistry);
+    }
+
+    public ProviderClient get(String provider) {
+        ProviderClient client = clients.get(provider.toLowerCase(Locale.ROOT));
+        if (client == null) {
+            throw new IllegalArgumentException("지원하지 않는 Provider입니다: " + provider);
+        }
+        return client;
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(ConnectionProvider::dispose);
+    }
+
+    // Provider 장애로 볼 실패만 Circuit Breaker 에 기록 (잘못된/만료된 토큰 등 4xx 는 Provider 가 정상 응답한 것)
+    private static boolean isProviderFailure(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status >= 500
+                    || status == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || status == HttpStatus.REQUEST_TIMEOUT.value();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,71 @@
+package oauth2jwt.ranger.config.webClient;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 소셜 Provider 별 HTTP 클라이언트 설정 (app.oauth2.http.providers.{provider}.*)
+ * 로그인(토큰 교환/사용자 정보) 공용 클라이언트 설정 (app.oauth2.http.login.*)
+ * 지정하지 않은 Provider/항목은 아래 기본값 사용
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.oauth2.http")
+public class ProviderHttpProperties {
+
+    private Map<String, Settings> providers = new HashMap<>();
+    private Login login = new Login();
+
+    public Settings settings(String provider) {
+        return providers.getOrDefault(provider, new Settings());
+    }
+
+    // 로그인 요청 경로의 토큰 교환/사용자 정보 호출 (Provider 호스트별 커넥션 한도는 providers.{provider}.max-connections)
+    @Getter
+    @Setter
+    public static class Login {
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private int maxConnections = 50; // 호스트별 한도를 지정하지 않은 호스트의 기본 한도
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+        private Duration maxIdleTime = Duration.ofSeconds(60); // Provider 쪽 keep-alive 타임아웃보다 짧게
+        private Duration maxLifeTime = Duration.ofMinutes(10); // DNS 변경 반영을 위해 오래된 커넥션은 교체
+        private boolean http2 = true; // TLS ALPN 으로 HTTP/2 협상 (지원하지 않는 Provider 는 HTTP/1.1)
+    }
+
+    @Getter
+    @Setter
+    public static class Settings {
+
+        // ---------------------- 커넥션 풀 / 타임아웃 ----------------------
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration responseTimeout = Duration.ofSeconds(5);
+        private int maxConnections = 20;
+        private int pendingAcquireMaxCount = 40; // 풀이 가득 찼을 때 커넥션을 기다릴 수 있는 요청 수
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        // ---------------------- Bulkhead ----------------------
+        private int maxConcurrentCalls = 10;
+        private Duration maxWaitDuration = Duration.ZERO; // 0 이면 동시 호출 한도 초과 시 바로 거절
+
+        // ---------------------- Rate Limiter (Provider API 호출 한도) ----------------------
+        private int rateLimitForPeriod = 100; // limitRefreshPeriod 마다 채워지는 호출 허용 수 (노드별)
+        private Duration limitRefreshPeriod = Duration.ofSeconds(1);
+        private Duration rateLimitTimeout = Duration.ofSeconds(30); // 허용 수를 다 쓰면 다음 주기까지 기다리는 최대 시간
+
+        // ---------------------- Circuit Breaker ----------------------
+        private float failureRateThreshold = 50;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(3);
+        private float slowCallRateThreshold = 80;
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedNumberOfCallsInHalfOpenState = 3;
+    }
+}
@@ -1,14 +1,53 @@
 package oauth2jwt.ranger.config.webClient;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.security.oauth2.client.endpoint.DefaultAuthorizationCodeTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties(ProviderHttpProperties.class)
 public class WebClientConfig {
 
+    // 소셜 Provider 별 WebClient (전용 커넥션 풀/타임아웃/Bulkhead/Circuit Breaker)
+    @Bean
+    public ProviderHttpClients providerHttpClients(ProviderHttpProperties properties, MeterRegistry meterRegistry) {
+        return new ProviderHttpClients(properties, meterRegistry);
+    }
+
+    // OAuth2 로그인 공용 HTTP 클라이언트 (토큰 교환 + 사용자 정보 조회, keep-alive 커넥션 풀)
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    @SuppressWarnings("unchecked")
+    public LoginHttpClient loginHttpClient(ProviderHttpProperties properties,
+                                           ClientRegistrationRepository clientRegistrationRepository) {
+        Iterable<ClientRegistration> registrations = (clientRegistrationRepository instanceof Iterable<?>)
+                ? (Iterable<ClientRegistration>) clientRegistrationRepository
+                : List.of();
+        return new LoginHttpClient(properties, registrations);
+    }
+
+    // 인가 코드 -> 토큰 교환 (Spring Security 기본 구현과 같은 컨버터/에러 처리, 요청만 공용 커넥션 풀로 보냄)
+    @Bean
+    public OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> authorizationCodeTokenResponseClient(
+            LoginHttpClient loginHttpClient) {
+        RestTemplate restTemplate = new RestTemplate(List.of(
+                new FormHttpMessageConverter(), new OAuth2AccessTokenResponseHttpMessageConverter()));
+        restTemplate.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+        restTemplate.setRequestFactory(loginHttpClient.requestFactory());
+
+        DefaultAuthorizationCodeTokenResponseClient client = new DefaultAuthorizationCodeTokenResponseClient();
+        client.setRestOperations(restTemplate);
+        return client;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package oauth2jwt.ranger.controller.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import oauth2jwt.ranger.dto.global.response.ApiResponse;
+import oauth2jwt.ranger.service.auth.AuthService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "관리자 인증 (Admin Auth)", description = "장애 대응용 토큰 관리 API")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/auth")
+public class AdminAuthController {
+
+    private final AuthService authService;
+
+    @Operation(
+            summary = "전체 토큰 무효화",
+            description = "지금까지 발급된 모든 사용자의 Access Token을 무효화합니다. (키 유출 등 장애 대응용)",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "전체 토큰 무효화 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "관리자 권한 없음")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/revoke-all")
+    public ResponseEntity<ApiResponse<Void>> revokeAllTokens() {
+
+        authService.revokeAllTokens();
+
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, HttpStatus.OK.value(), "모든 사용자의 토큰이 무효화되었습니다.")
+        );
+    }
+}
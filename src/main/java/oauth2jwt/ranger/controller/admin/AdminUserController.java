@@ -0,0 +1,73 @@
+package oauth2jwt.ranger.controller.admin;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import oauth2jwt.ranger.dto.admin.request.BulkWithdrawalRequest;
+import oauth2jwt.ranger.dto.admin.response.BulkWithdrawalResponse;
+import oauth2jwt.ranger.dto.global.response.ApiResponse;
+import oauth2jwt.ranger.service.auth.BulkWithdrawalService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "관리자 회원 관리 (Admin User)", description = "대량 회원 탈퇴 등 관리자용 회원 API")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/users")
+public class AdminUserController {
+
+    private final BulkWithdrawalService bulkWithdrawalService;
+
+    @Operation(
+            summary = "대량 회원 탈퇴",
+            description = "사용자 ID 목록을 받아 백그라운드 작업으로 탈퇴 처리합니다. 소셜 연동 해제는 Provider 별 호출 한도에 맞춰 순차적으로 진행됩니다.",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "대량 탈퇴 작업 등록"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "잘못된 요청"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "관리자 권한 없음")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/withdrawals")
+    public ResponseEntity<ApiResponse<BulkWithdrawalResponse>> withdrawUsers(
+            @Valid @RequestBody BulkWithdrawalRequest request) {
+
+        BulkWithdrawalResponse job = bulkWithdrawalService.submit(request.getUserIds(), request.getReason());
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                new ApiResponse<>(true, HttpStatus.ACCEPTED.value(), "대량 회원 탈퇴 작업이 등록되었습니다.", job)
+        );
+    }
+
+    @Operation(
+            summary = "대량 회원 탈퇴 진행 상황",
+            description = "대량 탈퇴 작업의 처리 건수와 소셜 연동 해제 진행 상황을 조회합니다.",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "조회 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "관리자 권한 없음"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "작업 없음")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/withdrawals/{jobId}")
+    public ResponseEntity<ApiResponse<BulkWithdrawalResponse>> getWithdrawalJob(@PathVariable Long jobId) {
+
+        BulkWithdrawalResponse job = bulkWithdrawalService.getJob(jobId);
+
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, HttpStatus.OK.value(), "대량 회원 탈퇴 작업 조회 성공", job)
+        );
+    }
+}
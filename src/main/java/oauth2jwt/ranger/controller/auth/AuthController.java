@@ -8,10 +8,10 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
-import oauth2jwt.ranger.auth.CustomOAuth2User;
 import oauth2jwt.ranger.auth.jwt.JwtConstants;
 import oauth2jwt.ranger.domain.user.User;
 import oauth2jwt.ranger.dto.auth.request.RefreshTokenRequest;
+import oauth2jwt.ranger.dto.auth.response.SessionResponse;
 import oauth2jwt.ranger.dto.auth.response.TokenResponse;
 import oauth2jwt.ranger.dto.global.response.ApiResponse;
 import oauth2jwt.ranger.service.auth.AuthService;
@@ -21,6 +21,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+
 @Slf4j
 @Tag(name = "인증 (Auth)", description = "토큰 재발급, 로그아웃 등 사용자 인증 관련 API")
 @RestController
@@ -39,7 +41,9 @@ public class AuthController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "토큰 재발급 성공"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "블랙리스트 또는 유효하지 않은 Refresh Token",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "DB에 Refresh Token 없음",
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "저장소에 Refresh Token 없음",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "같은 Refresh Token 의 재발급이 진행 중 (잠시 후 재시도)",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class)))
     })
     @PostMapping("/refresh")
@@ -70,11 +74,10 @@ public class AuthController {
     })
     @PostMapping("/logout")
     public ResponseEntity<ApiResponse<Void>> logout(
-            @AuthenticationPrincipal CustomOAuth2User customOAuth2User,
+            @AuthenticationPrincipal User loginUser,
             @RequestHeader(value = JwtConstants.HEADER_STRING, required = false) String authHeader
     ) {
 
-        User loginUser = (customOAuth2User != null) ? customOAuth2User.getUser() : null;
         String accessToken = extractAccessToken(authHeader);
 
         authService.logout(loginUser, accessToken);
@@ -84,6 +87,77 @@ public class AuthController {
         );
     }
 
+    // =================================================================
+    // 📱 로그인 세션(기기) 관리
+    // =================================================================
+    @Operation(
+            summary = "로그인 세션 목록",
+            description = "현재 사용자가 로그인한 기기(세션) 목록을 최근 사용 순으로 조회합니다.",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "세션 목록 조회 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패")
+    })
+    @GetMapping("/sessions")
+    public ResponseEntity<ApiResponse<List<SessionResponse>>> getSessions(
+            @AuthenticationPrincipal User loginUser,
+            @RequestHeader(value = JwtConstants.HEADER_STRING, required = false) String authHeader
+    ) {
+
+        List<SessionResponse> sessions = authService.getSessions(loginUser, extractAccessToken(authHeader));
+
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, HttpStatus.OK.value(), "세션 목록을 조회했습니다.", sessions)
+        );
+    }
+
+    @Operation(
+            summary = "다른 기기 로그아웃",
+            description = "지정한 세션을 종료하고 해당 기기의 Refresh Token을 무효화합니다.",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "세션 종료 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "세션 없음",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class)))
+    })
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<ApiResponse<Void>> revokeSession(
+            @AuthenticationPrincipal User loginUser,
+            @PathVariable String sessionId
+    ) {
+
+        authService.revokeSession(loginUser, sessionId);
+
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, HttpStatus.OK.value(), "해당 기기에서 로그아웃되었습니다.")
+        );
+    }
+
+    // =================================================================
+    // 🚪 모든 기기 로그아웃
+    // =================================================================
+    @Operation(
+            summary = "모든 기기 로그아웃",
+            description = "현재 사용자에게 발급된 모든 Access/Refresh Token을 무효화합니다.",
+            security = { @SecurityRequirement(name = "bearerAuth") }
+    )
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "모든 기기 로그아웃 성공"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "인증 실패")
+    })
+    @PostMapping("/logout-all")
+    public ResponseEntity<ApiResponse<Void>> logoutAllDevices(@AuthenticationPrincipal User loginUser) {
+
+        authService.logoutAllDevices(loginUser);
+
+        return ResponseEntity.ok(
+                new ApiResponse<>(true, HttpStatus.OK.value(), "모든 기기에서 로그아웃되었습니다.")
+        );
+    }
+
     // =================================================================
     // 💀 회원 탈퇴
     // =================================================================
@@ -97,14 +171,9 @@ public class AuthController {
     })
     @DeleteMapping("/withdraw")
     public ResponseEntity<ApiResponse<Void>> withdraw(
-            @AuthenticationPrincipal CustomOAuth2User customOAuth2User,
-            @RequestHeader(value = JwtConstants.HEADER_STRING, required = false) String authHeader
+            @AuthenticationPrincipal User loginUser
     ) {
-        User loginUser = (customOAuth2User != null) ? customOAuth2User.getUser() : null;
-
-        String accessToken = extractAccessToken(authHeader);
-
-        authService.withdraw(loginUser, accessToken);
+        authService.withdraw(loginUser);
 
         // 204 No Content 반환
         return ResponseEntity
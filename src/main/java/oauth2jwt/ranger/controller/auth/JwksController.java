@@ -0,0 +1,38 @@
+package oauth2jwt.ranger.controller.auth;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import oauth2jwt.ranger.auth.jwt.JwtKeyRing;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@Tag(name = "JWKS", description = "다른 서비스가 Access Token 을 직접 검증할 수 있도록 공개키 제공")
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    @Value("${jwt.key-ring.jwks-max-age-seconds:300}")
+    private long jwksMaxAgeSeconds;
+
+    @Operation(
+            summary = "JWKS 조회",
+            description = "키 링의 공개키(RS/ES)를 JWK Set 형식으로 반환합니다. HMAC 키는 포함되지 않습니다.",
+            security = {}
+    )
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        // 키 링이 바뀔 때 미리 직렬화해둔 JSON 을 그대로 반환
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(jwksMaxAgeSeconds)).cachePublic())
+                .body(keyRing.jwks());
+    }
+}
@@ -0,0 +1,6 @@
+package oauth2jwt.ranger.domain.status;
+
+public enum UnlinkJobStatus {
+    PENDING, // 연동 해제 대기 (재시도 포함)
+    DEAD // 재시도 한도 초과 또는 재시도해도 성공할 수 없는 실패 (수동 확인 필요)
+}
@@ -0,0 +1,6 @@
+package oauth2jwt.ranger.domain.status;
+
+public enum WithdrawalJobStatus {
+    RUNNING, // 처리 중 (노드가 죽어도 다른 노드/재기동 시 남은 대상부터 이어서 처리)
+    COMPLETED // 모든 대상 처리 완료 (소셜 연동 해제는 Outbox 에서 계속 진행)
+}
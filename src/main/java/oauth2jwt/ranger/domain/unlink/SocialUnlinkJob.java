@@ -0,0 +1,124 @@
+package oauth2jwt.ranger.domain.unlink;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import oauth2jwt.ranger.domain.status.UnlinkJobStatus;
+import oauth2jwt.ranger.domain.user.User;
+import oauth2jwt.ranger.domain.user.UserProviderCredential;
+
+import java.time.LocalDateTime;
+
+/**
+ * 소셜 연동 해제 작업 (Transactional Outbox)
+ *
+ * 회원 탈퇴 트랜잭션 안에서 Soft Delete 와 함께 저장하고, 외부 Provider 호출은 SocialUnlinkDispatcher 가 비동기로 처리
+ * 탈퇴 시 users 행의 Provider 토큰은 지워지므로 연동 해제에 필요한 토큰을 이 행에 옮겨 둠
+ * 성공하면 행을 삭제하고, 실패하면 next_attempt_at 을 늘려 재시도 (한도를 넘으면 DEAD)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "social_unlink_outbox",
+        indexes = {
+                // 디스패처 조회 조건 (status = 'PENDING' AND next_attempt_at <= now ORDER BY next_attempt_at)
+                @Index(name = "idx_social_unlink_outbox_due", columnList = "status, next_attempt_at"),
+                // 대량 탈퇴 작업별 연동 해제 진행 상황 조회
+                @Index(name = "idx_social_unlink_outbox_bulk", columnList = "bulk_withdrawal_id, status")
+        }
+)
+public class SocialUnlinkJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String provider;
+
+    @Column(nullable = false)
+    private String providerId;
+
+    @Column(length = 1024)
+    private String providerAccessToken;
+
+    private LocalDateTime providerAccessTokenExpiresAt;
+
+    @Column(length = 1024)
+    private String providerRefreshToken;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private UnlinkJobStatus status = UnlinkJobStatus.PENDING;
+
+    // 지금까지 시도한 횟수 (디스패처가 가져갈 때 증가)
+    @Column(nullable = false)
+    private int attempts;
+
+    // 다음 시도 가능 시각 (처리 중인 작업은 임대 만료 시각)
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    // 대량 탈퇴 작업으로 생긴 작업이면 해당 작업 ID (개별 탈퇴는 null)
+    private Long bulkWithdrawalId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // credential 이 없으면 토큰 없이 저장 (연동 해제 시 Provider 가 거부하면 DEAD)
+    public static SocialUnlinkJob of(User user, UserProviderCredential credential, LocalDateTime now) {
+        return SocialUnlinkJob.builder()
+                .userId(user.getId())
+                .provider(user.getProvider())
+                .providerId(user.getProviderId())
+                .providerAccessToken(credential != null ? credential.getProviderAccessToken() : null)
+                .providerAccessTokenExpiresAt(credential != null ? credential.getProviderAccessTokenExpiresAt() : null)
+                .providerRefreshToken(credential != null ? credential.getProviderRefreshToken() : null)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
+    // 연동 해제 중 갱신한 Provider 토큰 저장 (재시도 시 다시 갱신하지 않도록)
+    public void updateProviderTokens(String accessToken, LocalDateTime accessTokenExpiresAt, String refreshToken) {
+        this.providerAccessToken = accessToken;
+        this.providerAccessTokenExpiresAt = accessTokenExpiresAt;
+        this.providerRefreshToken = refreshToken;
+    }
+
+    // 디스패처가 작업을 가져감 (임대 만료 전까지 다른 노드가 다시 가져가지 않음, 노드가 죽으면 만료 후 재시도)
+    public void lease(LocalDateTime leaseExpiresAt) {
+        this.attempts++;
+        this.nextAttemptAt = leaseExpiresAt;
+    }
+
+    public void retryAt(LocalDateTime nextAttemptAt, String error) {
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = truncate(error);
+    }
+
+    public void deadLetter(String error) {
+        this.status = UnlinkJobStatus.DEAD;
+        this.lastError = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= 500) {
+            return error;
+        }
+        return error.substring(0, 500);
+    }
+}
@@ -0,0 +1,57 @@
+package oauth2jwt.ranger.domain.user;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import oauth2jwt.ranger.domain.role.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * 보관 기간이 지난 탈퇴 회원 (users 에서 옮겨 옴)
+ *
+ * 행은 UserArchiveJdbcRepository 가 INSERT ... SELECT 로만 넣고, 재가입 시 UserRepository.restoreArchived 로 users 에 되돌린 뒤 지움
+ * users 와 같은 ID 를 유지하므로 재가입해도 기존 회원 ID 가 바뀌지 않음 (테이블 생성용 매핑)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "users_archive",
+        uniqueConstraints = {
+                // 재가입 확인 (provider, provider_id 로 조회)
+                @UniqueConstraint(name = "uk_users_archive_provider", columnNames = {"provider", "provider_id"})
+        }
+)
+public class ArchivedUser {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String email;
+
+    private String profile;
+
+    @Column(name = "provider", nullable = false)
+    private String provider;
+
+    @Column(name = "provider_id", nullable = false)
+    private String providerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Role role;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
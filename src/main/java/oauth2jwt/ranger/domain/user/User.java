@@ -24,11 +24,17 @@ import java.util.List;
         uniqueConstraints = {
                 // provider와 providerId의 조합은 유니크해야 함 (동일 계정 중복 가입 방지)
                 @UniqueConstraint(columnNames = {"provider", "providerId"})
+        },
+        indexes = {
+                // @Where(status = 'ACTIVE') 로 걸러지는 탈퇴 회원 조회/보관 대상 스캔 (status = 'DELETED' AND deleted_at < ?)
+                // 나머지 조회(id, provider+providerId, username, refresh_token_digest)는 유니크 인덱스로 한 행만 읽고 status 확인
+                @Index(name = "idx_users_status_deleted_at", columnList = "status, deleted_at")
         }
 )
 // repository.delete(user) 호출 시 실제 DELETE 쿼리 대신 실행될 SQL
-@SQLDelete(sql = "UPDATE users SET status = 'DELETED', deleted_at = CURRENT_TIMESTAMP, refresh_token = NULL, provider_access_token = NULL, provider_refresh_token = NULL WHERE id = ?")
+@SQLDelete(sql = "UPDATE users SET status = 'DELETED', deleted_at = CURRENT_TIMESTAMP, refresh_token_digest = NULL WHERE id = ?")
 // 조회(SELECT) 시 자동으로 적용될 조건 (삭제된 유저는 조회되지 않음)
+// 보관 기간이 지난 탈퇴 유저는 DeletedUserArchiver 가 users_archive 로 옮김
 @Where(clause = "status = 'ACTIVE'")
 public class User implements UserDetails {
 
@@ -69,19 +75,14 @@ public class User implements UserDetails {
     // 🪙 토큰 관리 필드
     // =================================================================
 
-    // 1. 우리 서비스(Ranger)의 JWT Refresh Token
-    //    (로그아웃/탈퇴 시 NULL 처리를 위해 변경 가능해야 함)
-    private String refreshToken;
+    // 1. 우리 서비스(Ranger)의 JWT Refresh Token 다이제스트 (jwt.refresh-token.store=jpa 일 때만 사용)
+    //    원문 대신 고정 길이 SHA-256(base64url, 43자)을 유니크 인덱스로 저장
+    //    발급/Rotation/폐기는 UserRepository 의 조건부 UPDATE 로만 변경 (Dirty Checking 사용 안 함)
+    @Column(length = 43, unique = true)
+    private String refreshTokenDigest;
 
-    // 2. 소셜 플랫폼(Google, Naver 등)의 Access Token
-    //    (회원 탈퇴 시 연동 해제 API 호출용)
-    @Column(length = 1024)
-    private String providerAccessToken;
-
-    // 3. 소셜 플랫폼의 Refresh Token (범용)
-    //    (Access Token 만료 시 갱신하여 연동 해제하기 위함)
-    @Column(length = 1024)
-    private String providerRefreshToken;
+    // 2. 소셜 플랫폼(Google, Naver 등)의 Access/Refresh Token 은 user_provider_credentials 테이블 (UserProviderCredential)
+    //    연동 해제할 때만 필요하므로 users 행을 읽을 때마다 함께 로딩하지 않음
 
 
     // =================================================================
@@ -93,21 +94,6 @@ public class User implements UserDetails {
         this.name = newName;
     }
 
-
-    // 우리 서비스 JWT Refresh Token 업데이트
-    public void updateRefreshToken(String refreshToken) {
-        this.refreshToken = refreshToken;
-    }
-
-    // 소셜 플랫폼 토큰 업데이트 (로그인 할 때마다 최신화)
-    public void updateProviderTokens(String accessToken, String refreshToken) {
-        this.providerAccessToken = accessToken;
-        // Refresh Token은 발급될 때만 업데이트 (매번 발급 안 될 수도 있음)
-        if (refreshToken != null) {
-            this.providerRefreshToken = refreshToken;
-        }
-    }
-
     // 탈퇴한 유저 재활성화 (재가입 시 사용)
     public void reActivate() {
         this.status = UserStatus.ACTIVE;
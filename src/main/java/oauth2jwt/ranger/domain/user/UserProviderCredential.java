@@ -0,0 +1,37 @@
+package oauth2jwt.ranger.domain.user;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 소셜 플랫폼(Google, Naver 등) 토큰 (회원 탈퇴 시 연동 해제 API 호출용)
+ *
+ * 로그인/인증 경로에서 users 행을 읽을 때마다 최대 1024자짜리 토큰 두 개가 함께 로딩되지 않도록 별도 테이블로 분리
+ * users 와 같은 PK(user_id)를 쓰고 연관관계는 두지 않음 (연동 해제가 필요할 때만 명시적으로 조회)
+ * 로그인 시 저장은 UserProviderCredentialRepository.upsert 한 문장으로 처리 (Dirty Checking 사용 안 함)
+ * 탈퇴하면 행을 삭제 (토큰은 Outbox 작업으로 옮겨진 뒤)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(name = "user_provider_credentials")
+public class UserProviderCredential {
+
+    @Id
+    private Long userId;
+
+    // 소셜 플랫폼의 Access Token
+    @Column(length = 1024)
+    private String providerAccessToken;
+
+    // Access Token 만료 시각 (만료 전이면 연동 해제 시 토큰 갱신 생략, 모르면 null)
+    private LocalDateTime providerAccessTokenExpiresAt;
+
+    // 소셜 플랫폼의 Refresh Token (Access Token 만료 시 갱신하여 연동 해제하기 위함)
+    @Column(length = 1024)
+    private String providerRefreshToken;
+}
@@ -0,0 +1,33 @@
+package oauth2jwt.ranger.domain.withdrawal;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 대량 회원 탈퇴 작업의 남은 대상 (처리되면 삭제)
+ * 행은 BulkWithdrawalJdbcRepository 가 JDBC 배치로만 넣고 지움 (테이블 생성용 매핑)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "bulk_withdrawal_item",
+        uniqueConstraints = {
+                // 작업별 다음 청크 조회 (job_id = ? ORDER BY user_id) + 같은 작업에 같은 사용자 중복 방지
+                @UniqueConstraint(name = "uk_bulk_withdrawal_item_job_user", columnNames = {"job_id", "user_id"})
+        }
+)
+public class BulkWithdrawalItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+}
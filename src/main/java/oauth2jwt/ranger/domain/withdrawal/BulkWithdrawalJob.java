@@ -0,0 +1,70 @@
+package oauth2jwt.ranger.domain.withdrawal;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import oauth2jwt.ranger.domain.status.WithdrawalJobStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대량 회원 탈퇴 작업 (컴플라이언스 일괄 삭제, 제재 계정 정리 등)
+ *
+ * 처리할 사용자 ID 는 bulk_withdrawal_item 에 저장하고, 청크 단위로 처리한 대상은 삭제함 (남은 항목 = 남은 작업)
+ * 진행 상황 카운터는 청크 트랜잭션 안에서 JDBC 로 증가시킴 (Dirty Checking 사용 안 함)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "bulk_withdrawal_job",
+        indexes = {
+                // 기동 시 이어서 처리할 작업 조회
+                @Index(name = "idx_bulk_withdrawal_job_status", columnList = "status")
+        }
+)
+public class BulkWithdrawalJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private WithdrawalJobStatus status = WithdrawalJobStatus.RUNNING;
+
+    // 요청 사유 (감사 기록용)
+    @Column(length = 200)
+    private String reason;
+
+    // 요청된 사용자 수 (중복 제거 후)
+    @Column(nullable = false)
+    private int totalCount;
+
+    // 처리한 대상 수 (이미 탈퇴했거나 없는 사용자 포함)
+    @Column(nullable = false)
+    private int processedCount;
+
+    // 실제로 탈퇴 처리한 사용자 수
+    @Column(nullable = false)
+    private int withdrawnCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+    public static BulkWithdrawalJob of(String reason, int totalCount, LocalDateTime now) {
+        return BulkWithdrawalJob.builder()
+                .reason(reason)
+                .totalCount(totalCount)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package oauth2jwt.ranger.dto.admin.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@Schema(name = "BulkWithdrawalRequest", description = "대량 회원 탈퇴 요청 바디")
+public class BulkWithdrawalRequest {
+
+    @Schema(description = "탈퇴시킬 사용자 ID 목록 (중복은 한 번만 처리)", example = "[1, 2, 3]")
+    @NotEmpty(message = "사용자 ID 목록은 필수입니다.")
+    @Size(max = 100000, message = "한 번에 최대 100000명까지 요청할 수 있습니다.")
+    private List<@NotNull Long> userIds;
+
+    @Schema(description = "탈퇴 사유 (감사 기록용)", example = "이용약관 위반 계정 정리")
+    @Size(max = 200, message = "사유는 200자 이하여야 합니다.")
+    private String reason;
+}
@@ -0,0 +1,58 @@
+package oauth2jwt.ranger.dto.admin.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import oauth2jwt.ranger.domain.status.WithdrawalJobStatus;
+import oauth2jwt.ranger.domain.withdrawal.BulkWithdrawalJob;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@Schema(name = "BulkWithdrawalResponse", description = "대량 회원 탈퇴 작업 진행 상황")
+public class BulkWithdrawalResponse {
+
+    @Schema(description = "작업 ID", example = "1")
+    private Long jobId;
+
+    @Schema(description = "작업 상태 (RUNNING / COMPLETED)", example = "RUNNING")
+    private WithdrawalJobStatus status;
+
+    @Schema(description = "요청된 사용자 수 (중복 제거 후)", example = "30000")
+    private int totalCount;
+
+    @Schema(description = "처리한 사용자 수 (이미 탈퇴했거나 없는 사용자 포함)", example = "12500")
+    private int processedCount;
+
+    @Schema(description = "실제로 탈퇴 처리한 사용자 수", example = "12480")
+    private int withdrawnCount;
+
+    @Schema(description = "소셜 연동 해제 대기 중인 건수", example = "3200")
+    private long pendingUnlinkCount;
+
+    @Schema(description = "소셜 연동 해제를 포기한 건수 (수동 확인 필요)", example = "4")
+    private long failedUnlinkCount;
+
+    @Schema(description = "작업 등록 시각")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "작업 완료 시각 (진행 중이면 null)")
+    private LocalDateTime completedAt;
+
+    public static BulkWithdrawalResponse of(BulkWithdrawalJob job, long pendingUnlinkCount, long failedUnlinkCount) {
+        return BulkWithdrawalResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .totalCount(job.getTotalCount())
+                .processedCount(job.getProcessedCount())
+                .withdrawnCount(job.getWithdrawnCount())
+                .pendingUnlinkCount(pendingUnlinkCount)
+                .failedUnlinkCount(failedUnlinkCount)
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 public class OAuth2TokenResponse {
@@ -18,5 +20,10 @@ public class OAuth2TokenResponse {
     private String tokenType;
 
     @JsonProperty("expires_in")
-    private Integer expiresIn;
+    private Integer expiresIn; // Access Token 유효 시간(초), 네이버는 문자열로 내려주지만 숫자로 변환됨
+
+    // Access Token 만료 시각 (expires_in 을 주지 않으면 null)
+    public LocalDateTime expiresAt(LocalDateTime issuedAt) {
+        return (expiresIn == null) ? null : issuedAt.plusSeconds(expiresIn);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package oauth2jwt.ranger.dto.auth.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import oauth2jwt.ranger.auth.session.SessionInfo;
+
+import java.time.Instant;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@Schema(name = "SessionResponse", description = "로그인 세션(기기) 정보")
+public class SessionResponse {
+
+    @Schema(description = "세션 ID", example = "Q2hhbmdlTWVQbGVhc2UxMjM0NQ")
+    private String sessionId;
+
+    @Schema(description = "로그인한 기기의 User-Agent", example = "Mozilla/5.0 (iPhone; CPU iPhone OS 17_0 like Mac OS X)")
+    private String userAgent;
+
+    @Schema(description = "로그인한 IP 주소", example = "203.0.113.10")
+    private String ipAddress;
+
+    @Schema(description = "로그인 시각")
+    private Instant createdAt;
+
+    @Schema(description = "마지막 토큰 재발급 시각")
+    private Instant lastUsedAt;
+
+    @Schema(description = "현재 요청을 보낸 세션인지 여부", example = "true")
+    private boolean current;
+
+    public static SessionResponse of(SessionInfo session, boolean current) {
+        return SessionResponse.builder()
+                .sessionId(session.sessionId())
+                .userAgent(session.userAgent())
+                .ipAddress(session.ipAddress())
+                .createdAt(session.createdAt())
+                .lastUsedAt(session.lastUsedAt())
+                .current(current)
+                .build();
+    }
+}
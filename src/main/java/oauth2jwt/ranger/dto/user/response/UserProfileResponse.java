@@ -0,0 +1,40 @@
+package oauth2jwt.ranger.dto.user.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import oauth2jwt.ranger.domain.role.Role;
+
+// Redis 캐시에 JSON 으로 저장되므로 필드를 바꾸면 캐시 키 버전(UserProfileCache.KEY_PREFIX 의 v2)도 올릴 것
+// UserRepository.findProfileById 의 생성자 표현식과 필드 순서가 같아야 함
+@Getter
+@Builder
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Schema(name = "UserProfileResponse", description = "로그인한 사용자 프로필")
+public class UserProfileResponse {
+
+    @Schema(description = "사용자 ID", example = "1")
+    private Long id;
+
+    @Schema(description = "시스템 내부 식별자", example = "google_102938475610293847561")
+    private String username;
+
+    @Schema(description = "이름 (닉네임)", example = "홍길동")
+    private String name;
+
+    @Schema(description = "이메일", example = "hong@example.com")
+    private String email;
+
+    @Schema(description = "프로필 이미지 URL")
+    private String profile;
+
+    @Schema(description = "소셜 로그인 제공자", example = "google")
+    private String provider;
+
+    @Schema(description = "권한", example = "ROLE_USER")
+    private Role role;
+}
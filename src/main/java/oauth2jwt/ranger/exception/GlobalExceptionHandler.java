@@ -4,8 +4,10 @@ import oauth2jwt.ranger.exception.auth.UnauthorizedException;
 import org.springframework.http.HttpStatus;
 import oauth2jwt.ranger.dto.global.response.ApiResponse;
 import oauth2jwt.ranger.exception.auth.InvalidTokenException;
+import oauth2jwt.ranger.exception.auth.RefreshInProgressException;
 import oauth2jwt.ranger.exception.auth.TokenNotFoundException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -46,6 +48,18 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.NOT_FOUND, e.getMessage());
     }
 
+    //RefreshInProgressException (재시도 가능)
+    @ExceptionHandler(RefreshInProgressException.class)
+    protected ResponseEntity<ApiResponse<?>> handleRefreshInProgressException(RefreshInProgressException e) {
+        return buildErrorResponse(HttpStatus.CONFLICT, e.getMessage());
+    }
+
+    // @PreAuthorize 권한 부족 (아래 Exception 처리에 걸려 500 이 되지 않도록)
+    @ExceptionHandler(AccessDeniedException.class)
+    protected ResponseEntity<ApiResponse<?>> handleAccessDeniedException(AccessDeniedException e) {
+        return buildErrorResponse(HttpStatus.FORBIDDEN, "접근 권한이 없습니다.");
+    }
+
     // 기타 모든 예외 처리 (500 Internal Server Error)
     @ExceptionHandler(Exception.class)
     protected ResponseEntity<ApiResponse<?>> handleException(Exception e) {
@@ -0,0 +1,8 @@
+package oauth2jwt.ranger.exception.auth;
+
+// 같은 Refresh Token 의 Rotation 이 아직 진행 중 (409, 클라이언트가 잠시 후 재시도)
+public class RefreshInProgressException extends RuntimeException {
+    public RefreshInProgressException(String message) {
+        super(message);
+    }
+}
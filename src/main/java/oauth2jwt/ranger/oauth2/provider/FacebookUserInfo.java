@@ -1,18 +1,22 @@
 package oauth2jwt.ranger.oauth2.provider;
 
-import java.util.Map;
+import com.fasterxml.jackson.core.JsonParser;
 
-public class FacebookUserInfo implements OAuth2UserInfo {
+import java.io.IOException;
 
-    private final Map<String, Object> attributes; // OAuth2User.getAttributes() 결과
+// Facebook: Graph API /me?fields=id,name,email
+public record FacebookUserInfo(String providerId, String email, String name) implements OAuth2UserInfo {
 
-    public FacebookUserInfo(Map<String, Object> attributes) {
-        this.attributes = attributes;
+    private static final UserInfoSchema SCHEMA = UserInfoSchema.of("id", "email", "name");
+
+    public static FacebookUserInfo read(JsonParser parser) throws IOException {
+        String[] values = SCHEMA.read(parser);
+        return new FacebookUserInfo(values[0], values[1], values[2]);
     }
 
     @Override
     public String getProviderId() {
-        return (String) attributes.get("id");
+        return providerId;
     }
 
     @Override
@@ -22,16 +26,11 @@ public class FacebookUserInfo implements OAuth2UserInfo {
 
     @Override
     public String getEmail() {
-        return (String) attributes.get("email");
+        return email;
     }
 
     @Override
     public String getName() {
-        return (String) attributes.get("name");
-    }
-
-    @Override
-    public Map<String, Object> getAttributes() {
-        return this.attributes;
+        return name;
     }
 }
@@ -1,18 +1,22 @@
 package oauth2jwt.ranger.oauth2.provider;
 
-import java.util.Map;
+import com.fasterxml.jackson.core.JsonParser;
 
-public class GoogleUserInfo implements OAuth2UserInfo {
+import java.io.IOException;
 
-    private final Map<String, Object> attributes; // OAuth2User.getAttributes() 결과
+// Google: OIDC 표준 클레임 (sub, email, name)
+public record GoogleUserInfo(String providerId, String email, String name) implements OAuth2UserInfo {
 
-    public GoogleUserInfo(Map<String, Object> attributes) {
-        this.attributes = attributes;
+    private static final UserInfoSchema SCHEMA = UserInfoSchema.of("sub", "email", "name");
+
+    public static GoogleUserInfo read(JsonParser parser) throws IOException {
+        String[] values = SCHEMA.read(parser);
+        return new GoogleUserInfo(values[0], values[1], values[2]);
     }
 
     @Override
     public String getProviderId() {
-        return (String) attributes.get("sub");
+        return providerId;
     }
 
     @Override
@@ -22,17 +26,11 @@ public class GoogleUserInfo implements OAuth2UserInfo {
 
     @Override
     public String getEmail() {
-        return (String) attributes.get("email");
+        return email;
     }
 
     @Override
     public String getName() {
-        return (String) attributes.get("name");
-    }
-
-    @Override
-    public Map<String, Object> getAttributes() {
-        return this.attributes;
+        return name;
     }
 }
-
@@ -1,22 +1,24 @@
 package oauth2jwt.ranger.oauth2.provider;
 
-import java.util.Map;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
 
 // Kakao는 사용자 정보가 properties와 kakao_account 두 개의 중첩된 객체에 나뉘어 있음
-// 따라서, 닉네임(nickname)과 이메일(email)을 각각 다른 경로에서 꺼내야 힘
+// 따라서, 닉네임(nickname)과 이메일(email)을 각각 다른 경로에서 꺼내야 함 (id 는 숫자로 내려오지만 문자열로 읽음)
 // 그리고 email은 따로 신청해야 받아올 수 있음(현재 코드만 구현된 상태)
-public class KakaoUserInfo implements OAuth2UserInfo {
+public record KakaoUserInfo(String providerId, String email, String name) implements OAuth2UserInfo {
 
-    private final Map<String, Object> attributes;
+    private static final UserInfoSchema SCHEMA = UserInfoSchema.of("id", "kakao_account.email", "properties.nickname");
 
-    public KakaoUserInfo(Map<String, Object> attributes) {
-        this.attributes = attributes;
+    public static KakaoUserInfo read(JsonParser parser) throws IOException {
+        String[] values = SCHEMA.read(parser);
+        return new KakaoUserInfo(values[0], values[1], values[2]);
     }
 
     @Override
     public String getProviderId() {
-        // Kakao의 고유 ID
-        return String.valueOf(attributes.get("id"));
+        return providerId;
     }
 
     @Override
@@ -26,25 +28,11 @@ public class KakaoUserInfo implements OAuth2UserInfo {
 
     @Override
     public String getEmail() {
-        Map<String, Object> account = (Map<String, Object>) attributes.get("kakao_account");
-        if (account != null) {
-            return (String) account.get("email"); // account_email
-        }
-        return null;
+        return email;
     }
 
     @Override
     public String getName() {
-        // profile_nickname 사용
-        Map<String, Object> properties = (Map<String, Object>) attributes.get("properties");
-        if (properties != null) {
-            return (String) properties.get("nickname");
-        }
-        return null;
-    }
-
-    @Override
-    public Map<String, Object> getAttributes() {
-        return this.attributes;
+        return name;
     }
-}
\ No newline at end of file
+}
@@ -1,20 +1,22 @@
 package oauth2jwt.ranger.oauth2.provider;
 
-import java.util.Map;
+import com.fasterxml.jackson.core.JsonParser;
 
-// 네이버: 생성자에서 response 맵 추출 처리 필요
-public class NaverUserInfo implements OAuth2UserInfo {
+import java.io.IOException;
 
-    private final Map<String, Object> attributes;
+// 네이버: 사용자 정보가 response 객체 안에 있음
+public record NaverUserInfo(String providerId, String email, String name) implements OAuth2UserInfo {
 
-    @SuppressWarnings("unchecked")
-    public NaverUserInfo(Map<String, Object> attributes) {
-        this.attributes = (Map<String, Object>) attributes.get("response");
+    private static final UserInfoSchema SCHEMA = UserInfoSchema.of("response.id", "response.email", "response.name");
+
+    public static NaverUserInfo read(JsonParser parser) throws IOException {
+        String[] values = SCHEMA.read(parser);
+        return new NaverUserInfo(values[0], values[1], values[2]);
     }
 
     @Override
     public String getProviderId() {
-        return (String) attributes.get("id");
+        return providerId;
     }
 
     @Override
@@ -24,16 +26,11 @@ public class NaverUserInfo implements OAuth2UserInfo {
 
     @Override
     public String getEmail() {
-        return (String) attributes.get("email");
+        return email;
     }
 
     @Override
     public String getName() {
-        return (String) attributes.get("name");
-    }
-
-    @Override
-    public Map<String, Object> getAttributes() {
-        return this.attributes;
+        return name;
     }
 }
@@ -1,10 +1,9 @@
 package oauth2jwt.ranger.oauth2.provider;
 
-import java.util.Map;
-
 /**
  * OAuth2 제공자별로 제공하는 사용자 정보의 형식이 다르므로
  * 공통된 형식으로 변환하기 위한 인터페이스
+ * 구현체는 사용하는 필드(id, 이메일, 이름)만 담은 record 이고, 원본 응답은 보관하지 않음
  * 이후에 Line, Wechat, Whatsapp 등 구현체 추가 가능
  * */
 public interface OAuth2UserInfo {
@@ -20,7 +19,4 @@ public interface OAuth2UserInfo {
 
     // 사용자 이름 또는 닉네임
     String getName();
-
-    // 사용자 정보가 담긴 원본 Map 데이터 반환
-    Map<String, Object> getAttributes();
-}
\ No newline at end of file
+}
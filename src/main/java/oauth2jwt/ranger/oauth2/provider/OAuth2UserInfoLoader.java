@@ -0,0 +1,118 @@
+package oauth2jwt.ranger.oauth2.provider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
+import oauth2jwt.ranger.config.webClient.LoginHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 소셜 Provider 사용자 정보 조회 (DefaultOAuth2UserService 대체)
+ *
+ * DefaultOAuth2UserService 는 응답 전체를 Map<String, Object> 트리로 만들고, 중첩된 값은 getter 마다 캐스팅해야 함
+ * 여기서는 응답 스트림을 Jackson JsonParser 로 바로 읽어 사용하는 필드(id, 이메일, 이름)만 record 로 꺼냄
+ * 원본 속성 Map 은 app.oauth2.user-info.keep-attributes=true 일 때만 만듦 (디버깅용, 이때는 응답을 한 번 버퍼링)
+ * 요청은 토큰 교환과 같은 로그인 공용 커넥션 풀(LoginHttpClient)로 보냄
+ */
+@Component
+public class OAuth2UserInfoLoader {
+
+    private static final String INVALID_USER_INFO_RESPONSE = "invalid_user_info_response";
+    private static final TypeReference<Map<String, Object>> ATTRIBUTES = new TypeReference<>() {
+    };
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+    private final AuthMetrics authMetrics;
+    private final boolean keepAttributes;
+
+    public OAuth2UserInfoLoader(
+            RestTemplateBuilder restTemplateBuilder,
+            LoginHttpClient loginHttpClient,
+            ObjectMapper objectMapper,
+            AuthMetrics authMetrics,
+            @Value("${app.oauth2.user-info.keep-attributes:false}") boolean keepAttributes) {
+
+        this.restTemplate = restTemplateBuilder
+                .requestFactory(loginHttpClient::requestFactory)
+                .build();
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+        this.authMetrics = authMetrics;
+        this.keepAttributes = keepAttributes;
+    }
+
+    // attributes 는 keep-attributes=false 면 빈 Map
+    public record LoadedUserInfo(OAuth2UserInfo userInfo, Map<String, Object> attributes) {
+    }
+
+    public LoadedUserInfo load(OAuth2UserRequest userRequest) {
+        ClientRegistration registration = userRequest.getClientRegistration();
+        String registrationId = registration.getRegistrationId();
+        String uri = registration.getProviderDetails().getUserInfoEndpoint().getUri();
+        if (uri == null || uri.isBlank()) {
+            throw error("사용자 정보 엔드포인트가 설정되지 않았습니다: " + registrationId);
+        }
+
+        try {
+            return authMetrics.recordProviderCall(registrationId, "user_info", () -> restTemplate.execute(uri, HttpMethod.GET,
+                    request -> {
+                        request.getHeaders().setBearerAuth(userRequest.getAccessToken().getTokenValue());
+                        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                    },
+                    response -> read(registrationId, response.getBody())));
+        } catch (RestClientException e) {
+            throw error("사용자 정보 조회 실패 (" + registrationId + "): " + e.getMessage());
+        }
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private LoadedUserInfo read(String registrationId, InputStream body) throws IOException {
+        if (!keepAttributes) {
+            try (JsonParser parser = jsonFactory.createParser(body)) {
+                return new LoadedUserInfo(parse(registrationId, parser), Map.of());
+            }
+        }
+        byte[] bytes = body.readAllBytes();
+        try (JsonParser parser = jsonFactory.createParser(bytes)) {
+            return new LoadedUserInfo(parse(registrationId, parser), objectMapper.readValue(bytes, ATTRIBUTES));
+        }
+    }
+
+    private OAuth2UserInfo parse(String registrationId, JsonParser parser) throws IOException {
+        OAuth2UserInfo userInfo = switch (registrationId) {
+            case "google" -> GoogleUserInfo.read(parser);
+            case "naver" -> NaverUserInfo.read(parser);
+            case "kakao" -> KakaoUserInfo.read(parser);
+            case "facebook" -> FacebookUserInfo.read(parser);
+            default -> throw error("Unsupported provider: " + registrationId);
+        };
+        if (userInfo.getProviderId() == null) {
+            throw error("사용자 정보 응답에 ID 가 없습니다: " + registrationId);
+        }
+        return userInfo;
+    }
+
+    private static OAuth2AuthenticationException error(String message) {
+        return new OAuth2AuthenticationException(new OAuth2Error(INVALID_USER_INFO_RESPONSE, message, null), message);
+    }
+}
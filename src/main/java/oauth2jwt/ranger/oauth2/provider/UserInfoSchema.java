@@ -0,0 +1,74 @@
+package oauth2jwt.ranger.oauth2.provider;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Provider 사용자 정보 JSON 에서 필요한 필드만 꺼내는 스트리밍 파서
+ *
+ * 경로("kakao_account.email")로 필요한 필드를 지정하면 토큰을 순서대로 읽으면서
+ * - 지정한 경로의 값(문자열/숫자)만 문자열로 꺼내고
+ * - 나머지 객체/배열은 skipChildren 으로 건너뜀 (Map/List 를 만들지 않음)
+ * 경로 트리는 Provider 마다 한 번만 만들어 공유함
+ */
+public final class UserInfoSchema {
+
+    private final Node root = new Node(-1);
+    private final int size;
+
+    private UserInfoSchema(String... paths) {
+        for (int i = 0; i < paths.length; i++) {
+            Node node = root;
+            String[] names = paths[i].split("\\.");
+            for (int depth = 0; depth < names.length; depth++) {
+                int slot = (depth == names.length - 1) ? i : -1;
+                node = node.children.computeIfAbsent(names[depth], name -> new Node(slot));
+            }
+        }
+        this.size = paths.length;
+    }
+
+    public static UserInfoSchema of(String... paths) {
+        return new UserInfoSchema(paths);
+    }
+
+    // 지정한 경로 순서대로 값 반환 (없거나 null 이면 null)
+    public String[] read(JsonParser parser) throws IOException {
+        String[] values = new String[size];
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("사용자 정보 응답이 JSON 객체가 아닙니다.");
+        }
+        read(parser, root, values);
+        return values;
+    }
+
+    // 현재 토큰이 START_OBJECT 인 상태에서 호출, END_OBJECT 까지 읽음
+    private static void read(JsonParser parser, Node node, String[] values) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Node child = node.children.get(parser.currentName());
+            JsonToken value = parser.nextToken();
+            if (child == null) {
+                parser.skipChildren();
+            } else if (value == JsonToken.START_OBJECT && child.slot < 0) {
+                read(parser, child, values);
+            } else if (value.isScalarValue() && child.slot >= 0) {
+                values[child.slot] = (value == JsonToken.VALUE_NULL) ? null : parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static final class Node {
+        private final int slot; // 값이면 결과 배열 위치, 중간 객체면 -1
+        private final Map<String, Node> children = new HashMap<>(4);
+
+        private Node(int slot) {
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package oauth2jwt.ranger.repository.unlink;
+
+import oauth2jwt.ranger.domain.status.UnlinkJobStatus;
+import oauth2jwt.ranger.domain.unlink.SocialUnlinkJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SocialUnlinkJobRepository extends JpaRepository<SocialUnlinkJob, Long> {
+
+    // 처리할 차례가 된 작업을 잠그고 가져옴
+    // SKIP LOCKED: 다른 노드가 잠근 행은 건너뛰므로 여러 노드가 동시에 돌아도 같은 작업을 중복 처리하지 않음
+    @Query(value = "SELECT * FROM social_unlink_outbox "
+            + "WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<SocialUnlinkJob> lockDueJobs(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // 임대 연장 (가져간 뒤 다른 노드가 다시 가져갔으면 attempts 가 늘어 있으므로 0)
+    @Modifying
+    @Query("UPDATE SocialUnlinkJob j SET j.nextAttemptAt = :leaseExpiresAt "
+            + "WHERE j.id = :id AND j.attempts = :attempts "
+            + "AND j.status = oauth2jwt.ranger.domain.status.UnlinkJobStatus.PENDING")
+    int renewLease(@Param("id") Long id,
+                   @Param("attempts") int attempts,
+                   @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // 대량 탈퇴 작업의 연동 해제 진행 상황 (성공한 작업은 행이 삭제되므로 대기/포기 건수만 셈)
+    long countByBulkWithdrawalIdAndStatus(Long bulkWithdrawalId, UnlinkJobStatus status);
+}
@@ -0,0 +1,24 @@
+package oauth2jwt.ranger.repository.user;
+
+import jakarta.persistence.LockModeType;
+import oauth2jwt.ranger.domain.user.ArchivedUser;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ArchivedUserRepository extends JpaRepository<ArchivedUser, Long> {
+
+    // 소셜 로그인으로 users 에 새 행이 생겼을 때만 보관된 탈퇴 회원인지 확인 (유니크 인덱스 조회 한 번, 대부분 없음)
+    // 되돌리고 지울 때까지 잠금 (같은 보관 행을 두 번 되돌리지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ArchivedUser> findByProviderAndProviderId(String provider, String providerId);
+
+    // users 로 되돌린 뒤 삭제
+    @Modifying
+    @Query("DELETE FROM ArchivedUser a WHERE a.provider = :provider AND a.providerId = :providerId")
+    int deleteByProviderAndProviderId(@Param("provider") String provider, @Param("providerId") String providerId);
+}
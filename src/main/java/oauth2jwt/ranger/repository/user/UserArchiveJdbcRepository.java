@@ -0,0 +1,61 @@
+package oauth2jwt.ranger.repository.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 탈퇴 회원 보관(users -> users_archive)용 JDBC 쿼리
+ *
+ * 모든 메서드는 DeletedUserArchiver 의 배치 트랜잭션 안에서 호출됨
+ * 대상은 (status, deleted_at) 인덱스를 (deleted_at, id) 키셋으로 훑음 (OFFSET 없이 이전 배치의 마지막 키 다음부터)
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserArchiveJdbcRepository {
+
+    private static final String COLUMNS = "id, username, name, email, profile, provider, provider_id, role, deleted_at";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // 키셋 위치 (마지막으로 처리한 행의 deleted_at, id)
+    public record Cursor(LocalDateTime deletedAt, long id) {
+
+        public static final Cursor START = new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+    }
+
+    // 보관 기간이 지난 탈퇴 회원을 잠그고 가져옴 (SKIP LOCKED: 재가입/다른 노드가 잡고 있는 행은 건너뜀)
+    public List<Cursor> lockNextBatch(LocalDateTime cutoff, Cursor after, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, deleted_at FROM users "
+                        + "WHERE status = 'DELETED' AND deleted_at < :cutoff "
+                        + "AND (deleted_at > :afterDeletedAt OR (deleted_at = :afterDeletedAt AND id > :afterId)) "
+                        + "ORDER BY deleted_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+                new MapSqlParameterSource("cutoff", Timestamp.valueOf(cutoff))
+                        .addValue("afterDeletedAt", Timestamp.valueOf(after.deletedAt()))
+                        .addValue("afterId", after.id())
+                        .addValue("limit", limit),
+                (rs, rowNum) -> new Cursor(rs.getTimestamp("deleted_at").toLocalDateTime(), rs.getLong("id")));
+    }
+
+    // 보관 테이블로 복사 (같은 회원이 이미 있으면 최신 탈퇴 정보로 교체)
+    public int archive(List<Long> userIds, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "INSERT INTO users_archive (" + COLUMNS + ", archived_at) "
+                        + "SELECT " + COLUMNS + ", :now FROM users WHERE id IN (:ids) AND status = 'DELETED' "
+                        + "ON DUPLICATE KEY UPDATE name = VALUES(name), email = VALUES(email), "
+                        + "profile = VALUES(profile), deleted_at = VALUES(deleted_at), archived_at = VALUES(archived_at)",
+                new MapSqlParameterSource("ids", userIds).addValue("now", Timestamp.valueOf(now)));
+    }
+
+    public int deleteUsers(List<Long> userIds) {
+        return jdbcTemplate.update(
+                "DELETE FROM users WHERE id IN (:ids) AND status = 'DELETED'",
+                new MapSqlParameterSource("ids", userIds));
+    }
+}
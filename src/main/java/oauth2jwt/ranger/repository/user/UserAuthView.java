@@ -0,0 +1,24 @@
+package oauth2jwt.ranger.repository.user;
+
+import oauth2jwt.ranger.domain.role.Role;
+import oauth2jwt.ranger.domain.user.User;
+
+/**
+ * 로그인/인증 경로용 User 조회 결과 (토큰 발급과 세션 등록에 필요한 컬럼만)
+ *
+ * 엔티티 대신 JPQL 생성자 표현식으로 읽으므로 영속성 컨텍스트에 올라가지 않음 (스냅샷/Dirty Checking 없음)
+ */
+public record UserAuthView(Long id, String username, String name, String provider, String providerId, Role role) {
+
+    // CustomOAuth2User / JwtTokenProvider 가 받는 User (JWT 에서 만든 principal 과 같은 비영속 객체)
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .name(name)
+                .provider(provider)
+                .providerId(providerId)
+                .role(role)
+                .build();
+    }
+}
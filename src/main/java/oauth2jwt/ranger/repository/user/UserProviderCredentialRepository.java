@@ -0,0 +1,36 @@
+package oauth2jwt.ranger.repository.user;
+
+import oauth2jwt.ranger.domain.user.UserProviderCredential;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface UserProviderCredentialRepository extends JpaRepository<UserProviderCredential, Long> {
+
+    // 로그인 시 Provider 토큰 최신화 (MySQL upsert, 사용자 ID 를 따로 조회하지 않고 한 문장)
+    // UserRepository.upsertSocialUser 직후 같은 트랜잭션에서 호출, Provider Refresh Token 은 새로 발급된 경우에만 교체
+    // 반환값(영향 받은 행 수): 1 = INSERT (신규 가입/재가입), 2 = 기존 행 갱신
+    @Modifying
+    @Query(value = "INSERT INTO user_provider_credentials (user_id, provider_access_token, "
+            + "provider_access_token_expires_at, provider_refresh_token) "
+            + "SELECT id, :accessToken, :accessTokenExpiresAt, :refreshToken FROM users "
+            + "WHERE provider = :provider AND provider_id = :providerId "
+            + "ON DUPLICATE KEY UPDATE "
+            + "provider_access_token = VALUES(provider_access_token), "
+            + "provider_access_token_expires_at = VALUES(provider_access_token_expires_at), "
+            + "provider_refresh_token = COALESCE(VALUES(provider_refresh_token), provider_refresh_token)",
+            nativeQuery = true)
+    int upsert(@Param("provider") String provider,
+               @Param("providerId") String providerId,
+               @Param("accessToken") String accessToken,
+               @Param("accessTokenExpiresAt") LocalDateTime accessTokenExpiresAt,
+               @Param("refreshToken") String refreshToken);
+
+    // 탈퇴 시 삭제 (엔티티를 로딩하지 않고 한 문장)
+    @Modifying
+    @Query("DELETE FROM UserProviderCredential c WHERE c.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -1,7 +1,9 @@
 package oauth2jwt.ranger.repository.user;
 
 import oauth2jwt.ranger.domain.user.User;
+import oauth2jwt.ranger.dto.user.response.UserProfileResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -12,12 +14,81 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // 최초 소셜 로그인 시 사용 (회원가입 여부 확인)
     Optional<User> findByProviderAndProviderId(String provider, String providerId);
 
-    // 토큰 재발급 시 사용
-    Optional<User> findByRefreshToken(String refreshToken);
+    // 소셜 로그인 시 저장된 사용자 조회 (토큰 발급/세션 등록에 필요한 컬럼만, 엔티티로 로딩하지 않음)
+    @Query("SELECT new oauth2jwt.ranger.repository.user.UserAuthView(u.id, u.username, u.name, u.provider, u.providerId, u.role) "
+            + "FROM User u WHERE u.provider = :provider AND u.providerId = :providerId")
+    Optional<UserAuthView> findAuthViewByProviderAndProviderId(@Param("provider") String provider,
+                                                               @Param("providerId") String providerId);
 
-    // 재가입 확인용 (탈퇴한 유저 포함 조회)
+    // 내 프로필 조회 (UserProfileCache 에 없을 때만, 프로필 컬럼만 읽고 엔티티로 로딩하지 않음)
+    @Query("SELECT new oauth2jwt.ranger.dto.user.response.UserProfileResponse("
+            + "u.id, u.username, u.name, u.email, u.profile, u.provider, u.role) FROM User u WHERE u.id = :id")
+    Optional<UserProfileResponse> findProfileById(@Param("id") Long id);
+
+    // 토큰 재발급 시 사용 (Rotation 직후 새 다이제스트로 소유자 조회, 유니크 인덱스)
+    Optional<User> findByRefreshTokenDigest(String refreshTokenDigest);
+
+    // Refresh Token Rotation (Compare-And-Swap)
+    // 현재 다이제스트가 일치할 때만 교체, 0 이면 이미 사용(재사용)되었거나 폐기된 토큰
+    @Modifying
+    @Query("UPDATE User u SET u.refreshTokenDigest = :next WHERE u.refreshTokenDigest = :current")
+    int rotateRefreshTokenDigest(@Param("current") String current, @Param("next") String next);
+
+    // 로그인 시 발급 / 로그아웃 시 폐기(null)
+    @Modifying
+    @Query("UPDATE User u SET u.refreshTokenDigest = :digest WHERE u.id = :id")
+    int updateRefreshTokenDigest(@Param("id") Long id, @Param("digest") String digest);
+
+    // 소셜 로그인 시 사용자 저장 (MySQL upsert, 조회 없이 한 문장)
+    // - 없으면 INSERT, (provider, provider_id) 가 이미 있으면 복구/유지
+    // - 탈퇴한 유저면 복구하면서 닉네임을 소셜 정보로 초기화, ACTIVE 유저는 닉네임 유지
+    //   (MySQL 은 SET 절을 왼쪽부터 적용하므로 name 을 status 보다 먼저 계산해야 복구 전 상태를 봄)
+    // - Provider 토큰은 UserProviderCredentialRepository.upsert 로 따로 저장
+    // 동시에 처음 로그인해도 유니크 제약 위반 없이 한 행으로 합쳐짐
+    // 반환값(영향 받은 행 수): 2 = 기존 행이 바뀜(탈퇴 유저 복구)
+    // INSERT 여부는 영향 행 수로 판단하지 않음 (Connector/J 기본값 CLIENT_FOUND_ROWS 에서는 바뀌지 않은 기존 행도 1)
+    // 기존 행이면 LAST_INSERT_ID(0) 으로 lastInsertId() 를 0 으로 만듦 (id 값은 그대로)
+    @Modifying
+    @Query(value = "INSERT INTO users (username, name, email, provider, provider_id, role, status) "
+            + "VALUES (:username, :name, :email, :provider, :providerId, 'ROLE_USER', 'ACTIVE') "
+            + "ON DUPLICATE KEY UPDATE "
+            + "name = IF(status = 'DELETED', VALUES(name), name), "
+            + "status = 'ACTIVE', "
+            + "deleted_at = NULL, "
+            + "id = id + LAST_INSERT_ID(0)",
+            nativeQuery = true)
+    int upsertSocialUser(@Param("username") String username,
+                         @Param("name") String name,
+                         @Param("email") String email,
+                         @Param("provider") String provider,
+                         @Param("providerId") String providerId);
+
+    // 같은 트랜잭션(커넥션)에서 직전에 실행한 upsertSocialUser 가 새 행을 INSERT 했으면 그 ID, 기존 행이면 0
+    @Query(value = "SELECT LAST_INSERT_ID()", nativeQuery = true)
+    Long lastInsertId();
+
+    // 보관된 탈퇴 회원을 users 로 되돌림 (보관 당시 ID 유지, upsertSocialUser 의 재가입 복구와 같이 닉네임 초기화 + ACTIVE)
+    // upsertSocialUser 가 방금 새 ID 로 INSERT 한 행이 있으면 REPLACE 가 그 행(같은 provider/provider_id, username)을 지우고 교체
+    // upsertSocialUser 가 새 행을 INSERT 했을 때(lastInsertId() != 0)만 호출하므로 기존 회원 로그인은 users_archive 를 읽지 않음
+    // 반환값(영향 받은 행 수): 0 = 보관된 회원 아님, 1 = users 에 같은 계정 없음, 2 = 기존 행 교체
+    @Modifying
+    @Query(value = "REPLACE INTO users (id, username, name, email, profile, provider, provider_id, role, "
+            + "status, deleted_at) "
+            + "SELECT id, username, :name, email, profile, provider, provider_id, role, 'ACTIVE', NULL "
+            + "FROM users_archive WHERE provider = :provider AND provider_id = :providerId",
+            nativeQuery = true)
+    int restoreArchived(@Param("provider") String provider,
+                        @Param("providerId") String providerId,
+                        @Param("name") String name);
+
+    // 재가입 확인용 (탈퇴한 유저 포함 조회, 보관 테이블로 옮겨진 탈퇴 회원도 포함)
     // @Where 조건을 무시하고 DB에서 직접 조회하기 위해 nativeQuery 사용
-    @Query(value = "SELECT * FROM users WHERE provider = :provider AND provider_id = :providerId", nativeQuery = true)
+    @Query(value = "SELECT id, username, name, email, profile, provider, provider_id, role, status, deleted_at, "
+            + "refresh_token_digest FROM users WHERE provider = :provider AND provider_id = :providerId "
+            + "UNION ALL "
+            + "SELECT id, username, name, email, profile, provider, provider_id, role, 'DELETED', deleted_at, "
+            + "NULL FROM users_archive WHERE provider = :provider AND provider_id = :providerId "
+            + "LIMIT 1", nativeQuery = true)
     Optional<User> findByProviderAndProviderIdIncludingDeleted(@Param("provider") String provider, @Param("providerId") String providerId);
 
 }
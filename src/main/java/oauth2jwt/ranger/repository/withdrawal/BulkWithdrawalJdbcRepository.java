@@ -0,0 +1,109 @@
+package oauth2jwt.ranger.repository.withdrawal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 대량 회원 탈퇴용 JDBC 쿼리 (JPA 엔티티를 로딩하지 않고 청크 단위 집합 연산으로 처리)
+ *
+ * 모든 메서드는 BulkWithdrawalService 의 청크 트랜잭션 안에서 호출됨
+ * 대상 등록은 JDBC 배치 INSERT (MySQL 은 DB_URL 에 rewriteBatchedStatements=true 를 주면 multi-row INSERT 로 전송)
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkWithdrawalJdbcRepository {
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // 작업 대상 등록 (userIds 는 중복 제거된 상태로 전달)
+    public void insertItems(Long jobId, List<Long> userIds) {
+        for (int from = 0; from < userIds.size(); from += INSERT_BATCH_SIZE) {
+            List<Long> batch = userIds.subList(from, Math.min(from + INSERT_BATCH_SIZE, userIds.size()));
+            MapSqlParameterSource[] params = batch.stream()
+                    .map(userId -> new MapSqlParameterSource("jobId", jobId).addValue("userId", userId))
+                    .toArray(MapSqlParameterSource[]::new);
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO bulk_withdrawal_item (job_id, user_id) VALUES (:jobId, :userId)", params);
+        }
+    }
+
+    // 다음 청크를 잠그고 가져옴 (SKIP LOCKED: 여러 노드/워커가 같은 작업을 나눠서 처리)
+    public List<Long> lockNextItems(Long jobId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT user_id FROM bulk_withdrawal_item WHERE job_id = :jobId "
+                        + "ORDER BY user_id LIMIT :limit FOR UPDATE SKIP LOCKED",
+                new MapSqlParameterSource("jobId", jobId).addValue("limit", limit),
+                Long.class);
+    }
+
+    // 청크 중 아직 탈퇴하지 않은 사용자를 잠그고 가져옴 (개별 탈퇴/재가입과 동시에 처리되지 않도록)
+    public List<Long> lockActiveUsers(List<Long> userIds) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE id IN (:ids) AND status = 'ACTIVE' FOR UPDATE",
+                new MapSqlParameterSource("ids", userIds),
+                Long.class);
+    }
+
+    // 소셜 연동 해제 Outbox 작업 생성 (Provider 토큰이 삭제되기 전에 옮겨 둠)
+    public int enqueueUnlinks(Long jobId, List<Long> userIds, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "INSERT INTO social_unlink_outbox (user_id, provider, provider_id, provider_access_token, "
+                        + "provider_access_token_expires_at, provider_refresh_token, status, attempts, "
+                        + "next_attempt_at, created_at, bulk_withdrawal_id) "
+                        + "SELECT u.id, u.provider, u.provider_id, c.provider_access_token, "
+                        + "c.provider_access_token_expires_at, c.provider_refresh_token, 'PENDING', 0, "
+                        + ":now, :now, :jobId FROM users u "
+                        + "LEFT JOIN user_provider_credentials c ON c.user_id = u.id WHERE u.id IN (:ids)",
+                new MapSqlParameterSource("ids", userIds)
+                        .addValue("jobId", jobId)
+                        .addValue("now", Timestamp.valueOf(now)));
+    }
+
+    // Soft Delete (User 의 @SQLDelete 와 같은 컬럼 변경)
+    public int softDeleteUsers(List<Long> userIds, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "UPDATE users SET status = 'DELETED', deleted_at = :now, refresh_token_digest = NULL "
+                        + "WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", userIds).addValue("now", Timestamp.valueOf(now)));
+    }
+
+    // Provider 토큰 삭제 (Outbox 작업으로 옮긴 뒤)
+    public int deleteCredentials(List<Long> userIds) {
+        return jdbcTemplate.update(
+                "DELETE FROM user_provider_credentials WHERE user_id IN (:ids)",
+                new MapSqlParameterSource("ids", userIds));
+    }
+
+    public void deleteItems(Long jobId, List<Long> userIds) {
+        jdbcTemplate.update(
+                "DELETE FROM bulk_withdrawal_item WHERE job_id = :jobId AND user_id IN (:ids)",
+                new MapSqlParameterSource("jobId", jobId).addValue("ids", userIds));
+    }
+
+    // 진행 상황 카운터 증가 (여러 워커가 동시에 갱신해도 누락되지 않도록 컬럼 기준 증가)
+    public void addProgress(Long jobId, int processed, int withdrawn) {
+        jdbcTemplate.update(
+                "UPDATE bulk_withdrawal_job SET processed_count = processed_count + :processed, "
+                        + "withdrawn_count = withdrawn_count + :withdrawn WHERE id = :jobId",
+                new MapSqlParameterSource("jobId", jobId)
+                        .addValue("processed", processed)
+                        .addValue("withdrawn", withdrawn));
+    }
+
+    // 남은 대상이 없으면 완료 처리 (다른 워커가 잠근 청크가 아직 커밋 전이면 그 워커가 완료 처리)
+    public boolean completeIfDone(Long jobId, LocalDateTime now) {
+        return jdbcTemplate.update(
+                "UPDATE bulk_withdrawal_job SET status = 'COMPLETED', completed_at = :now "
+                        + "WHERE id = :jobId AND status = 'RUNNING' "
+                        + "AND NOT EXISTS (SELECT 1 FROM bulk_withdrawal_item WHERE job_id = :jobId)",
+                new MapSqlParameterSource("jobId", jobId).addValue("now", Timestamp.valueOf(now))) == 1;
+    }
+}
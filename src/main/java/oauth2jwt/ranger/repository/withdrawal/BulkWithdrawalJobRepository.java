@@ -0,0 +1,13 @@
+package oauth2jwt.ranger.repository.withdrawal;
+
+import oauth2jwt.ranger.domain.status.WithdrawalJobStatus;
+import oauth2jwt.ranger.domain.withdrawal.BulkWithdrawalJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface BulkWithdrawalJobRepository extends JpaRepository<BulkWithdrawalJob, Long> {
+
+    // 기동 시/주기적으로 이어서 처리할 작업
+    List<BulkWithdrawalJob> findByStatus(WithdrawalJobStatus status);
+}
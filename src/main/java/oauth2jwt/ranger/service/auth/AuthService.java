@@ -1,20 +1,36 @@
 package oauth2jwt.ranger.service.auth;
 
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.auth.blacklist.RevocationEpochs;
+import oauth2jwt.ranger.auth.blacklist.TokenBlacklist;
 import oauth2jwt.ranger.auth.jwt.JwtTokenProvider;
+import oauth2jwt.ranger.auth.jwt.VerifiedToken;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
+import oauth2jwt.ranger.auth.refresh.RefreshCoalescer;
+import oauth2jwt.ranger.auth.refresh.RefreshTokenGrant;
+import oauth2jwt.ranger.auth.refresh.RefreshTokenStore;
+import oauth2jwt.ranger.auth.session.SessionRegistry;
+import oauth2jwt.ranger.dto.auth.response.SessionResponse;
 import oauth2jwt.ranger.dto.auth.response.TokenResponse;
+import oauth2jwt.ranger.dto.user.response.UserProfileResponse;
 import oauth2jwt.ranger.exception.auth.InvalidTokenException;
 import oauth2jwt.ranger.exception.auth.TokenNotFoundException;
 import oauth2jwt.ranger.domain.user.User;
+import oauth2jwt.ranger.domain.user.UserProviderCredential;
 import oauth2jwt.ranger.exception.auth.UnauthorizedException;
+import oauth2jwt.ranger.repository.user.UserProviderCredentialRepository;
 import oauth2jwt.ranger.repository.user.UserRepository;
-import org.springframework.data.redis.core.RedisTemplate;
+import oauth2jwt.ranger.service.user.UserProfileCache;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -23,101 +39,244 @@ import java.util.concurrent.TimeUnit;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final UserProviderCredentialRepository userProviderCredentialRepository;
     private final JwtTokenProvider jwtTokenProvider;
-    private final RedisTemplate<String, String> redisTemplate;
-    private final SocialUnlinkService socialUnlinkService;
+    private final RefreshTokenStore refreshTokenStore;
+    private final RefreshCoalescer refreshCoalescer;
+    private final SessionRegistry sessionRegistry;
+    private final TokenBlacklist tokenBlacklist;
+    private final RevocationEpochs revocationEpochs;
+    private final SocialUnlinkOutbox socialUnlinkOutbox;
+    private final UserProfileCache userProfileCache;
+    private final AuthMetrics authMetrics;
+
+    // Refresh Token 저장소가 Redis 면 재발급/로그아웃/세션 관리는 DB 를 쓰지 않으므로 트랜잭션(커넥션)을 열지 않음
+    // (jpa 저장소는 메서드마다 자체 트랜잭션 사용)
 
     //토큰 재발급
+    @Transactional(propagation = Propagation.SUPPORTS)
     public TokenResponse reissueTokens(String accessToken, String refreshToken) {
+        return authMetrics.recordOperation("reissue", () -> reissue(accessToken, refreshToken));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void logout(User principal, String accessToken) {
+        authMetrics.recordOperation("logout", () -> logoutCurrentDevice(principal, accessToken));
+    }
+
+    // 로그인 세션(기기) 목록
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<SessionResponse> getSessions(User principal, String accessToken) {
+        return authMetrics.recordOperation("sessions", () -> listSessions(principal, accessToken));
+    }
+
+    // 다른 기기 로그아웃 (세션 하나 종료)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void revokeSession(User principal, String sessionId) {
+        authMetrics.recordOperation("revoke_session", () -> endSession(principal, sessionId));
+    }
+
+    // 모든 기기 로그아웃 (발급된 토큰 수와 관계없이 기준 시각 하나로 처리)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void logoutAllDevices(User principal) {
+        authMetrics.recordOperation("logout_all", () -> logoutEverywhere(principal));
+    }
+
+    // 전체 사용자 토큰 무효화 (장애 대응용, 관리자 전용)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void revokeAllTokens() {
+        authMetrics.recordOperation("revoke_all", () -> {
+            revocationEpochs.revokeAll();
+            log.warn("전체 사용자 토큰 무효화 실행");
+        });
+    }
+
+    public void withdraw(User principal) {
+        authMetrics.recordOperation("withdraw", () -> withdrawUser(principal));
+    }
+
+    // ---------------------- 작업 본문 (AuthMetrics 로 소요 시간/결과 기록) ----------------------
+
+    private TokenResponse reissue(String accessToken, String refreshToken) {
 
         // 예외 처리
         if (accessToken != null && isBlacklisted(accessToken)) {
             throw new UnauthorizedException("로그아웃된 사용자입니다.");
         }
 
-        // 1. Refresh Token 유효성 검증
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            throw new InvalidTokenException("유효하지 않은 Refresh Token 입니다.");
-        }
+        // 같은 Refresh Token 으로 동시에 들어온 요청은 한 번만 Rotation 하고 결과를 공유
+        return refreshCoalescer.reissue(refreshToken, () -> rotate(refreshToken));
+    }
 
-        // 2. DB에서 유저 조회
-        User user = userRepository.findByRefreshToken(refreshToken)
+    private RefreshCoalescer.Rotated rotate(String refreshToken) {
+        // 1. Refresh Token 소비 + 새 Refresh Token 저장 (Rotation, 저장소에서 원자적으로 처리)
+        RefreshTokenGrant grant = refreshTokenStore.rotate(refreshToken)
                 .orElseThrow(() -> new TokenNotFoundException("저장소에 Refresh Token이 존재하지 않습니다."));
 
-        // 3. 새 토큰 생성
-        String newAccessToken = jwtTokenProvider.createAccessToken(jwtTokenProvider.getAuthenticationFromUser(user));
-        String newRefreshToken = jwtTokenProvider.createRefreshToken();
+        // 2. 모든 기기 로그아웃/전체 무효화 이전에 발급된 Refresh Token 이면 새 토큰도 폐기
+        if (revocationEpochs.isRevoked(grant.userId(), grant.issuedAt())) {
+            refreshTokenStore.revoke(grant.userId(), grant.sessionId());
+            throw new UnauthorizedException("무효화된 토큰입니다. 다시 로그인해주세요.");
+        }
 
-        // 4. DB 업데이트 (Rotation)
-        user.updateRefreshToken(newRefreshToken);
+        // 3. 세션 사용 기록 (다른 기기에서 종료했거나 최대 세션 수 초과로 밀려난 세션이면 새 토큰도 폐기)
+        if (grant.sessionId() != null && !sessionRegistry.touch(grant.userId(), grant.sessionId())) {
+            refreshTokenStore.revoke(grant.userId(), grant.sessionId());
+            throw new UnauthorizedException("종료된 세션입니다. 다시 로그인해주세요.");
+        }
+
+        // 4. 새 Access Token 생성 (권한 변경이 반영되도록 로그인 시점 값 대신 현재 프로필의 username/role 사용, 탈퇴한 사용자면 예외)
+        UserProfileResponse owner = userProfileCache.get(grant.userId());
+        String newAccessToken = jwtTokenProvider.createAccessToken(
+                grant.userId(), owner.getUsername(), owner.getRole(), grant.sessionId());
 
-        return TokenResponse.of(newAccessToken, newRefreshToken);
+        return new RefreshCoalescer.Rotated(grant.sessionId(), TokenResponse.of(newAccessToken, grant.refreshToken()));
     }
 
-    public void logout(User user, String accessToken) {
-        if (user == null) {
+    private void logoutCurrentDevice(User principal, String accessToken) {
+        if (principal == null) {
             throw new UnauthorizedException("로그인이 필요합니다.");
         }
 
-        // 1. DB에서 Refresh Token 삭제
-        user.updateRefreshToken(null);
+        VerifiedToken verified = (accessToken != null) ? verifyAccessToken(accessToken) : null;
+
+        // 1. 현재 세션 종료 + Refresh Token 폐기 (sid 가 없는 예전 토큰이면 사용자 토큰 폐기)
+        String sessionId = (verified != null) ? verified.sessionId() : null;
+        if (sessionId != null) {
+            // sid 는 본인 토큰에서 꺼낸 값이므로 세션이 이미 만료/정리되었어도 Refresh Token 은 폐기
+            if (!sessionRegistry.revoke(principal.getId(), sessionId)) {
+                refreshTokenStore.revoke(principal.getId(), sessionId);
+                refreshCoalescer.invalidateSession(sessionId);
+            }
+        } else {
+            refreshTokenStore.revoke(principal.getId(), null);
+        }
 
         // 2. Access Token 블랙리스트 등록
         // ✅ 복잡한 시간 계산/저장 로직을 헬퍼 메서드로 위임
-        if (accessToken != null) {
-            registerBlacklist(accessToken, "logout");
+        if (verified != null) {
+            registerBlacklist(verified, "logout");
         }
 
-        log.info("로그아웃 완료: {}", user.getUsername());
+        log.info("로그아웃 완료: {}", principal.getUsername());
     }
 
-    public void withdraw(User principal, String accessToken) {
+    private List<SessionResponse> listSessions(User principal, String accessToken) {
+        if (principal == null) {
+            throw new UnauthorizedException("로그인이 필요합니다.");
+        }
+
+        String currentSessionId = (accessToken != null) ? verifyAccessToken(accessToken).sessionId() : null;
+        return sessionRegistry.list(principal.getId()).stream()
+                .map(session -> SessionResponse.of(session, session.sessionId().equals(currentSessionId)))
+                .toList();
+    }
+
+    private void endSession(User principal, String sessionId) {
+        if (principal == null) {
+            throw new UnauthorizedException("로그인이 필요합니다.");
+        }
+
+        // 해당 세션의 Refresh Token 폐기 (이미 발급된 Access Token 은 만료 시각까지 유효)
+        if (!sessionRegistry.revoke(principal.getId(), sessionId)) {
+            throw new TokenNotFoundException("세션을 찾을 수 없습니다.");
+        }
+
+        log.info("세션 종료 완료: {}", principal.getUsername());
+    }
+
+    private void logoutEverywhere(User principal) {
+        if (principal == null) {
+            throw new UnauthorizedException("로그인이 필요합니다.");
+        }
+
+        // 1. 모든 세션 종료 + Refresh Token 폐기 (다른 기기에서 재발급 불가)
+        sessionRegistry.revokeAll(principal.getId());
+
+        // 2. 지금까지 발급된 Access Token 전체 무효화
+        revocationEpochs.revokeUser(principal.getId());
+
+        log.info("모든 기기 로그아웃 완료: {}", principal.getUsername());
+    }
+
+    private void withdrawUser(User principal) {
         if (principal == null) {
             throw new UnauthorizedException("로그인이 필요합니다.");
         }
 
         // ✅ [핵심 수정] 컨트롤러에서 받은 User는 JWT에서 만든 '껍데기'입니다.
-        // provider, access_token 등의 정보를 얻기 위해 DB에서 '진짜 유저'를 다시 조회합니다.
-        User user = userRepository.findById(principal.getId())
-                .orElseThrow(() -> new TokenNotFoundException("사용자 정보를 찾을 수 없습니다."));
+        // provider 등의 정보를 얻기 위해 DB에서 '진짜 유저'를 다시 조회합니다.
+        // Provider 토큰은 users 행에 없으므로 연동 해제에 필요한 여기서만 따로 조회합니다.
+        User user = findUser(principal);
+        UserProviderCredential credential = userProviderCredentialRepository.findById(user.getId()).orElse(null);
 
         log.info("회원 탈퇴 프로세스 시작: username={}, provider={}", user.getUsername(), user.getProvider());
 
-        // 1. 소셜 플랫폼 연동 해제 (이제 user.getProvider()가 null이 아닙니다!)
-        socialUnlinkService.unlink(
-                user.getProvider(),
-                user.getProviderId(),
-                user.getProviderAccessToken(),
-                user.getProviderRefreshToken()
-        );
+        // 1. 소셜 플랫폼 연동 해제 작업 저장 (Outbox, 외부 호출은 SocialUnlinkDispatcher 가 트랜잭션 밖에서 처리)
+        // Soft Delete 와 같은 트랜잭션이므로 탈퇴가 롤백되면 작업도 남지 않음
+        socialUnlinkOutbox.enqueue(user, credential);
 
-        // 2. DB 삭제 (Soft Delete)
+        // 2. DB 삭제 (Soft Delete + Provider 토큰 삭제)
         userRepository.delete(user);
+        userProviderCredentialRepository.deleteByUserId(user.getId());
+
+        // 3. 모든 세션 종료 + Refresh Token 폐기 + 모든 기기의 Access Token 무효화 (토큰별 블랙리스트 대신 기준 시각 하나)
+        // Redis 는 롤백되지 않으므로 커밋 후 실행 (탈퇴가 롤백되면 세션/토큰 유지)
+        Long userId = user.getId();
+        afterCommit(() -> {
+            sessionRegistry.revokeAll(userId);
+            revocationEpochs.revokeUser(userId);
+        });
+
+        // 4. 프로필 캐시 무효화 (커밋 후, 모든 노드)
+        userProfileCache.evict(user.getId());
+
+        log.info("회원 탈퇴 처리 완료 (DB Soft Delete + Social Unlink Outbox + Revocation Epoch)");
+    }
 
-        // 3. 블랙리스트 등록
-        if (accessToken != null) {
-            registerBlacklist(accessToken, "withdraw");
+    // 트랜잭션 안이면 커밋 후 실행, 밖이면 바로 실행
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
+    }
 
-        log.info("회원 탈퇴 처리 완료 (DB Soft Delete + Social Unlink + Blacklist)");
+    // JWT 에서 만든 껍데기 User 대신 DB 의 '진짜 유저' 조회
+    private User findUser(User principal) {
+        return userRepository.findById(principal.getId())
+                .orElseThrow(() -> new TokenNotFoundException("사용자 정보를 찾을 수 없습니다."));
     }
 
-    // 블랙리스트 등록 공통 로직
-    private void registerBlacklist(String accessToken, String value) {
-        long remainingMillis = jwtTokenProvider.getRemainingTime(accessToken);
+    private VerifiedToken verifyAccessToken(String accessToken) {
+        try {
+            return jwtTokenProvider.verify(accessToken);
+        } catch (JwtException e) {
+            throw new InvalidTokenException("유효하지 않은 토큰입니다.");
+        }
+    }
+
+    // 블랙리스트 등록 공통 로직 (토큰 원문 대신 jti 로 등록)
+    private void registerBlacklist(VerifiedToken verified, String value) {
+        long remainingMillis = verified.remainingMillis();
         if (remainingMillis > 0) {
-            redisTemplate.opsForValue().set(
-                    "blacklist:" + accessToken,
-                    value,
-                    remainingMillis,
-                    TimeUnit.MILLISECONDS
-            );
+            tokenBlacklist.register(verified.tokenId(), verified.expiresAt().toEpochMilli(), value);
             log.info("Access Token 블랙리스트 등록: {} (만료까지 {}ms)", value, remainingMillis);
         }
     }
 
-    // 블랙리스트 확인 로직
+    // 블랙리스트 확인 로직 (위조/손상된 토큰은 식별자가 없으므로 블랙리스트 대상이 아님)
     private boolean isBlacklisted(String accessToken) {
-        return Boolean.TRUE.equals(redisTemplate.hasKey("blacklist:" + accessToken));
+        try {
+            return tokenBlacklist.isBlacklisted(jwtTokenProvider.tokenIdOf(accessToken));
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
     }
 }
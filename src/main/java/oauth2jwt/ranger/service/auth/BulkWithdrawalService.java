@@ -0,0 +1,205 @@
+package oauth2jwt.ranger.service.auth;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.auth.blacklist.RevocationEpochs;
+import oauth2jwt.ranger.auth.session.SessionRegistry;
+import oauth2jwt.ranger.domain.status.UnlinkJobStatus;
+import oauth2jwt.ranger.domain.status.WithdrawalJobStatus;
+import oauth2jwt.ranger.domain.withdrawal.BulkWithdrawalJob;
+import oauth2jwt.ranger.dto.admin.response.BulkWithdrawalResponse;
+import oauth2jwt.ranger.exception.auth.TokenNotFoundException;
+import oauth2jwt.ranger.repository.unlink.SocialUnlinkJobRepository;
+import oauth2jwt.ranger.repository.withdrawal.BulkWithdrawalJdbcRepository;
+import oauth2jwt.ranger.repository.withdrawal.BulkWithdrawalJobRepository;
+import oauth2jwt.ranger.service.user.UserProfileCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 대량 회원 탈퇴 (관리자 전용)
+ *
+ * AuthService.withdraw 를 사용자마다 호출하는 대신 청크(chunk-size) 단위로 한 트랜잭션에서
+ * - 대상 잠금 (bulk_withdrawal_item, SKIP LOCKED) -> 아직 탈퇴하지 않은 사용자 잠금
+ * - 소셜 연동 해제 Outbox 작업 생성 (INSERT ... SELECT) + Soft Delete (UPDATE ... IN) + Provider 토큰 삭제 + 처리한 대상 삭제 + 진행 상황 증가
+ * - 세션/Refresh Token 폐기 + 토큰 무효화 기준 시각 등록 (Redis, 커밋 전에 처리하고 재실행해도 결과가 같음)
+ * 를 처리함. 외부 Provider 호출은 SocialUnlinkDispatcher 가 가상 스레드 + Provider 별 Rate Limiter 로 처리
+ *
+ * 작업마다 가상 스레드 워커(workers)를 띄우고, 청크는 SKIP LOCKED 로 나눠 가지므로 여러 노드가 같은 작업을 함께 처리해도 됨
+ * 노드가 죽으면 커밋하지 않은 청크는 롤백되어 남은 대상으로 돌아가고, 기동 시/주기적으로 RUNNING 작업을 이어서 처리함
+ */
+@Slf4j
+@Service
+public class BulkWithdrawalService {
+
+    private final BulkWithdrawalJobRepository bulkWithdrawalJobRepository;
+    private final BulkWithdrawalJdbcRepository bulkWithdrawalJdbcRepository;
+    private final SocialUnlinkJobRepository socialUnlinkJobRepository;
+    private final SessionRegistry sessionRegistry;
+    private final RevocationEpochs revocationEpochs;
+    private final UserProfileCache userProfileCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int workers;
+    private final ExecutorService executor;
+
+    // 이 노드에서 워커가 돌고 있는 작업 (재개 주기마다 중복으로 띄우지 않도록)
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    public BulkWithdrawalService(
+            BulkWithdrawalJobRepository bulkWithdrawalJobRepository,
+            BulkWithdrawalJdbcRepository bulkWithdrawalJdbcRepository,
+            SocialUnlinkJobRepository socialUnlinkJobRepository,
+            SessionRegistry sessionRegistry,
+            RevocationEpochs revocationEpochs,
+            UserProfileCache userProfileCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.withdrawal.bulk.chunk-size:500}") int chunkSize,
+            @Value("${app.withdrawal.bulk.workers:4}") int workers) {
+
+        this.bulkWithdrawalJobRepository = bulkWithdrawalJobRepository;
+        this.bulkWithdrawalJdbcRepository = bulkWithdrawalJdbcRepository;
+        this.socialUnlinkJobRepository = socialUnlinkJobRepository;
+        this.sessionRegistry = sessionRegistry;
+        this.revocationEpochs = revocationEpochs;
+        this.userProfileCache = userProfileCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bulk-withdrawal-", 0).factory());
+    }
+
+    // 작업 등록 후 바로 반환 (처리는 백그라운드 워커, 진행 상황은 getJob 으로 조회)
+    public BulkWithdrawalResponse submit(Collection<Long> userIds, String reason) {
+        List<Long> targets = userIds.stream().distinct().sorted().toList();
+
+        BulkWithdrawalJob job = transactionTemplate.execute(status -> {
+            BulkWithdrawalJob saved = bulkWithdrawalJobRepository.save(
+                    BulkWithdrawalJob.of(reason, targets.size(), LocalDateTime.now()));
+            bulkWithdrawalJdbcRepository.insertItems(saved.getId(), targets);
+            return saved;
+        });
+
+        log.info("대량 회원 탈퇴 작업 등록 (jobId: {}, 대상: {}명, 사유: {})", job.getId(), targets.size(), reason);
+        start(job.getId());
+        return BulkWithdrawalResponse.of(job, 0, 0);
+    }
+
+    public BulkWithdrawalResponse getJob(Long jobId) {
+        BulkWithdrawalJob job = bulkWithdrawalJobRepository.findById(jobId)
+                .orElseThrow(() -> new TokenNotFoundException("대량 탈퇴 작업을 찾을 수 없습니다."));
+        return BulkWithdrawalResponse.of(job,
+                socialUnlinkJobRepository.countByBulkWithdrawalIdAndStatus(jobId, UnlinkJobStatus.PENDING),
+                socialUnlinkJobRepository.countByBulkWithdrawalIdAndStatus(jobId, UnlinkJobStatus.DEAD));
+    }
+
+    // 기동 시 + 주기적으로 끝나지 않은 작업 재개 (다른 노드가 죽으면서 남긴 작업 포함)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.withdrawal.bulk.resume-interval-ms:60000}",
+            initialDelayString = "${app.withdrawal.bulk.resume-interval-ms:60000}")
+    public void resume() {
+        try {
+            for (BulkWithdrawalJob job : bulkWithdrawalJobRepository.findByStatus(WithdrawalJobStatus.RUNNING)) {
+                start(job.getId());
+            }
+        } catch (Exception e) {
+            log.error("대량 회원 탈퇴 작업 재개 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private void start(Long jobId) {
+        if (!running.add(jobId)) {
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(() -> {
+                work(jobId);
+                return null;
+            });
+        }
+        executor.execute(() -> {
+            try {
+                executor.invokeAll(tasks);
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                        bulkWithdrawalJdbcRepository.completeIfDone(jobId, LocalDateTime.now())))) {
+                    log.info("대량 회원 탈퇴 작업 완료 (jobId: {})", jobId);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.remove(jobId);
+            }
+        });
+    }
+
+    // 남은 대상이 없거나(다른 워커가 잠근 청크 제외) 실패할 때까지 청크 처리
+    private void work(Long jobId) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Integer processed = transactionTemplate.execute(status -> processChunk(jobId));
+                if (processed == null || processed == 0) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            // 청크는 롤백되어 남은 대상으로 돌아가고 다음 재개 주기에 다시 처리됨
+            log.error("대량 회원 탈퇴 청크 처리 실패 (jobId: {}): {}", jobId, e.getMessage());
+        }
+    }
+
+    private int processChunk(Long jobId) {
+        List<Long> userIds = bulkWithdrawalJdbcRepository.lockNextItems(jobId, chunkSize);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> active = bulkWithdrawalJdbcRepository.lockActiveUsers(userIds);
+        if (!active.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+
+            // 1. 소셜 연동 해제 작업 저장 (Provider 토큰이 삭제되기 전에)
+            bulkWithdrawalJdbcRepository.enqueueUnlinks(jobId, active, now);
+
+            // 2. DB 삭제 (Soft Delete + Provider 토큰 삭제)
+            bulkWithdrawalJdbcRepository.softDeleteUsers(active, now);
+            bulkWithdrawalJdbcRepository.deleteCredentials(active);
+
+            // 3. 모든 세션 종료 + Refresh Token 폐기 + 모든 기기의 Access Token 무효화
+            for (Long userId : active) {
+                sessionRegistry.revokeAll(userId);
+            }
+            revocationEpochs.revokeUsers(active);
+
+            // 4. 프로필 캐시 무효화 (청크 커밋 후, 모든 노드)
+            userProfileCache.evictAll(active);
+        }
+
+        bulkWithdrawalJdbcRepository.deleteItems(jobId, userIds);
+        bulkWithdrawalJdbcRepository.addProgress(jobId, userIds.size(), active.size());
+        log.debug("대량 회원 탈퇴 청크 처리 (jobId: {}, 대상: {}명, 탈퇴: {}명)", jobId, userIds.size(), active.size());
+        return userIds.size();
+    }
+}
@@ -0,0 +1,89 @@
+package oauth2jwt.ranger.service.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.repository.user.UserArchiveJdbcRepository;
+import oauth2jwt.ranger.repository.user.UserArchiveJdbcRepository.Cursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 탈퇴 회원 보관 작업 (users -> users_archive)
+ *
+ * Soft Delete 된 행은 users 에 계속 남아 테이블/인덱스를 키우므로, 탈퇴 후 retention-days 가 지난 행을 주기적으로 옮김
+ * - 배치(batch-size)마다 짧은 트랜잭션 하나: 대상 잠금(SKIP LOCKED) -> 보관 테이블에 복사 -> users 에서 삭제
+ * - 대상은 (deleted_at, id) 키셋으로 이어서 조회 (잠겨 있어 건너뛴 행을 다시 훑지 않음, 다음 주기에 처리)
+ * - 여러 노드가 동시에 돌아도 SKIP LOCKED 로 서로 다른 행을 가져감
+ * 보관된 회원이 다시 로그인하면 CustomOAuth2UserService 가 users 로 되돌린 뒤 복구 (같은 ID 유지)
+ */
+@Slf4j
+@Component
+public class DeletedUserArchiver {
+
+    private final UserArchiveJdbcRepository userArchiveJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long retentionDays;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public DeletedUserArchiver(
+            UserArchiveJdbcRepository userArchiveJdbcRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.user.archive.retention-days:30}") long retentionDays,
+            @Value("${app.user.archive.batch-size:500}") int batchSize,
+            @Value("${app.user.archive.max-batches:200}") int maxBatches) {
+
+        this.userArchiveJdbcRepository = userArchiveJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${app.user.archive.interval-ms:3600000}",
+            initialDelayString = "${app.user.archive.interval-ms:3600000}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        Cursor cursor = Cursor.START;
+        int archived = 0;
+        try {
+            // 한 주기에 max-batches 까지만 처리 (남은 행은 다음 주기에 이어서)
+            for (int batch = 0; batch < maxBatches; batch++) {
+                Cursor after = cursor;
+                List<Cursor> moved = transactionTemplate.execute(status -> archiveBatch(cutoff, after));
+                if (moved == null || moved.isEmpty()) {
+                    break;
+                }
+                archived += moved.size();
+                cursor = moved.get(moved.size() - 1);
+                if (moved.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            // 실패한 배치는 롤백되어 users 에 남고 다음 주기에 다시 처리됨
+            log.error("탈퇴 회원 보관 실패: {}", e.getMessage());
+        }
+        if (archived > 0) {
+            log.info("탈퇴 회원 보관 완료 ({}명, {} 이전 탈퇴)", archived, cutoff);
+        }
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private List<Cursor> archiveBatch(LocalDateTime cutoff, Cursor after) {
+        List<Cursor> targets = userArchiveJdbcRepository.lockNextBatch(cutoff, after, batchSize);
+        if (targets.isEmpty()) {
+            return targets;
+        }
+        List<Long> userIds = targets.stream().map(Cursor::id).toList();
+        userArchiveJdbcRepository.archive(userIds, LocalDateTime.now());
+        userArchiveJdbcRepository.deleteUsers(userIds);
+        return targets;
+    }
+}
@@ -0,0 +1,16 @@
+package oauth2jwt.ranger.service.auth;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 소셜 플랫폼 토큰 (연동 해제용)
+ * accessTokenExpiresAt 은 만료 시각을 모르는 경우(expires_in 미제공, 만료 시각 저장 전에 받은 토큰) null
+ */
+public record ProviderToken(String accessToken, LocalDateTime accessTokenExpiresAt, String refreshToken) {
+
+    // 만료되었거나 margin 안에 만료되는 경우 (만료 시각을 모르면 갱신)
+    public boolean expiresWithin(Duration margin, LocalDateTime now) {
+        return accessTokenExpiresAt == null || !now.plus(margin).isBefore(accessTokenExpiresAt);
+    }
+}
@@ -0,0 +1,137 @@
+package oauth2jwt.ranger.service.auth;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.config.webClient.ProviderHttpClients;
+import oauth2jwt.ranger.domain.unlink.SocialUnlinkJob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 소셜 연동 해제 Outbox 디스패처
+ *
+ * 주기적으로 처리할 차례가 된 작업을 가져와 작업마다 가상 스레드에서 외부 Provider 를 호출함
+ * - Provider 별 동시 처리 수는 해당 Provider Bulkhead 한도로 제한 (한도를 넘는 작업은 거절되지 않고 대기)
+ * - Provider 별 초당 호출 수는 ProviderClient 의 Rate Limiter 가 제한 (대량 탈퇴 시 Provider API 호출 한도 보호)
+ * - 한 번에 가져오는 작업 수는 batch-size, 배치가 가득 차면 바로 다음 배치를 가져옴
+ * - 허가를 얻은 뒤 호출 직전에 임대를 연장하므로 허가 대기 시간(batch-size / 허가 수 x 호출 시간)은 임대 시간과 무관
+ * - 5xx/429/타임아웃 등은 재시도, 그 외 4xx 는 다시 시도해도 같은 결과이므로 바로 DEAD
+ */
+@Slf4j
+@Component
+public class SocialUnlinkDispatcher {
+
+    private final SocialUnlinkOutbox socialUnlinkOutbox;
+    private final SocialUnlinkService socialUnlinkService;
+    private final int batchSize;
+    private final ExecutorService executor;
+
+    // key: provider, value: Bulkhead 한도만큼의 허가 (Bulkhead 는 대기 없이 거절하므로 디스패처에서 먼저 줄을 세움)
+    private final Map<String, Semaphore> permits = new HashMap<>();
+
+    public SocialUnlinkDispatcher(
+            SocialUnlinkOutbox socialUnlinkOutbox,
+            SocialUnlinkService socialUnlinkService,
+            ProviderHttpClients providerHttpClients,
+            @Value("${app.oauth2.unlink.outbox.batch-size:200}") int batchSize) {
+
+        this.socialUnlinkOutbox = socialUnlinkOutbox;
+        this.socialUnlinkService = socialUnlinkService;
+        this.batchSize = batchSize;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("social-unlink-", 0).factory());
+        for (String provider : ProviderHttpClients.PROVIDERS) {
+            int limit = providerHttpClients.get(provider).bulkhead().getBulkheadConfig().getMaxConcurrentCalls();
+            permits.put(provider, new Semaphore(limit));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.oauth2.unlink.outbox.poll-interval-ms:5000}")
+    public void dispatch() {
+        List<SocialUnlinkJob> jobs;
+        do {
+            jobs = socialUnlinkOutbox.claim(batchSize);
+            if (jobs.isEmpty()) {
+                return;
+            }
+
+            List<Callable<Void>> tasks = new ArrayList<>(jobs.size());
+            for (SocialUnlinkJob job : jobs) {
+                tasks.add(() -> {
+                    process(job);
+                    return null;
+                });
+            }
+            try {
+                executor.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        } while (jobs.size() == batchSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private void process(SocialUnlinkJob job) {
+        Semaphore permit = permits.get(job.getProvider().toLowerCase(Locale.ROOT));
+        if (permit == null) {
+            socialUnlinkOutbox.fail(job.getId(), "지원하지 않는 Provider입니다: " + job.getProvider(), false);
+            return;
+        }
+        try {
+            permit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return; // 임대 시각이 지나면 다시 처리됨
+        }
+        try {
+            if (!socialUnlinkOutbox.renewLease(job)) {
+                log.debug("임대가 끝나 다른 노드가 가져간 작업 (jobId: {})", job.getId());
+                return;
+            }
+            socialUnlinkService.unlink(
+                    job.getProvider(),
+                    job.getProviderId(),
+                    new ProviderToken(
+                            job.getProviderAccessToken(),
+                            job.getProviderAccessTokenExpiresAt(),
+                            job.getProviderRefreshToken()),
+                    refreshed -> socialUnlinkOutbox.updateProviderTokens(job.getId(), refreshed)
+            );
+            socialUnlinkOutbox.complete(job.getId());
+        } catch (RuntimeException e) {
+            socialUnlinkOutbox.fail(job.getId(), e.getMessage(), isRetryable(e));
+        } finally {
+            permit.release();
+        }
+    }
+
+    private boolean isRetryable(RuntimeException e) {
+        if (e instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status >= 500
+                    || status == HttpStatus.TOO_MANY_REQUESTS.value()
+                    || status == HttpStatus.REQUEST_TIMEOUT.value();
+        }
+        // 연결 실패/타임아웃 등 응답을 받지 못한 경우
+        return true;
+    }
+}
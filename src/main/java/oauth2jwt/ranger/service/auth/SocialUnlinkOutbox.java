@@ -0,0 +1,112 @@
+package oauth2jwt.ranger.service.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.domain.unlink.SocialUnlinkJob;
+import oauth2jwt.ranger.domain.user.User;
+import oauth2jwt.ranger.domain.user.UserProviderCredential;
+import oauth2jwt.ranger.repository.unlink.SocialUnlinkJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 소셜 연동 해제 Outbox (social_unlink_outbox 테이블)
+ *
+ * - enqueue: 회원 탈퇴 트랜잭션 안에서 작업 저장 (탈퇴가 롤백되면 작업도 함께 롤백)
+ * - claim: 처리할 차례가 된 작업을 SKIP LOCKED 로 가져가고 임대 시각까지 다른 노드가 가져가지 못하게 함
+ * - renewLease: Provider 호출 직전에 작업마다 임대 연장 (배치 전체가 아니라 작업 하나의 처리 시간만 임대 시간 안에 끝나면 됨)
+ * - complete / fail: 외부 호출 결과 반영 (실패 시 지수 백오프 + 지터, 한도 초과 시 DEAD)
+ * 외부 호출은 트랜잭션 밖(SocialUnlinkDispatcher)에서 하므로 DB 커넥션을 붙잡고 있지 않음
+ */
+@Slf4j
+@Service
+public class SocialUnlinkOutbox {
+
+    private final SocialUnlinkJobRepository socialUnlinkJobRepository;
+    private final long leaseMillis;
+    private final long retryBaseMillis;
+    private final long retryMaxMillis;
+    private final int maxAttempts;
+
+    public SocialUnlinkOutbox(
+            SocialUnlinkJobRepository socialUnlinkJobRepository,
+            @Value("${app.oauth2.unlink.outbox.lease-ms:120000}") long leaseMillis,
+            @Value("${app.oauth2.unlink.outbox.retry-base-ms:30000}") long retryBaseMillis,
+            @Value("${app.oauth2.unlink.outbox.retry-max-ms:3600000}") long retryMaxMillis,
+            @Value("${app.oauth2.unlink.outbox.max-attempts:8}") int maxAttempts) {
+
+        this.socialUnlinkJobRepository = socialUnlinkJobRepository;
+        this.leaseMillis = leaseMillis;
+        this.retryBaseMillis = retryBaseMillis;
+        this.retryMaxMillis = retryMaxMillis;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // 회원 탈퇴 트랜잭션에 참여해서 저장 (Soft Delete 와 같은 커밋)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(User user, UserProviderCredential credential) {
+        socialUnlinkJobRepository.save(SocialUnlinkJob.of(user, credential, LocalDateTime.now()));
+    }
+
+    @Transactional
+    public List<SocialUnlinkJob> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SocialUnlinkJob> jobs = socialUnlinkJobRepository.lockDueJobs(now, limit);
+        LocalDateTime leaseExpiresAt = leaseExpiresAt(now);
+        for (SocialUnlinkJob job : jobs) {
+            job.lease(leaseExpiresAt);
+        }
+        return jobs;
+    }
+
+    // 허가를 기다리는 동안 임대가 끝나 다른 노드가 다시 가져갔으면 false (이 노드는 처리하지 않음)
+    @Transactional
+    public boolean renewLease(SocialUnlinkJob job) {
+        return socialUnlinkJobRepository.renewLease(
+                job.getId(), job.getAttempts(), leaseExpiresAt(LocalDateTime.now())) == 1;
+    }
+
+    // 연동 해제 중 갱신한 Provider 토큰을 작업에 저장 (이후 재시도는 갱신된 토큰으로 바로 연동 해제)
+    @Transactional
+    public void updateProviderTokens(Long jobId, ProviderToken token) {
+        socialUnlinkJobRepository.findById(jobId).ifPresent(job ->
+                job.updateProviderTokens(token.accessToken(), token.accessTokenExpiresAt(), token.refreshToken()));
+    }
+
+    @Transactional
+    public void complete(Long jobId) {
+        socialUnlinkJobRepository.deleteById(jobId);
+    }
+
+    // retryable 이 false 면(토큰 무효 등 다시 시도해도 같은 결과) 바로 DEAD
+    @Transactional
+    public void fail(Long jobId, String error, boolean retryable) {
+        socialUnlinkJobRepository.findById(jobId).ifPresent(job -> {
+            if (!retryable || job.getAttempts() >= maxAttempts) {
+                job.deadLetter(error);
+                log.error("❌ 소셜 연동 해제 포기 (jobId: {}, provider: {}, 시도: {}회): {}",
+                        jobId, job.getProvider(), job.getAttempts(), error);
+                return;
+            }
+            long delayMillis = backoffMillis(job.getAttempts());
+            job.retryAt(LocalDateTime.now().plusNanos(delayMillis * 1_000_000), error);
+            log.warn("⚠️ 소셜 연동 해제 실패, {}ms 후 재시도 (jobId: {}, provider: {}, 시도: {}회): {}",
+                    delayMillis, jobId, job.getProvider(), job.getAttempts(), error);
+        });
+    }
+
+    private LocalDateTime leaseExpiresAt(LocalDateTime now) {
+        return now.plusNanos(leaseMillis * 1_000_000);
+    }
+
+    // base * 2^(시도-1) (최대 retryMaxMillis), 절반은 고정 + 절반은 무작위 (동시에 실패한 작업이 같은 시각에 몰리지 않도록)
+    private long backoffMillis(int attempts) {
+        long delay = Math.min(retryMaxMillis, retryBaseMillis << Math.min(Math.max(attempts - 1, 0), 20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
@@ -2,6 +2,9 @@ package oauth2jwt.ranger.service.auth;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
+import oauth2jwt.ranger.config.webClient.ProviderClient;
+import oauth2jwt.ranger.config.webClient.ProviderHttpClients;
 import oauth2jwt.ranger.dto.auth.response.OAuth2TokenResponse;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
@@ -10,17 +13,29 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
-
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * 소셜 플랫폼 연동 해제 (외부 Provider 호출)
+ *
+ * 회원 탈퇴 요청에서 직접 호출하지 않고 SocialUnlinkDispatcher 가 Outbox 작업을 처리할 때 호출함
+ * 실패하면 예외를 그대로 던지고, 재시도/포기 판단은 디스패처가 함
+ * Provider 마다 격리된 클라이언트(ProviderHttpClients)를 사용하므로 장애 Provider 는 Circuit Breaker 로 바로 실패함
+ * 저장된 Access Token 이 아직 유효하면(만료까지 app.oauth2.unlink.refresh-margin-seconds 이상 남음) 토큰 갱신 호출을 생략함
+ * Provider 엔드포인트는 app.oauth2.unlink.* 로 지정 (테스트에서는 로컬 스텁 서버로 교체)
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SocialUnlinkService {
 
-    private final WebClient webClient;
+    private final ProviderHttpClients providerHttpClients;
+    private final AuthMetrics authMetrics;
 
     // =================================================================
     // 🔐 Client ID & Secret 주입 (application.yml)
@@ -42,55 +57,82 @@ public class SocialUnlinkService {
     private String kakaoClientSecret;
 
     // =================================================================
-    // 🚀 메인 메서드: 연동 해제 (Unlink)
+    // 🌐 Provider 엔드포인트 (application.yml)
+    // =================================================================
+
+    @Value("${app.oauth2.unlink.google-token-uri:https://oauth2.googleapis.com/token}")
+    private String googleTokenUri;
+    @Value("${app.oauth2.unlink.google-revoke-uri:https://oauth2.googleapis.com/revoke}")
+    private String googleRevokeUri;
+
+    // 네이버는 토큰 갱신/연동 해제 모두 토큰 엔드포인트 사용 (grant_type 으로 구분)
+    @Value("${app.oauth2.unlink.naver-token-uri:https://nid.naver.com/oauth2.0/token}")
+    private String naverTokenUri;
+
+    @Value("${app.oauth2.unlink.kakao-token-uri:https://kauth.kakao.com/oauth/token}")
+    private String kakaoTokenUri;
+    @Value("${app.oauth2.unlink.kakao-unlink-uri:https://kapi.kakao.com/v1/user/unlink}")
+    private String kakaoUnlinkUri;
+
+    @Value("${app.oauth2.unlink.facebook-permissions-uri:https://graph.facebook.com/{userId}/permissions}")
+    private String facebookPermissionsUri;
+
+    // 저장된 Access Token 이 이 시간 안에 만료되면 연동 해제 전에 갱신
+    @Value("${app.oauth2.unlink.refresh-margin-seconds:60}")
+    private long refreshMarginSeconds;
+
+    // =================================================================
+    // 🚀 메인 메서드: 연동 해제 (Unlink), 실패 시 예외 발생
+    // 토큰을 갱신했으면 onRefreshed 로 알려줌 (저장해 두면 재시도 시 다시 갱신하지 않음)
     // =================================================================
-    public void unlink(String provider, String providerId, String accessToken, String refreshToken) {
-        // 1. 토큰 갱신 시도 (Refresh Token이 있을 경우)
-        String validAccessToken = accessToken;
-        if (StringUtils.hasText(refreshToken)) {
-            String newAccessToken = refreshAccessToken(provider, refreshToken);
-            if (newAccessToken != null) {
-                validAccessToken = newAccessToken;
+    public void unlink(String provider, String providerId, ProviderToken token, Consumer<ProviderToken> onRefreshed) {
+        // 1. 토큰 갱신 시도 (만료되었거나 곧 만료되고, Refresh Token이 있을 경우만)
+        String validAccessToken = token.accessToken();
+        boolean expiring = token.expiresWithin(Duration.ofSeconds(refreshMarginSeconds), LocalDateTime.now());
+        if (StringUtils.hasText(token.refreshToken()) && expiring) {
+            ProviderToken refreshed = refreshAccessToken(provider, token.refreshToken());
+            if (refreshed != null) {
+                validAccessToken = refreshed.accessToken();
+                onRefreshed.accept(refreshed);
                 log.info("✅ {} Access Token 갱신 완료, 갱신된 토큰으로 연동 해제를 진행합니다.", provider);
             }
+        } else if (!expiring) {
+            log.debug("{} Access Token 이 아직 유효하여 갱신을 생략합니다. (만료: {})", provider, token.accessTokenExpiresAt());
         }
 
-        // 2. 연동 해제 요청
-        try {
-            switch (provider.toLowerCase()) {
-                case "google" -> unlinkGoogle(validAccessToken);
-                case "kakao" -> unlinkKakao(validAccessToken);
-                case "naver" -> unlinkNaver(validAccessToken);
-                case "facebook" -> unlinkFacebook(providerId, validAccessToken);
-                default -> log.warn("지원하지 않는 Provider입니다: {}", provider);
-            }
-        } catch (Exception e) {
-            // 소셜 연동 해제가 실패하더라도 우리 서비스 내부 회원 탈퇴는 계속 진행되어야 하므로 에러를 삼킴
-            log.error("❌ 소셜 연동 해제 실패 (provider: {}): {}", provider, e.getMessage());
+        // 2. 연동 해제 요청 (회원 탈퇴는 이미 커밋되었으므로 실패는 디스패처가 재시도)
+        String accessTokenToRevoke = validAccessToken;
+        switch (provider.toLowerCase()) {
+            case "google" -> authMetrics.recordProviderCall("google", "unlink", () -> unlinkGoogle(accessTokenToRevoke));
+            case "kakao" -> authMetrics.recordProviderCall("kakao", "unlink", () -> unlinkKakao(accessTokenToRevoke));
+            case "naver" -> authMetrics.recordProviderCall("naver", "unlink", () -> unlinkNaver(accessTokenToRevoke));
+            case "facebook" -> authMetrics.recordProviderCall("facebook", "unlink",
+                    () -> unlinkFacebook(providerId, accessTokenToRevoke));
+            default -> log.warn("지원하지 않는 Provider입니다: {}", provider);
         }
     }
 
     // =================================================================
     // 🔄 공통: Access Token 갱신 로직
     // =================================================================
-    private String refreshAccessToken(String provider, String refreshToken) {
+    private ProviderToken refreshAccessToken(String provider, String refreshToken) {
         String url = "";
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
 
         if ("google".equals(provider)) {
-            url = "https://oauth2.googleapis.com/token";
+            url = googleTokenUri;
             params.add("grant_type", "refresh_token");
             params.add("client_id", googleClientId);
             params.add("client_secret", googleClientSecret);
             params.add("refresh_token", refreshToken);
         } else if ("naver".equals(provider)) {
-            url = "https://nid.naver.com/oauth2.0/token";
+            url = naverTokenUri;
             params.add("grant_type", "refresh_token");
             params.add("client_id", naverClientId);
             params.add("client_secret", naverClientSecret);
             params.add("refresh_token", refreshToken);
         } else if ("kakao".equals(provider)) {
-            url = "https://kauth.kakao.com/oauth/token";
+            url = kakaoTokenUri;
             params.add("grant_type", "refresh_token");
             params.add("client_id", kakaoClientId);
             params.add("client_secret", kakaoClientSecret);
@@ -101,16 +143,23 @@ public class SocialUnlinkService {
 
         try {
             // ✅ 수정됨: uri(url)에 String을 바로 넣습니다. (uriBuilder 사용 X -> 에러 해결)
-            OAuth2TokenResponse response = webClient.post()
-                    .uri(url)
-                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                    .body(BodyInserters.fromFormData(params))
-                    .retrieve()
-                    .bodyToMono(OAuth2TokenResponse.class)
-                    .block();
+            String tokenUri = url;
+            LocalDateTime issuedAt = LocalDateTime.now();
+            ProviderClient client = providerHttpClients.get(provider);
+            OAuth2TokenResponse response = authMetrics.recordProviderCall(provider, "refresh", () -> client.execute(() ->
+                    client.webClient().post()
+                            .uri(tokenUri)
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .body(BodyInserters.fromFormData(params))
+                            .retrieve()
+                            .bodyToMono(OAuth2TokenResponse.class)
+                            .block()));
 
             if (response != null && StringUtils.hasText(response.getAccessToken())) {
-                return response.getAccessToken();
+                // Refresh Token 을 새로 주지 않는 Provider 는 기존 Refresh Token 유지
+                String nextRefreshToken = StringUtils.hasText(response.getRefreshToken())
+                        ? response.getRefreshToken() : refreshToken;
+                return new ProviderToken(response.getAccessToken(), response.expiresAt(issuedAt), nextRefreshToken);
             }
         } catch (Exception e) {
             log.warn("⚠️ {} 토큰 갱신 실패 (기존 Access Token으로 시도합니다): {}", provider, e.getMessage());
@@ -123,24 +172,25 @@ public class SocialUnlinkService {
     // =================================================================
 
     private void unlinkGoogle(String accessToken) {
-        String url = "https://oauth2.googleapis.com/revoke";
+        String url = googleRevokeUri;
 
         // ✅ UriComponentsBuilder 사용
         URI uri = UriComponentsBuilder.fromHttpUrl(url)
                 .queryParam("token", accessToken)
                 .build().toUri();
 
-        webClient.post()
+        ProviderClient client = providerHttpClients.get("google");
+        client.execute(() -> client.webClient().post()
                 .uri(uri)
                 .contentType(MediaType.APPLICATION_FORM_URLENCODED)
                 .retrieve()
                 .bodyToMono(String.class)
-                .block();
+                .block());
         log.info("✅ 구글 연동 해제 완료");
     }
 
     private void unlinkNaver(String accessToken) {
-        String url = "https://nid.naver.com/oauth2.0/token";
+        String url = naverTokenUri;
 
         // ✅ UriComponentsBuilder 사용 (핵심 해결책)
         URI uri = UriComponentsBuilder.fromHttpUrl(url)
@@ -151,29 +201,31 @@ public class SocialUnlinkService {
                 .queryParam("service_provider", "NAVER")
                 .build().toUri();
 
-        webClient.post()
+        ProviderClient client = providerHttpClients.get("naver");
+        client.execute(() -> client.webClient().post()
                 .uri(uri)
                 .retrieve()
                 .bodyToMono(String.class)
-                .block();
+                .block());
         log.info("✅ 네이버 연동 해제 완료");
     }
 
     private void unlinkKakao(String accessToken) {
-        String url = "https://kapi.kakao.com/v1/user/unlink";
+        String url = kakaoUnlinkUri;
 
         // 카카오는 헤더만 쓰므로 String URL 바로 사용 가능
-        webClient.post()
+        ProviderClient client = providerHttpClients.get("kakao");
+        client.execute(() -> client.webClient().post()
                 .uri(url)
                 .header("Authorization", "Bearer " + accessToken)
                 .retrieve()
                 .bodyToMono(String.class)
-                .block();
+                .block());
         log.info("✅ 카카오 연동 해제 완료");
     }
 
     private void unlinkFacebook(String providerId, String accessToken) {
-        String url = "https://graph.facebook.com/{userId}/permissions";
+        String url = facebookPermissionsUri;
 
         // ✅ UriComponentsBuilder 사용 (Path Variable 치환)
         URI uri = UriComponentsBuilder.fromHttpUrl(url)
@@ -181,11 +233,12 @@ public class SocialUnlinkService {
                 .buildAndExpand(providerId)
                 .toUri();
 
-        webClient.delete()
+        ProviderClient client = providerHttpClients.get("facebook");
+        client.execute(() -> client.webClient().delete()
                 .uri(uri)
                 .retrieve()
                 .bodyToMono(String.class)
-                .block();
+                .block());
         log.info("✅ 페이스북 연동 해제 완료");
     }
 }
@@ -0,0 +1,158 @@
+package oauth2jwt.ranger.service.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import oauth2jwt.ranger.dto.user.response.UserProfileResponse;
+import oauth2jwt.ranger.exception.auth.TokenNotFoundException;
+import oauth2jwt.ranger.repository.user.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 사용자 프로필 2단계 캐시 (GET /users/me)
+ *
+ * - L1: 노드별 Caffeine (max-size, local-ttl-seconds 후 만료)
+ * - L2: Redis user:profile:v2:{userId} -> 프로필 JSON (redis-ttl-seconds 후 만료)
+ * - 둘 다 없으면 DB 에서 프로필 컬럼만 조회 후 L2(SET NX), L1 순서로 채움 (같은 노드의 동시 조회는 Caffeine 이 한 번으로 합침)
+ * 사용자 정보가 바뀌면(재가입 복구, 탈퇴, 권한 변경) evict 로 L2 를 무효화 표시(tombstone)로 덮고 user:profile:events 로 사용자 ID 를 전파해 모든 노드의 L1 을 지움
+ * 트랜잭션 안에서 호출하면 커밋 후에 지움 (커밋 전에 지우면 다른 요청이 이전 값을 다시 채울 수 있음)
+ * 커밋 전에 DB 에서 읽은 이전 값이 무효화 뒤에 늦게 저장되지 않도록 L2 는 SET NX 로만 채우고,
+ * 무효화 표시가 남아 있는 동안(tombstone-ttl-seconds)은 DB 결과를 L2 에 저장하지 않음
+ * pub/sub 메시지가 유실되어도 L1 은 local-ttl-seconds 안에 만료됨
+ * Access Token 재발급도 여기서 username/role 을 읽으므로 권한을 바꾸는 코드는 반드시 evict 를 호출할 것
+ */
+@Slf4j
+@Component
+public class UserProfileCache implements MessageListener {
+
+    public static final String CHANNEL = "user:profile:events";
+    private static final String KEY_PREFIX = "user:profile:v2:";
+    private static final String TOMBSTONE = "evicted";
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration redisTtl;
+    private final long tombstoneTtlSeconds;
+    private final Cache<Long, UserProfileResponse> local;
+
+    public UserProfileCache(
+            UserRepository userRepository,
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.user.profile-cache.max-size:10000}") long maxSize,
+            @Value("${app.user.profile-cache.local-ttl-seconds:60}") long localTtlSeconds,
+            @Value("${app.user.profile-cache.redis-ttl-seconds:600}") long redisTtlSeconds,
+            @Value("${app.user.profile-cache.tombstone-ttl-seconds:10}") long tombstoneTtlSeconds) {
+
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = Duration.ofSeconds(redisTtlSeconds);
+        this.tombstoneTtlSeconds = tombstoneTtlSeconds;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "user.profile");
+    }
+
+    // 없는(탈퇴한) 사용자면 TokenNotFoundException (캐시하지 않음)
+    public UserProfileResponse get(Long userId) {
+        return local.get(userId, this::loadShared);
+    }
+
+    public void evict(Long userId) {
+        evictAll(List.of(userId));
+    }
+
+    // 여러 사용자를 한 번에 무효화 (대량 탈퇴, 키 삭제와 전파를 파이프라인 한 번으로 처리)
+    public void evictAll(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userIds);
+                }
+            });
+        } else {
+            evictNow(userIds);
+        }
+    }
+
+    // 다른 노드에서 무효화한 사용자 ID 수신
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            local.invalidate(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 프로필 캐시 무효화 메시지: {}", body);
+        }
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    // L2(Redis) -> DB 순서로 조회, Redis 장애 시에는 DB 결과만 반환
+    private UserProfileResponse loadShared(Long userId) {
+        String key = KEY_PREFIX + userId;
+        String cached = null;
+        try {
+            cached = redisTemplate.opsForValue().get(key);
+            if (cached != null && !TOMBSTONE.equals(cached)) {
+                return objectMapper.readValue(cached, UserProfileResponse.class);
+            }
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("프로필 캐시 조회 실패 (userId: {}): {}", userId, e.getMessage());
+        }
+
+        UserProfileResponse profile = userRepository.findProfileById(userId)
+                .orElseThrow(() -> new TokenNotFoundException("사용자 정보를 찾을 수 없습니다."));
+        if (TOMBSTONE.equals(cached)) {
+            return profile; // 방금 무효화됨, 표시가 만료된 뒤의 조회가 L2 를 채움
+        }
+        try {
+            // 조회 후 다른 노드가 무효화했으면 무효화 표시가 있으므로 저장되지 않음
+            redisTemplate.opsForValue().setIfAbsent(key, objectMapper.writeValueAsString(profile), redisTtl);
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("프로필 캐시 저장 실패 (userId: {}): {}", userId, e.getMessage());
+        }
+        return profile;
+    }
+
+    private void evictNow(Collection<Long> userIds) {
+        local.invalidateAll(userIds);
+        byte[] channel = CHANNEL.getBytes(StandardCharsets.UTF_8);
+        byte[] tombstone = TOMBSTONE.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+            for (Long userId : userIds) {
+                connection.stringCommands().setEx(
+                        (KEY_PREFIX + userId).getBytes(StandardCharsets.UTF_8), tombstoneTtlSeconds, tombstone);
+                connection.publish(channel, String.valueOf(userId).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package oauth2jwt.ranger.service.user;
+
+import lombok.RequiredArgsConstructor;
+import oauth2jwt.ranger.domain.user.User;
+import oauth2jwt.ranger.dto.user.response.UserProfileResponse;
+import oauth2jwt.ranger.exception.auth.UnauthorizedException;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class UserService {
+
+    private final UserProfileCache userProfileCache;
+
+    // 로그인한 사용자 프로필 (L1/L2 캐시, 둘 다 없을 때만 DB 조회 -> 트랜잭션을 열지 않음)
+    public UserProfileResponse getMyProfile(User principal) {
+        if (principal == null) {
+            throw new UnauthorizedException("로그인이 필요합니다.");
+        }
+        return userProfileCache.get(principal.getId());
+    }
+}
@@ -0,0 +1,91 @@
+package oauth2jwt.ranger.auth.authorization;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 암호화 쿠키로 저장한 인가 요청을 같은 키를 쓰는 다른 노드에서 꺼낼 수 있고, 변조/다른 state 는 거부하는지 확인
+class CookieAuthorizationRequestRepositoryTest {
+
+    private final CookieAuthorizationRequestRepository repository =
+            new CookieAuthorizationRequestRepository("", "jwt-secret-shared-by-all-nodes", 300);
+
+    @Test
+    void roundTripsAcrossNodesAndClearsOnRemove() {
+        OAuth2AuthorizationRequest saved = authorizationRequest("state-1");
+        Cookie cookie = save(saved);
+
+        CookieAuthorizationRequestRepository otherNode =
+                new CookieAuthorizationRequestRepository("", "jwt-secret-shared-by-all-nodes", 300);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        OAuth2AuthorizationRequest loaded = otherNode.removeAuthorizationRequest(callback("state-1", cookie), response);
+
+        assertThat(loaded).isNotNull();
+        assertThat(loaded.getState()).isEqualTo("state-1");
+        assertThat(loaded.getScopes()).containsExactlyInAnyOrder("profile", "email");
+        assertThat(loaded.getAttributes()).containsEntry("registration_id", "kakao");
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).contains("Max-Age=0");
+    }
+
+    @Test
+    void rejectsOtherStateTamperingAndOtherKey() {
+        Cookie cookie = save(authorizationRequest("state-1"));
+        byte[] sealed = Base64.getUrlDecoder().decode(cookie.getValue());
+
+        assertThat(repository.loadAuthorizationRequest(callback("state-2", cookie))).isNull();
+        // IV 12B 다음의 암호문(만료 시각 / 인가 요청), 마지막 16B 인증 태그, IV 를 각각 한 바이트씩 변조
+        for (int index : new int[]{12, 12 + 8 + 5, sealed.length - 16 - 1, sealed.length - 1, 0}) {
+            assertThat(repository.loadAuthorizationRequest(callback("state-1", flipByte(cookie, sealed, index))))
+                    .as("byte %d", index)
+                    .isNull();
+        }
+        assertThat(new CookieAuthorizationRequestRepository("other-secret", "jwt-secret-shared-by-all-nodes", 300)
+                .loadAuthorizationRequest(callback("state-1", cookie))).isNull();
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private Cookie save(OAuth2AuthorizationRequest authorizationRequest) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.saveAuthorizationRequest(authorizationRequest, new MockHttpServletRequest(), response);
+        Cookie cookie = response.getCookie(CookieAuthorizationRequestRepository.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.isHttpOnly()).isTrue();
+        assertThat(cookie.getValue().length()).isLessThan(4096);
+        return cookie;
+    }
+
+    private static Cookie flipByte(Cookie cookie, byte[] sealed, int index) {
+        byte[] tampered = sealed.clone();
+        tampered[index] ^= 0x01;
+        return new Cookie(cookie.getName(), Base64.getUrlEncoder().withoutPadding().encodeToString(tampered));
+    }
+
+    private static MockHttpServletRequest callback(String state, Cookie cookie) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/login/oauth2/code/kakao");
+        request.setParameter("state", state);
+        request.setParameter("code", "code-1");
+        request.setCookies(cookie);
+        return request;
+    }
+
+    private static OAuth2AuthorizationRequest authorizationRequest(String state) {
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://kauth.kakao.com/oauth/authorize")
+                .clientId("client-id")
+                .redirectUri("http://localhost:8080/login/oauth2/code/kakao")
+                .scopes(Set.of("profile", "email"))
+                .state(state)
+                .attributes(Map.of("registration_id", "kakao"))
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package oauth2jwt.ranger.auth.blacklist;
+
+import oauth2jwt.ranger.auth.jwt.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 기준 시각과 같은 초에 발급된 토큰, Refresh Token 발급 시각 비교,
+// Access Token 유효기간이 지난 뒤에도 Refresh Token 은 거절되는지 확인 (Redis 는 맵으로 대체한 목)
+class RevocationEpochsTest {
+
+    private static final long ACCESS_VALIDITY_SECONDS = 1800;
+    private static final long REFRESH_VALIDITY_SECONDS = 1209600;
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private ValueOperations<String, String> valueOperations;
+    private RevocationEpochs revocationEpochs;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        when(valueOperations.multiGet(anyCollection())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(values::get).toList());
+
+        revocationEpochs = new RevocationEpochs(redisTemplate, ACCESS_VALIDITY_SECONDS, REFRESH_VALIDITY_SECONDS);
+    }
+
+    @Test
+    void loginInSameSecondAfterRevokeAllIsAccepted() {
+        revocationEpochs.revokeAll();
+        Instant loggedInAt = Instant.now().plusMillis(1);
+
+        assertThat(revocationEpochs.isRevoked(accessToken("42", loggedInAt))).isFalse();
+        assertThat(revocationEpochs.isRevoked(accessToken("42", loggedInAt.minusSeconds(1)))).isTrue();
+    }
+
+    @Test
+    void comparesIssuedAtInMilliseconds() {
+        long secondStart = System.currentTimeMillis() / 1000 * 1000;
+        receive("42:" + (secondStart + 500) + ":" + (System.currentTimeMillis() + 60_000));
+
+        assertThat(revocationEpochs.isRevoked(accessToken("42", Instant.ofEpochMilli(secondStart + 300)))).isTrue();
+        assertThat(revocationEpochs.isRevoked(accessToken("42", Instant.ofEpochMilli(secondStart + 500)))).isTrue();
+        assertThat(revocationEpochs.isRevoked(accessToken("42", Instant.ofEpochMilli(secondStart + 700)))).isFalse();
+        // 정수 iat 인 예전 토큰은 해당 초의 시작 시각 -> 무효
+        assertThat(revocationEpochs.isRevoked(accessToken("42", Instant.ofEpochMilli(secondStart)))).isTrue();
+        assertThat(revocationEpochs.isRevoked(accessToken("7", Instant.ofEpochMilli(secondStart)))).isFalse();
+    }
+
+    @Test
+    void refreshGrantIssuedBeforeEpochIsRevoked() {
+        Instant issuedAt = Instant.now().minusSeconds(60);
+        revocationEpochs.revokeUser(42L);
+
+        assertThat(revocationEpochs.isRevoked(42L, issuedAt)).isTrue();
+        assertThat(revocationEpochs.isRevoked(42L, null)).isTrue();
+        assertThat(revocationEpochs.isRevoked(7L, issuedAt)).isFalse();
+        assertThat(revocationEpochs.isRevoked(42L, Instant.now().plusMillis(1))).isFalse();
+    }
+
+    @Test
+    void epochKeyOutlivesAccessTokenValidity() {
+        revocationEpochs.revokeAll();
+
+        verify(valueOperations).set(eq("revocation:epoch:v2:global"), anyString(),
+                eq(REFRESH_VALIDITY_SECONDS * 1000), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void expiredMemoryEpochStopsCheckingAccessTokensOnly() {
+        long epoch = System.currentTimeMillis() - ACCESS_VALIDITY_SECONDS * 1000 - 1_000;
+        Instant issuedBefore = Instant.ofEpochMilli(epoch - 1_000);
+        // 전체 무효화 후 Access Token 유효기간이 지나 메모리 엔트리는 만료됨, Redis 키는 Refresh Token 유효기간 동안 남아 있음
+        values.put("revocation:epoch:v2:global", String.valueOf(epoch));
+        receive("global:" + epoch + ":" + (epoch + ACCESS_VALIDITY_SECONDS * 1000));
+
+        // 기준 시각 이전에 발급된 Access Token 은 이미 만료되었으므로 메모리 비교는 하지 않음
+        assertThat(revocationEpochs.isRevoked(accessToken("42", issuedBefore))).isFalse();
+        // 기준 시각 이전에 발급된 Refresh Token 으로는 여전히 재발급 불가
+        assertThat(revocationEpochs.isRevoked(42L, issuedBefore)).isTrue();
+        assertThat(revocationEpochs.isRevoked(42L, null)).isTrue();
+        assertThat(revocationEpochs.isRevoked(42L, Instant.ofEpochMilli(epoch + 1))).isFalse();
+    }
+
+    @Test
+    void expiredUserEpochStillRejectsRefreshGrant() {
+        long epoch = System.currentTimeMillis() - ACCESS_VALIDITY_SECONDS * 1000 - 1_000;
+        values.put("revocation:epoch:v2:42", String.valueOf(epoch));
+
+        assertThat(revocationEpochs.isRevoked(42L, Instant.ofEpochMilli(epoch - 1))).isTrue();
+        assertThat(revocationEpochs.isRevoked(7L, Instant.ofEpochMilli(epoch - 1))).isFalse();
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private void receive(String body) {
+        revocationEpochs.onMessage(new DefaultMessage(
+                RevocationEpochs.CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private VerifiedToken accessToken(String subject, Instant issuedAt) {
+        return new VerifiedToken("jti", "sid", subject, "google_" + subject, List.of(), issuedAt,
+                Instant.now().plusSeconds(1800));
+    }
+}
@@ -0,0 +1,155 @@
+package oauth2jwt.ranger.auth.blacklist;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 실제 Redis 에서 저장 방식별 메모리를 MEMORY USAGE 로 측정 (REDIS_MEMORY_TEST_HOST 가 있을 때만 실행)
+// 예: REDIS_MEMORY_TEST_HOST=localhost ./gradlew test --tests '*TokenBlacklistMemoryUsageTest' -i
+// 15번 DB 를 비우고 사용하므로 운영 Redis 에서 실행하지 말 것
+@EnabledIfEnvironmentVariable(named = "REDIS_MEMORY_TEST_HOST", matches = ".+")
+class TokenBlacklistMemoryUsageTest {
+
+    private static final int DATABASE = 15;
+    private static final long ACCESS_TOKEN_VALIDITY_SECONDS = 1800;
+    private static final String KEY_PER_TOKEN_PREFIX = "blacklist-jti:";
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private int entries;
+
+    @BeforeEach
+    void setUp() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getenv("REDIS_MEMORY_TEST_HOST"),
+                Integer.parseInt(System.getenv().getOrDefault("REDIS_MEMORY_TEST_PORT", "6379")));
+        configuration.setDatabase(DATABASE);
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        entries = Integer.parseInt(System.getenv().getOrDefault("REDIS_MEMORY_TEST_ENTRIES", "1000000"));
+        flush();
+    }
+
+    @AfterEach
+    void tearDown() {
+        flush();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void bucketedHashesUseLessMemoryThanKeyPerToken() {
+        List<String> tokenIds = IntStream.range(0, entries).mapToObj(i -> newTokenId()).toList();
+        long now = System.currentTimeMillis();
+
+        // 1. jti 하나당 문자열 키 하나 (TTL = 토큰 만료 시각)
+        for (int from = 0; from < entries; from += BATCH_SIZE) {
+            List<String> batch = tokenIds.subList(from, Math.min(entries, from + BATCH_SIZE));
+            redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+                for (String tokenId : batch) {
+                    connection.stringCommands().pSetEx(bytes(KEY_PER_TOKEN_PREFIX + tokenId),
+                            expiresIn(), bytes("logout"));
+                }
+                return null;
+            });
+        }
+        long keyPerToken = memoryUsage(KEY_PER_TOKEN_PREFIX);
+
+        // 2. TokenBlacklist (만료 시각 구간 x shard 해시, 만료 시각은 유효기간 안에 고르게 분포)
+        TokenBlacklist blacklist = new TokenBlacklist(redisTemplate, ACCESS_TOKEN_VALIDITY_SECONDS, 60, 0, entries);
+        tokenIds.parallelStream().forEach(tokenId -> blacklist.register(tokenId, now + expiresIn(), "logout"));
+        long bucketed = memoryUsage("bl:");
+
+        System.out.printf("entries=%d, key-per-token=%d B (%.1f B/entry), bucketed=%d B (%.1f B/entry)%n",
+                entries, keyPerToken, (double) keyPerToken / entries, bucketed, (double) bucketed / entries);
+
+        assertThat(encodings("bl:")).allMatch(encoding -> encoding.equals("listpack") || encoding.equals("ziplist"));
+        assertThat(bucketed).isLessThan(keyPerToken);
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    // 접두사로 찾은 키마다 MEMORY USAGE (SAMPLES 0: 해시 필드 전체를 계산) 합계
+    private long memoryUsage(String prefix) {
+        long total = 0;
+        for (Object usage : perKey(prefix, "MEMORY", "USAGE", null, "SAMPLES", "0")) {
+            total += (usage instanceof Long bytes) ? bytes : 0;
+        }
+        return total;
+    }
+
+    private List<String> encodings(String prefix) {
+        return perKey(prefix, "OBJECT", "ENCODING", (String) null).stream()
+                .map(encoding -> (encoding instanceof byte[] raw) ? new String(raw, StandardCharsets.UTF_8) : String.valueOf(encoding))
+                .toList();
+    }
+
+    // 키마다 "<command> <subcommand> <args...>" 를 파이프라인으로 실행 (args 의 null 자리에 키)
+    private List<Object> perKey(String prefix, String command, String subcommand, String... argsAfterKey) {
+        List<String> keys = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(1_000).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(keys::add);
+        }
+        List<Object> results = new ArrayList<>(keys.size());
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            List<String> batch = keys.subList(from, Math.min(keys.size(), from + BATCH_SIZE));
+            results.addAll(redisTemplate.executePipelined((RedisCallback<Object>) (RedisConnection connection) -> {
+                for (String key : batch) {
+                    byte[][] args = new byte[argsAfterKey.length + 1][];
+                    args[0] = bytes(subcommand);
+                    for (int i = 0; i < argsAfterKey.length; i++) {
+                        args[i + 1] = bytes(argsAfterKey[i] == null ? key : argsAfterKey[i]);
+                    }
+                    connection.execute(command, args);
+                }
+                return null;
+            }, redisTemplate.getValueSerializer()));
+        }
+        return results;
+    }
+
+    private long expiresIn() {
+        return ThreadLocalRandom.current().nextLong(60_000, ACCESS_TOKEN_VALIDITY_SECONDS * 1000);
+    }
+
+    private void flush() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+    }
+
+    private static String newTokenId() {
+        byte[] bytes = new byte[12];
+        RANDOM.nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
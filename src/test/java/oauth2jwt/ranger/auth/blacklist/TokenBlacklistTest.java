@@ -0,0 +1,29 @@
+package oauth2jwt.ranger.auth.blacklist;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 예상 폐기량으로 계산한 shard 수가 해시당 필드 수를 listpack 한도 아래로 유지하는지 확인
+class TokenBlacklistTest {
+
+    @Test
+    void defaultSizingKeepsHashesWellUnderListpackLimit() {
+        int shards = TokenBlacklist.shardsFor(1_000_000, 1800, 60);
+
+        assertThat(shards).isEqualTo(512);
+        assertThat(Math.ceilDiv(1_000_000 / 30, shards)).isLessThanOrEqualTo(96);
+    }
+
+    @Test
+    void largerRevocationVolumeGetsMoreShards() {
+        assertThat(TokenBlacklist.shardsFor(5_000_000, 1800, 60)).isEqualTo(2048);
+        assertThat(TokenBlacklist.shardsFor(5_000_000, 3600, 60)).isEqualTo(1024);
+    }
+
+    @Test
+    void smallVolumeStillUsesMinimumShards() {
+        assertThat(TokenBlacklist.shardsFor(1_000, 1800, 60)).isEqualTo(512);
+        assertThat(TokenBlacklist.shardsFor(0, 30, 60)).isEqualTo(512);
+    }
+}
@@ -0,0 +1,129 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FastHs256VerifierTest {
+
+    private JwtKeyRing keyRing;
+    private FastHs256Verifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        String secret = Encoders.BASE64URL.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+        keyRing = new JwtKeyRing(secret, "", "", new ObjectMapper(), new VerifiedTokenCache(100));
+        verifier = new FastHs256Verifier(keyRing);
+    }
+
+    @Test
+    void verifiesTokenIssuedByKeyRing() {
+        String token = keyRing.signingKey().newBuilder()
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .setIssuedAt(new Date())
+                .setId("jti-42")
+                .setSubject("42")
+                .claim("username", "google_123")
+                .claim("auth", "ROLE_USER")
+                .compact();
+
+        VerifiedToken verified = verifier.verify(token);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.tokenId()).isEqualTo("jti-42");
+        assertThat(verified.subject()).isEqualTo("42");
+        assertThat(verified.username()).isEqualTo("google_123");
+        assertThat(verified.authorities()).extracting("authority").containsExactly("ROLE_USER");
+        assertThat(verified).isEqualTo(toVerifiedToken(token));
+    }
+
+    @Test
+    void splitsMultipleAuthoritiesLikeJjwt() {
+        String token = keyRing.signingKey().newBuilder()
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .setIssuedAt(new Date())
+                .setSubject("42")
+                .claim("sid", "sid-1")
+                .claim("username", "google_123")
+                .claim("auth", "ROLE_USER,ROLE_ADMIN")
+                .compact();
+
+        VerifiedToken verified = verifier.verify(token);
+
+        assertThat(verified.authorities()).extracting("authority").containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(verified).isEqualTo(toVerifiedToken(token));
+    }
+
+    @Test
+    void verifiesRefreshTokenWithoutClaims() {
+        String token = keyRing.signingKey().newBuilder()
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .compact();
+
+        VerifiedToken verified = verifier.verify(token);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.isAccessToken()).isFalse();
+    }
+
+    @Test
+    void fallsBackOnTamperedSignature() {
+        String token = keyRing.signingKey().newBuilder()
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .setSubject("42")
+                .compact();
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        String tampered = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A')
+                + token.substring(signatureStart + 1);
+
+        assertThat(verifier.verify(tampered)).isNull();
+    }
+
+    @Test
+    void fallsBackOnExpiredToken() {
+        String token = keyRing.signingKey().newBuilder()
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .compact();
+
+        assertThat(verifier.verify(token)).isNull();
+    }
+
+    @Test
+    void fallsBackOnUnknownKey() {
+        String token = Jwts.builder()
+                .signWith(Keys.secretKeyFor(SignatureAlgorithm.HS256), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .compact();
+
+        assertThat(verifier.verify(token)).isNull();
+        assertThat(verifier.verify("not-a-jwt")).isNull();
+    }
+
+    // jjwt 로 검증한 결과와 같은지 비교 (authorities 도 클레임에서 직접 만듦, 검증 대상의 결과를 기대값에 쓰지 않음)
+    private VerifiedToken toVerifiedToken(String token) {
+        var claims = keyRing.parser().parseClaimsJws(token).getBody();
+        return new VerifiedToken(
+                claims.getId(),
+                claims.get("sid", String.class),
+                claims.getSubject(),
+                claims.get("username", String.class),
+                Arrays.stream(claims.get("auth", String.class).split(","))
+                        .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                        .toList(),
+                (claims.getIssuedAt() == null) ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant()
+        );
+    }
+}
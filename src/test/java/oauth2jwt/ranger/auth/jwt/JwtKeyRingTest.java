@@ -0,0 +1,112 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// jwt.key-ring.legacy-accepted-until 이전에는 kid 없는 토큰 허용, 이후에는 jjwt/FastHs256Verifier 모두 거부하는지 확인
+class JwtKeyRingTest {
+
+    @TempDir
+    Path keyDirectory;
+
+    private String legacySecret;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        legacySecret = newSecret();
+        verifiedTokenCache = new VerifiedTokenCache(100);
+        Files.writeString(keyDirectory.resolve("k1.secret"), newSecret());
+        Files.writeString(keyDirectory.resolve("active"), "k1");
+    }
+
+    @Test
+    void legacyTokenIsAcceptedBeforeCutoff() {
+        JwtKeyRing keyRing = keyRing(Instant.now().plusSeconds(3600).toString());
+        String token = legacyToken();
+
+        assertThat(keyRing.isLegacyAccepted()).isTrue();
+        assertThat(keyRing.parser().parseClaimsJws(token).getBody().getSubject()).isEqualTo("42");
+        assertThat(new FastHs256Verifier(keyRing).verify(token)).isNotNull();
+    }
+
+    @Test
+    void legacyTokenIsRejectedAfterCutoff() {
+        JwtKeyRing keyRing = keyRing(Instant.now().minusSeconds(1).toString());
+        String token = legacyToken();
+
+        assertThat(keyRing.isLegacyAccepted()).isFalse();
+        assertThatThrownBy(() -> keyRing.parser().parseClaimsJws(token)).isInstanceOf(UnsupportedJwtException.class);
+        assertThat(new FastHs256Verifier(keyRing).verify(token)).isNull();
+
+        // kid 가 있는 토큰은 그대로 검증됨
+        String current = keyRing.signingKey().newBuilder()
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .setSubject("42")
+                .compact();
+        assertThat(keyRing.parser().parseClaimsJws(current).getBody().getSubject()).isEqualTo("42");
+        assertThat(new FastHs256Verifier(keyRing).verify(current)).isNotNull();
+    }
+
+    @Test
+    void reloadClearsCachedLegacyTokensAfterCutoff() {
+        JwtKeyRing keyRing = keyRing(Instant.now().minusSeconds(1).toString());
+        VerifiedToken cached = new VerifiedToken("jti-42", null, "42", "google_42", null, null,
+                Instant.now().plusSeconds(60));
+        verifiedTokenCache.put("digest", cached);
+
+        keyRing.reload();
+
+        assertThat(verifiedTokenCache.get("digest")).isNull();
+    }
+
+    @Test
+    void cutoffRequiresActiveKid() throws IOException {
+        String cutoff = Instant.now().plusSeconds(3600).toString();
+
+        // 키 링 없이 jwt.secret 하나로 서명하는 상태
+        assertThatThrownBy(() -> new JwtKeyRing(legacySecret, "", cutoff, new ObjectMapper(), verifiedTokenCache))
+                .isInstanceOf(IllegalStateException.class);
+
+        // 키 링은 있지만 active kid 가 없는 상태
+        Files.delete(keyDirectory.resolve("active"));
+        assertThatThrownBy(() -> keyRing(cutoff)).isInstanceOf(IllegalStateException.class);
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private JwtKeyRing keyRing(String legacyAcceptedUntil) {
+        return new JwtKeyRing(legacySecret, keyDirectory.toString(), legacyAcceptedUntil, new ObjectMapper(),
+                verifiedTokenCache);
+    }
+
+    // 키 링 도입 전 방식 (jwt.secret 으로 서명, kid 헤더 없음)
+    private String legacyToken() {
+        return Jwts.builder()
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(legacySecret)), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .setSubject("42")
+                .compact();
+    }
+
+    private static String newSecret() {
+        return Encoders.BASE64URL.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+    }
+}
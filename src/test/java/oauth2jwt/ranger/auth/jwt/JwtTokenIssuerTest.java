@@ -0,0 +1,61 @@
+package oauth2jwt.ranger.auth.jwt;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import oauth2jwt.ranger.domain.role.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenIssuerTest {
+
+    private JwtKeyRing keyRing;
+    private JwtTokenIssuer issuer;
+
+    @BeforeEach
+    void setUp() {
+        String secret = Encoders.BASE64URL.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+        keyRing = new JwtKeyRing(secret, "", "", new ObjectMapper(), new VerifiedTokenCache(100));
+        issuer = new JwtTokenIssuer(keyRing, 1800, 1209600);
+    }
+
+    @Test
+    void issuedPairIsReadableByJjwt() {
+        TokenPair pair = issuer.issueTokenPair(42L, "naver_\"quoted\"_홍길동", Role.ROLE_ADMIN);
+
+        Claims access = keyRing.parser().parseClaimsJws(pair.accessToken()).getBody();
+        assertThat(access.getSubject()).isEqualTo("42");
+        assertThat(access.get("username", String.class)).isEqualTo("naver_\"quoted\"_홍길동");
+        assertThat(access.get("auth", String.class)).isEqualTo("ROLE_ADMIN");
+        assertThat(access.getIssuedAt()).isNotNull();
+        assertThat(access.getId()).hasSize(16);
+
+        Claims refresh = keyRing.parser().parseClaimsJws(pair.refreshToken()).getBody();
+        assertThat(refresh.getSubject()).isNull();
+        assertThat(refresh.getExpiration()).isAfter(access.getExpiration());
+        assertThat(refresh.getId()).isNotBlank();
+        assertThat(refresh.getIssuedAt()).isNotNull();
+        assertThat(issuer.issueRefreshToken()).isNotEqualTo(pair.refreshToken());
+    }
+
+    @Test
+    void issuedTokenTakesFastVerificationPath() {
+        long before = System.currentTimeMillis();
+        String token = issuer.issueAccessToken(7L, "kakao_7", Role.ROLE_USER, "session-7");
+        long after = System.currentTimeMillis();
+
+        VerifiedToken verified = new FastHs256Verifier(keyRing).verify(token);
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.subject()).isEqualTo("7");
+        assertThat(verified.username()).isEqualTo("kakao_7");
+        // iat 는 밀리초까지 보존 (무효화 기준 시각과 밀리초 단위로 비교)
+        assertThat(verified.issuedAt().toEpochMilli()).isBetween(before, after);
+        assertThat(verified.tokenId()).hasSize(16);
+        assertThat(verified.sessionId()).isEqualTo("session-7");
+    }
+}
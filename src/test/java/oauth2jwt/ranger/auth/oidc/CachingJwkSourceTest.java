@@ -0,0 +1,169 @@
+package oauth2jwt.ranger.auth.oidc;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.util.Resource;
+import com.nimbusds.jose.util.ResourceRetriever;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 모르는 kid 재조회, 재조회 간격 제한, 갱신 실패 시 기존 키 유지 확인 (JWKS 응답은 스텁 ResourceRetriever 로 대체)
+class CachingJwkSourceTest {
+
+    private static RSAKey oldKey;
+    private static RSAKey newKey;
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final AtomicReference<JWKSet> served = new AtomicReference<>();
+    private final AtomicReference<IOException> failure = new AtomicReference<>();
+
+    // 요청 횟수를 세고 현재 JWKS(또는 장애)를 돌려주는 스텁
+    private final ResourceRetriever retriever = url -> {
+        fetches.incrementAndGet();
+        IOException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+        return new Resource(served.get().toString(), "application/json");
+    };
+
+    @BeforeAll
+    static void generateKeys() throws JOSEException {
+        oldKey = new RSAKeyGenerator(2048).keyID("old").generate();
+        newKey = new RSAKeyGenerator(2048).keyID("new").generate();
+    }
+
+    @Test
+    void loadsOnceAndServesFromMemory() throws Exception {
+        served.set(new JWKSet(oldKey));
+        CachingJwkSource source = source(60_000);
+
+        assertThat(select(source, "old")).hasSize(1);
+        assertThat(select(source, "old")).hasSize(1);
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void unknownKidRefetchesOnce() throws Exception {
+        served.set(new JWKSet(oldKey));
+        CachingJwkSource source = source(0);
+        select(source, "old");
+
+        // Provider 키 교체 직후 새 kid 로 서명된 토큰
+        served.set(new JWKSet(List.of(oldKey, newKey)));
+        List<JWK> keys = select(source, "new");
+
+        assertThat(keys).extracting(JWK::getKeyID).containsExactly("new");
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void unknownKidRefetchIsRateLimited() throws Exception {
+        served.set(new JWKSet(oldKey));
+        CachingJwkSource source = source(200);
+        select(source, "old");
+
+        // 잘못된 kid 로 반복 요청해도 간격 안에는 다시 받지 않음
+        for (int i = 0; i < 10; i++) {
+            assertThat(select(source, "forged")).isEmpty();
+        }
+        assertThat(fetches).hasValue(1);
+
+        // 간격이 지나면 한 번 다시 받음
+        Thread.sleep(250);
+        assertThat(select(source, "forged")).isEmpty();
+        assertThat(select(source, "forged")).isEmpty();
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void keepsOldKeysWhenRefreshFails() throws Exception {
+        served.set(new JWKSet(oldKey));
+        CachingJwkSource source = source(0);
+        select(source, "old");
+
+        failure.set(new IOException("connect timed out"));
+        source.refresh();
+
+        assertThat(select(source, "old")).extracting(JWK::getKeyID).containsExactly("old");
+        assertThat(select(source, "new")).isEmpty();
+        assertThat(fetches).hasValue(3);
+    }
+
+    @Test
+    void failedRefetchIsAlsoRateLimited() throws Exception {
+        served.set(new JWKSet(oldKey));
+        CachingJwkSource source = source(200);
+        select(source, "old");
+        Thread.sleep(250);
+
+        // Provider 장애 중에 모르는 kid 요청이 몰려도 간격마다 한 번만 시도
+        failure.set(new IOException("503 Service Unavailable"));
+        for (int i = 0; i < 10; i++) {
+            assertThat(select(source, "forged")).isEmpty();
+        }
+        assertThat(fetches).hasValue(2);
+        assertThat(select(source, "old")).hasSize(1);
+    }
+
+    @Test
+    void firstLoadFailureIsReported() throws Exception {
+        failure.set(new IOException("connect timed out"));
+        CachingJwkSource source = source(200);
+
+        assertThatThrownBy(() -> select(source, "old")).isInstanceOf(KeySourceException.class);
+
+        // 간격이 지나면 다음 요청에서 다시 시도
+        Thread.sleep(250);
+        failure.set(null);
+        served.set(new JWKSet(oldKey));
+        assertThat(select(source, "old")).hasSize(1);
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void failedFirstLoadIsRateLimited() throws Exception {
+        failure.set(new IOException("503 Service Unavailable"));
+        CachingJwkSource source = source(60_000);
+
+        // 키를 한 번도 받지 못한 상태에서 로그인 요청이 몰려도 간격 안에는 Provider 를 다시 호출하지 않고 바로 실패
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> select(source, "old")).isInstanceOf(KeySourceException.class);
+        }
+        assertThat(fetches).hasValue(1);
+
+        // 백그라운드 갱신은 간격과 상관없이 시도하고, 성공하면 로그인 요청도 바로 키를 사용
+        failure.set(null);
+        served.set(new JWKSet(oldKey));
+        source.refresh();
+        assertThat(select(source, "old")).hasSize(1);
+        assertThat(fetches).hasValue(2);
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private CachingJwkSource source(long minRefreshIntervalMillis) throws Exception {
+        URL url = URI.create("https://provider.example.com/jwks").toURL();
+        return new CachingJwkSource(url, retriever, minRefreshIntervalMillis);
+    }
+
+    private static List<JWK> select(CachingJwkSource source, String kid) throws KeySourceException {
+        return source.get(new JWKSelector(new JWKMatcher.Builder().keyID(kid).build()), null);
+    }
+}
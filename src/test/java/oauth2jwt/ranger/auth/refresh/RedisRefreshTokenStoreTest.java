@@ -0,0 +1,148 @@
+package oauth2jwt.ranger.auth.refresh;
+
+import oauth2jwt.ranger.auth.jwt.TokenDigest;
+import oauth2jwt.ranger.domain.user.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Refresh Token 발급/Rotation/폐기와 예전 형식 토큰 소비를 실제 Redis 에서 확인 (Docker 가 없으면 건너뜀)
+@Testcontainers(disabledWithoutDocker = true)
+class RedisRefreshTokenStoreTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private RedisRefreshTokenStore store;
+    private User user;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        store = new RedisRefreshTokenStore(redisTemplate, 1209600);
+        user = User.builder().id(42L).build();
+    }
+
+    @Test
+    void rotatedTokenCannotBeReused() {
+        String issued = store.issue(user, "sid-1");
+
+        RefreshTokenGrant grant = store.rotate(issued).orElseThrow();
+
+        assertThat(grant.userId()).isEqualTo(42L);
+        assertThat(grant.sessionId()).isEqualTo("sid-1");
+        assertThat(grant.issuedAt()).isNotNull();
+        assertThat(grant.refreshToken()).startsWith("sid-1.").isNotEqualTo(issued);
+        assertThat(redisTemplate.opsForHash().get("refresh:v2:session:sid-1", "digest"))
+                .isEqualTo(TokenDigest.sha256(grant.refreshToken()));
+
+        // 이미 사용한 토큰은 거부, 새 토큰은 그대로 유효
+        assertThat(store.rotate(issued)).isEmpty();
+        assertThat(store.rotate(grant.refreshToken())).isPresent();
+    }
+
+    @Test
+    void issueReplacesPreviousTokenOfSameSession() {
+        String first = store.issue(user, "sid-1");
+        String second = store.issue(user, "sid-1");
+
+        assertThat(store.rotate(first)).isEmpty();
+        assertThat(store.rotate(second)).isPresent();
+    }
+
+    @Test
+    void revokeBySessionKeepsOtherSessions() {
+        String revoked = store.issue(user, "sid-1");
+        String kept = store.issue(user, "sid-2");
+
+        store.revoke(42L, "sid-1");
+
+        assertThat(redisTemplate.hasKey("refresh:v2:session:sid-1")).isFalse();
+        assertThat(store.rotate(revoked)).isEmpty();
+        assertThat(store.rotate(kept)).isPresent();
+    }
+
+    @Test
+    void revokeByUserRemovesPreSessionToken() {
+        String userToken = store.issue(user, null);
+        String sessionToken = store.issue(user, "sid-1");
+        assertThat(userToken).startsWith("~42.");
+
+        store.revoke(42L, null);
+
+        assertThat(redisTemplate.hasKey("refresh:v2:user:42")).isFalse();
+        assertThat(store.rotate(userToken)).isEmpty();
+        assertThat(store.rotate(sessionToken)).isPresent();
+    }
+
+    @Test
+    void legacyTokenIsConsumedOnceAndReplacedWithNewFormat() {
+        String legacy = legacyToken("sid-1", "refresh:session:sid-1");
+
+        RefreshTokenGrant grant = store.rotate(legacy).orElseThrow();
+
+        assertThat(grant.userId()).isEqualTo(42L);
+        assertThat(grant.sessionId()).isEqualTo("sid-1");
+        assertThat(grant.issuedAt()).isEqualTo(Instant.ofEpochMilli(1000));
+        assertThat(grant.refreshToken()).startsWith("sid-1.");
+        assertThat(redisTemplate.hasKey("refresh:token:" + TokenDigest.sha256(legacy))).isFalse();
+
+        assertThat(store.rotate(legacy)).isEmpty();
+        assertThat(store.rotate(grant.refreshToken())).isPresent();
+    }
+
+    @Test
+    void revokeDeletesLegacyTokenOfSessionAndUser() {
+        String legacySession = legacyToken("sid-1", "refresh:session:sid-1");
+        String legacyUser = legacyToken(null, "refresh:user:42");
+
+        store.revoke(42L, "sid-1");
+        store.revoke(42L, null);
+
+        assertThat(redisTemplate.keys("refresh:*")).isEmpty();
+        assertThat(store.rotate(legacySession)).isEmpty();
+        assertThat(store.rotate(legacyUser)).isEmpty();
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    // 예전 형식 토큰 저장 (소유자 없는 토큰, refresh:token:{digest} + 세션/사용자 키가 digest 를 가리킴)
+    private String legacyToken(String sessionId, String ownerKey) {
+        String token = "legacy-" + ownerKey;
+        String digest = TokenDigest.sha256(token);
+        redisTemplate.opsForHash().putAll("refresh:token:" + digest, sessionId != null
+                ? Map.of("uid", "42", "sid", sessionId, "iat", "1000")
+                : Map.of("uid", "42", "iat", "1000"));
+        redisTemplate.opsForValue().set(ownerKey, digest);
+        return token;
+    }
+}
@@ -0,0 +1,214 @@
+package oauth2jwt.ranger.auth.refresh;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import oauth2jwt.ranger.auth.jwt.TokenDigest;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
+import oauth2jwt.ranger.dto.auth.response.TokenResponse;
+import oauth2jwt.ranger.exception.auth.RefreshInProgressException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 동시 재발급 합치기, 세션 종료 후 유예 결과 삭제, 대기 시간 초과(409), 다른 노드와의 락 경합 확인 (Redis 는 맵으로 대체한 목)
+class RefreshCoalescerTest {
+
+    private static final String REFRESH_TOKEN = "old-refresh-token";
+    private static final TokenResponse ISSUED = TokenResponse.of("new-access-token", "new-refresh-token");
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+    private final AtomicInteger rotations = new AtomicInteger();
+    private volatile Runnable beforeLock = () -> { };
+    private RedisTemplate<String, String> redisTemplate;
+    private ExecutorService executor;
+    private RefreshCoalescer coalescer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        SetOperations<String, String> setOperations = mock(SetOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation -> {
+            beforeLock.run();
+            return values.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null;
+        });
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> values.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        when(setOperations.add(anyString(), anyString())).thenAnswer(invocation -> {
+            sets.computeIfAbsent(invocation.getArgument(0), key -> ConcurrentHashMap.newKeySet())
+                    .add(invocation.getArgument(1));
+            return 1L;
+        });
+        when(setOperations.members(anyString())).thenAnswer(invocation -> sets.get(invocation.<String>getArgument(0)));
+        when(redisTemplate.delete(any(Collection.class))).thenAnswer(invocation -> {
+            Collection<String> keys = invocation.getArgument(0);
+            keys.forEach(key -> {
+                values.remove(key);
+                sets.remove(key);
+            });
+            return (long) keys.size();
+        });
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString())).thenAnswer(invocation -> {
+            values.remove("refresh:lock:" + TokenDigest.sha256(REFRESH_TOKEN));
+            return 1L;
+        });
+
+        executor = Executors.newFixedThreadPool(4);
+        coalescer = newNode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentRequestsShareOneRotation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<RefreshCoalescer.Rotated> rotation = () -> {
+            rotations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return new RefreshCoalescer.Rotated("sid-1", ISSUED);
+        };
+
+        Future<TokenResponse> first = executor.submit(() -> coalescer.reissue(REFRESH_TOKEN, rotation));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<TokenResponse> second = executor.submit(() -> coalescer.reissue(REFRESH_TOKEN, rotation));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(ISSUED);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(ISSUED);
+        // 늦게 도착한 중복 요청은 유예 결과를 받음
+        TokenResponse late = coalescer.reissue(REFRESH_TOKEN, rotation);
+        assertThat(late.getAccessToken()).isEqualTo("new-access-token");
+        assertThat(late.getRefreshToken()).isEqualTo("new-refresh-token");
+        assertThat(rotations).hasValue(1);
+    }
+
+    @Test
+    void graceValueIsSealedWithPreviousToken() {
+        coalescer.reissue(REFRESH_TOKEN, () -> new RefreshCoalescer.Rotated("sid-1", ISSUED));
+
+        String sealed = values.get("refresh:grace:" + TokenDigest.sha256(REFRESH_TOKEN));
+        assertThat(sealed).doesNotContain("new-access-token").doesNotContain("new-refresh-token");
+    }
+
+    @Test
+    void graceIsClearedWhenSessionIsRevoked() {
+        coalescer.reissue(REFRESH_TOKEN, () -> {
+            rotations.incrementAndGet();
+            return new RefreshCoalescer.Rotated("sid-1", ISSUED);
+        });
+
+        coalescer.invalidateSession("sid-1");
+
+        assertThat(values).doesNotContainKey("refresh:grace:" + TokenDigest.sha256(REFRESH_TOKEN));
+        // 유예 결과가 없으므로 다시 Rotation 시도 (실제로는 저장소가 이미 소비된 토큰이라 거절)
+        coalescer.reissue(REFRESH_TOKEN, () -> {
+            rotations.incrementAndGet();
+            return new RefreshCoalescer.Rotated("sid-1", ISSUED);
+        });
+        assertThat(rotations).hasValue(2);
+    }
+
+    @Test
+    void waitingTooLongForInFlightRotationIsRetryable() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<TokenResponse> first = executor.submit(() -> coalescer.reissue(REFRESH_TOKEN, () -> {
+            started.countDown();
+            await(release);
+            return new RefreshCoalescer.Rotated("sid-1", ISSUED);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> coalescer.reissue(REFRESH_TOKEN, () -> new RefreshCoalescer.Rotated("sid-1", ISSUED)))
+                .isInstanceOf(RefreshInProgressException.class);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(ISSUED);
+    }
+
+    @Test
+    void waitingTooLongForOtherNodeIsRetryable() {
+        // 다른 노드가 락을 잡고 Rotation 중 (결과 없음)
+        values.put("refresh:lock:" + TokenDigest.sha256(REFRESH_TOKEN), "other-node");
+
+        assertThatThrownBy(() -> coalescer.reissue(REFRESH_TOKEN, () -> {
+            rotations.incrementAndGet();
+            return new RefreshCoalescer.Rotated("sid-1", ISSUED);
+        })).isInstanceOf(RefreshInProgressException.class);
+
+        // 락 없이 Rotation 하지 않음
+        assertThat(rotations).hasValue(0);
+    }
+
+    @Test
+    void lockTakenRightAfterOtherNodeFinishedReturnsItsResult() {
+        // 유예 키를 확인한 직후, 락을 잡기 전에 다른 노드가 Rotation 을 끝내고 락을 풂
+        RefreshCoalescer otherNode = newNode();
+        beforeLock = () -> {
+            beforeLock = () -> { };
+            otherNode.reissue(REFRESH_TOKEN, () -> {
+                rotations.incrementAndGet();
+                return new RefreshCoalescer.Rotated("sid-1", ISSUED);
+            });
+        };
+
+        TokenResponse response = coalescer.reissue(REFRESH_TOKEN, () -> {
+            rotations.incrementAndGet();
+            return new RefreshCoalescer.Rotated("sid-1", TokenResponse.of("other-access-token", "other-refresh-token"));
+        });
+
+        assertThat(response.getRefreshToken()).isEqualTo("new-refresh-token");
+        assertThat(rotations).hasValue(1);
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private RefreshCoalescer newNode() {
+        return new RefreshCoalescer(redisTemplate, new AuthMetrics(new SimpleMeterRegistry()), 10_000, 5_000, 200);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
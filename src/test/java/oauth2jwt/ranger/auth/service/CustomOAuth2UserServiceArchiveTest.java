@@ -0,0 +1,188 @@
+package oauth2jwt.ranger.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
+import oauth2jwt.ranger.domain.user.User;
+import oauth2jwt.ranger.oauth2.provider.KakaoUserInfo;
+import oauth2jwt.ranger.oauth2.provider.OAuth2UserInfoLoader;
+import oauth2jwt.ranger.repository.user.ArchivedUserRepository;
+import oauth2jwt.ranger.repository.user.UserArchiveJdbcRepository;
+import oauth2jwt.ranger.repository.user.UserProviderCredentialRepository;
+import oauth2jwt.ranger.repository.user.UserRepository;
+import oauth2jwt.ranger.service.auth.DeletedUserArchiver;
+import oauth2jwt.ranger.service.user.UserProfileCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// 보관 테이블로 옮겨진 탈퇴 회원이 다시 로그인하면 기존 ID 로 복구되는지 확인
+// upsert(ON DUPLICATE KEY UPDATE + LAST_INSERT_ID)와 REPLACE 는 MySQL 동작에 의존하므로 H2 대신 MySQL 컨테이너 사용 (Docker 가 없으면 건너뜀)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({CustomOAuth2UserService.class, UserArchiveJdbcRepository.class, CustomOAuth2UserServiceArchiveTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomOAuth2UserServiceArchiveTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @Autowired
+    private CustomOAuth2UserService customOAuth2UserService;
+
+    @Autowired
+    private DeletedUserArchiver deletedUserArchiver;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @SpyBean
+    private ArchivedUserRepository archivedUserRepository;
+
+    @Autowired
+    private UserProviderCredentialRepository userProviderCredentialRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private OAuth2UserInfoLoader oAuth2UserInfoLoader;
+
+    @MockBean
+    private UserProfileCache userProfileCache;
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        AuthMetrics authMetrics() {
+            return new AuthMetrics(new SimpleMeterRegistry());
+        }
+
+        @Bean
+        DeletedUserArchiver deletedUserArchiver(UserArchiveJdbcRepository userArchiveJdbcRepository,
+                                                PlatformTransactionManager transactionManager) {
+            return new DeletedUserArchiver(userArchiveJdbcRepository, transactionManager, 30, 500, 10);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userProviderCredentialRepository.deleteAllInBatch();
+        archivedUserRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM users", new MapSqlParameterSource());
+    }
+
+    @Test
+    void archivedUserKeepsIdOnRelogin() {
+        Long userId = login("홍길동").getId();
+
+        // 탈퇴 후 보관 기간이 지나 users_archive 로 옮겨짐
+        userRepository.deleteById(userId);
+        jdbcTemplate.update("UPDATE users SET deleted_at = :deletedAt WHERE id = :id",
+                new MapSqlParameterSource("id", userId)
+                        .addValue("deletedAt", Timestamp.valueOf(LocalDateTime.now().minusDays(40))));
+        deletedUserArchiver.archive();
+        assertThat(archivedUserRepository.count()).isEqualTo(1);
+        assertThat(countUsers()).isZero();
+
+        // 다시 로그인: 새 ID 로 INSERT 된 행이 보관된 행(기존 ID)으로 교체됨
+        User restored = login("새닉네임");
+
+        assertThat(restored.getId()).isEqualTo(userId);
+        assertThat(archivedUserRepository.count()).isZero();
+        assertThat(countUsers()).isEqualTo(1);
+        assertThat(userRepository.findById(userId)).hasValueSatisfying(user -> {
+            assertThat(user.getName()).isEqualTo("새닉네임");
+            assertThat(user.getDeletedAt()).isNull();
+        });
+        assertThat(userProviderCredentialRepository.findById(userId)).isPresent();
+        verify(userProfileCache).evict(userId);
+
+        // 이후 로그인은 같은 행을 유지
+        assertThat(login("새닉네임").getId()).isEqualTo(userId);
+    }
+
+    @Test
+    void newUserIsNotAffectedByOtherArchivedUsers() {
+        Long archivedId = login("홍길동").getId();
+        userRepository.deleteById(archivedId);
+        jdbcTemplate.update("UPDATE users SET deleted_at = :deletedAt WHERE id = :id",
+                new MapSqlParameterSource("id", archivedId)
+                        .addValue("deletedAt", Timestamp.valueOf(LocalDateTime.now().minusDays(40))));
+        deletedUserArchiver.archive();
+
+        User other = customOAuth2UserService.saveUser(request(), new KakaoUserInfo("2", "kim@example.com", "김철수"));
+
+        assertThat(other.getId()).isNotEqualTo(archivedId);
+        assertThat(archivedUserRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void activeUserLoginDoesNotQueryArchive() {
+        Long userId = login("홍길동").getId();
+        clearInvocations(archivedUserRepository);
+
+        // 바뀌는 컬럼이 없는 upsert 도 드라이버 기본 설정(CLIENT_FOUND_ROWS)에서는 영향 행 수 1
+        assertThat(login("홍길동").getId()).isEqualTo(userId);
+
+        verify(archivedUserRepository, never()).findByProviderAndProviderId(anyString(), anyString());
+        verify(archivedUserRepository, never()).deleteByProviderAndProviderId(anyString(), anyString());
+        verify(userProfileCache, never()).evict(userId);
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private User login(String name) {
+        return customOAuth2UserService.saveUser(request(), new KakaoUserInfo("1", "hong@example.com", name));
+    }
+
+    private int countUsers() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", new MapSqlParameterSource(), Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    private static OAuth2UserRequest request() {
+        ClientRegistration registration = ClientRegistration.withRegistrationId("kakao")
+                .clientId("client-id")
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+                .authorizationUri("https://kauth.kakao.com/oauth/authorize")
+                .tokenUri("https://kauth.kakao.com/oauth/token")
+                .build();
+        Instant now = Instant.now();
+        return new OAuth2UserRequest(registration,
+                new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "provider-access-token", now, now.plusSeconds(3600)));
+    }
+}
@@ -0,0 +1,184 @@
+package oauth2jwt.ranger.auth.session;
+
+import oauth2jwt.ranger.auth.refresh.RefreshCoalescer;
+import oauth2jwt.ranger.auth.refresh.RefreshTokenStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// 세션 스크립트를 실제 Redis 에서 실행하고 남은 키로 확인 (KEYS 로 넘긴 키만 사용하는지, Docker 가 없으면 건너뜀)
+@Testcontainers(disabledWithoutDocker = true)
+class SessionRegistryRedisTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private RefreshTokenStore refreshTokenStore;
+    private RefreshCoalescer refreshCoalescer;
+    private SessionRegistry sessionRegistry;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        refreshTokenStore = mock(RefreshTokenStore.class);
+        refreshCoalescer = mock(RefreshCoalescer.class);
+        sessionRegistry = new SessionRegistry(redisTemplate, refreshTokenStore, refreshCoalescer, 1209600, 2);
+    }
+
+    @Test
+    void openStoresSessionUnderUsersHashTag() {
+        String sessionId = sessionRegistry.open(42L, new SessionDevice("Chrome", "10.0.0.1"));
+
+        assertThat(redisTemplate.keys("*")).containsExactlyInAnyOrder(
+                "session:{42}:user", "session:{42}:info:" + sessionId);
+        assertThat(redisTemplate.opsForZSet().score("session:{42}:user", sessionId)).isNotNull();
+        Map<Object, Object> info = redisTemplate.opsForHash().entries("session:{42}:info:" + sessionId);
+        assertThat(info).containsEntry("uid", "42").containsEntry("userAgent", "Chrome")
+                .containsEntry("ip", "10.0.0.1").containsKeys("createdAt", "lastUsedAt");
+        assertThat(redisTemplate.getExpire("session:{42}:info:" + sessionId)).isPositive();
+    }
+
+    @Test
+    void openOverLimitRemovesOldestSessionAndItsInfo() throws InterruptedException {
+        String oldest = open(42L);
+        String second = open(42L);
+        String third = open(42L);
+
+        assertThat(redisTemplate.opsForZSet().range("session:{42}:user", 0, -1))
+                .containsExactlyInAnyOrder(second, third);
+        assertThat(redisTemplate.hasKey("session:{42}:info:" + oldest)).isFalse();
+        assertThat(redisTemplate.hasKey("session:{42}:info:" + third)).isTrue();
+        verify(refreshTokenStore).revoke(42L, oldest);
+        verify(refreshCoalescer).invalidateSession(oldest);
+    }
+
+    @Test
+    void touchUpdatesLastUsedAtOnlyForLiveSession() throws InterruptedException {
+        String sessionId = open(42L);
+        String createdAt = (String) redisTemplate.opsForHash().get("session:{42}:info:" + sessionId, "createdAt");
+        Thread.sleep(2);
+
+        assertThat(sessionRegistry.touch(42L, sessionId)).isTrue();
+        String lastUsedAt = (String) redisTemplate.opsForHash().get("session:{42}:info:" + sessionId, "lastUsedAt");
+        assertThat(Long.parseLong(lastUsedAt)).isGreaterThan(Long.parseLong(createdAt));
+
+        assertThat(sessionRegistry.touch(7L, sessionId)).isFalse();
+        assertThat(redisTemplate.hasKey("session:{7}:info:" + sessionId)).isFalse();
+    }
+
+    @Test
+    void revokeByOtherUserLeavesSessionKeys() throws InterruptedException {
+        String sessionId = open(42L);
+
+        assertThat(sessionRegistry.revoke(7L, sessionId)).isFalse();
+
+        assertThat(redisTemplate.keys("*")).containsExactlyInAnyOrder(
+                "session:{42}:user", "session:{42}:info:" + sessionId);
+        verify(refreshTokenStore, never()).revoke(7L, sessionId);
+    }
+
+    @Test
+    void revokeByOwnerRemovesSessionKeys() throws InterruptedException {
+        String revoked = open(42L);
+        String kept = open(42L);
+
+        assertThat(sessionRegistry.revoke(42L, revoked)).isTrue();
+
+        assertThat(redisTemplate.keys("*")).containsExactlyInAnyOrder(
+                "session:{42}:user", "session:{42}:info:" + kept);
+        assertThat(sessionRegistry.touch(42L, revoked)).isFalse();
+        verify(refreshTokenStore).revoke(42L, revoked);
+    }
+
+    @Test
+    void revokeAllRemovesEveryKeyOfUserOnly() throws InterruptedException {
+        String first = open(42L);
+        String second = open(42L);
+        String other = open(7L);
+
+        sessionRegistry.revokeAll(42L);
+
+        assertThat(redisTemplate.keys("*")).containsExactlyInAnyOrder(
+                "session:{7}:user", "session:{7}:info:" + other);
+        verify(refreshTokenStore).revoke(42L, first);
+        verify(refreshTokenStore).revoke(42L, second);
+        verify(refreshTokenStore).revoke(42L, null);
+    }
+
+    @Test
+    void listReturnsSessionsMostRecentlyUsedFirst() throws InterruptedException {
+        String first = open(42L);
+        String second = open(42L);
+        Thread.sleep(2);
+        sessionRegistry.touch(42L, first);
+
+        List<SessionInfo> sessions = sessionRegistry.list(42L);
+
+        assertThat(sessions).extracting(SessionInfo::sessionId).containsExactly(first, second);
+        assertThat(sessions.get(0).userAgent()).isEqualTo("Chrome");
+        assertThat(sessions.get(0).lastUsedAt()).isAfter(sessions.get(0).createdAt());
+    }
+
+    @Test
+    void legacySessionIsMigratedOnTouchAndRemovedOnRevokeAll() {
+        redisTemplate.opsForZSet().add("session:user:42", "legacy-sid", System.currentTimeMillis());
+        redisTemplate.opsForHash().putAll("session:info:legacy-sid",
+                Map.of("userAgent", "Safari", "ip", "10.0.0.2", "createdAt", "1000", "lastUsedAt", "1000"));
+        redisTemplate.opsForZSet().add("session:user:42", "legacy-sid-2", System.currentTimeMillis());
+        redisTemplate.opsForHash().put("session:info:legacy-sid-2", "createdAt", "1000");
+
+        assertThat(sessionRegistry.touch(42L, "legacy-sid")).isTrue();
+
+        assertThat(redisTemplate.hasKey("session:info:legacy-sid")).isFalse();
+        assertThat(redisTemplate.opsForHash().entries("session:{42}:info:legacy-sid"))
+                .containsEntry("uid", "42").containsEntry("userAgent", "Safari").containsEntry("createdAt", "1000");
+        assertThat(redisTemplate.opsForZSet().score("session:{42}:user", "legacy-sid")).isNotNull();
+
+        sessionRegistry.revokeAll(42L);
+
+        assertThat(redisTemplate.keys("*")).isEmpty();
+        verify(refreshTokenStore).revoke(42L, "legacy-sid");
+        verify(refreshTokenStore).revoke(42L, "legacy-sid-2");
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    // 세션 점수(ms)가 겹치지 않도록 등록 사이에 잠깐 대기
+    private String open(Long userId) throws InterruptedException {
+        String sessionId = sessionRegistry.open(userId, new SessionDevice("Chrome", "10.0.0.1"));
+        Thread.sleep(2);
+        return sessionId;
+    }
+}
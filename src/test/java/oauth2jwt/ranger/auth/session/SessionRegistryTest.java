@@ -0,0 +1,60 @@
+package oauth2jwt.ranger.auth.session;
+
+import oauth2jwt.ranger.auth.refresh.RefreshCoalescer;
+import oauth2jwt.ranger.auth.refresh.RefreshTokenStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 다른 사용자의 세션 식별자로는 세션/Refresh Token 을 지울 수 없는지 확인 (Redis 는 목으로 대체)
+class SessionRegistryTest {
+
+    private RedisTemplate<String, String> redisTemplate;
+    private RefreshTokenStore refreshTokenStore;
+    private RefreshCoalescer refreshCoalescer;
+    private SessionRegistry sessionRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.opsForZSet()).thenReturn(mock(ZSetOperations.class));
+        refreshTokenStore = mock(RefreshTokenStore.class);
+        refreshCoalescer = mock(RefreshCoalescer.class);
+        sessionRegistry = new SessionRegistry(redisTemplate, refreshTokenStore, refreshCoalescer, 1209600, 5);
+    }
+
+    @Test
+    void revokeOtherUsersSessionKeepsItsRefreshToken() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("session:{7}:user", "session:{7}:info:sid-42")),
+                eq("sid-42"))).thenReturn(0L);
+
+        assertThat(sessionRegistry.revoke(7L, "sid-42")).isFalse();
+        verify(refreshTokenStore, never()).revoke(anyLong(), anyString());
+        verify(refreshCoalescer, never()).invalidateSession(anyString());
+    }
+
+    @Test
+    void revokeOwnSessionRevokesRefreshToken() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("session:{42}:user", "session:{42}:info:sid-42")),
+                eq("sid-42"))).thenReturn(1L);
+
+        assertThat(sessionRegistry.revoke(42L, "sid-42")).isTrue();
+        verify(refreshTokenStore).revoke(42L, "sid-42");
+        verify(refreshCoalescer).invalidateSession("sid-42");
+    }
+}
@@ -0,0 +1,121 @@
+package oauth2jwt.ranger.controller.admin;
+
+import oauth2jwt.ranger.domain.status.WithdrawalJobStatus;
+import oauth2jwt.ranger.dto.admin.response.BulkWithdrawalResponse;
+import oauth2jwt.ranger.exception.auth.TokenNotFoundException;
+import oauth2jwt.ranger.service.auth.BulkWithdrawalService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 관리자 권한 검사(@PreAuthorize), 요청 검증, 응답 상태 코드 확인 (서비스는 목으로 대체)
+@WebMvcTest(AdminUserController.class)
+@Import(AdminUserControllerTest.MethodSecurity.class)
+class AdminUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BulkWithdrawalService bulkWithdrawalService;
+
+    @TestConfiguration
+    @EnableMethodSecurity
+    static class MethodSecurity {
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void adminSubmitsJob() throws Exception {
+        when(bulkWithdrawalService.submit(List.of(1L, 2L, 3L), "정리")).thenReturn(response(WithdrawalJobStatus.RUNNING));
+
+        mockMvc.perform(post("/admin/users/withdrawals").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\":[1,2,3],\"reason\":\"정리\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.jobId").value(7))
+                .andExpect(jsonPath("$.data.status").value("RUNNING"))
+                .andExpect(jsonPath("$.data.totalCount").value(3));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void nonAdminIsForbidden() throws Exception {
+        mockMvc.perform(post("/admin/users/withdrawals").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\":[1]}"))
+                .andExpect(status().isForbidden());
+
+        verify(bulkWithdrawalService, never()).submit(anyCollection(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void emptyUserIdsAreRejected() throws Exception {
+        mockMvc.perform(post("/admin/users/withdrawals").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userIds\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(bulkWithdrawalService, never()).submit(anyCollection(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void returnsJobProgress() throws Exception {
+        when(bulkWithdrawalService.getJob(7L)).thenReturn(response(WithdrawalJobStatus.COMPLETED));
+
+        mockMvc.perform(get("/admin/users/withdrawals/7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.data.processedCount").value(3))
+                .andExpect(jsonPath("$.data.withdrawnCount").value(2))
+                .andExpect(jsonPath("$.data.pendingUnlinkCount").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void unknownJobIsNotFound() throws Exception {
+        when(bulkWithdrawalService.getJob(8L)).thenThrow(new TokenNotFoundException("대량 탈퇴 작업을 찾을 수 없습니다."));
+
+        mockMvc.perform(get("/admin/users/withdrawals/8"))
+                .andExpect(status().isNotFound());
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private static BulkWithdrawalResponse response(WithdrawalJobStatus status) {
+        boolean completed = status == WithdrawalJobStatus.COMPLETED;
+        return BulkWithdrawalResponse.builder()
+                .jobId(7L)
+                .status(status)
+                .totalCount(3)
+                .processedCount(completed ? 3 : 0)
+                .withdrawnCount(completed ? 2 : 0)
+                .pendingUnlinkCount(completed ? 1 : 0)
+                .createdAt(LocalDateTime.now())
+                .completedAt(completed ? LocalDateTime.now() : null)
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package oauth2jwt.ranger.oauth2.provider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Provider 응답에서 필요한 필드만 꺼내고 나머지(중첩 객체/배열)는 건너뛰는지 확인
+class UserInfoSchemaTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    void readsNestedKakaoFieldsAndSkipsTheRest() throws IOException {
+        String body = """
+                {"id":3141592653,"connected_at":"2024-01-01T00:00:00Z",
+                 "properties":{"nickname":"라이언","profile_image":"https://k.kakaocdn.net/p.jpg"},
+                 "kakao_account":{"profile":{"nickname":"무시","thumbnail_image_url":"https://k.kakaocdn.net/t.jpg"},
+                                  "has_email":true,"email":"ryan@kakao.com","scopes":["a","b"]}}
+                """;
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            KakaoUserInfo userInfo = KakaoUserInfo.read(parser);
+
+            assertThat(userInfo).isEqualTo(new KakaoUserInfo("3141592653", "ryan@kakao.com", "라이언"));
+        }
+    }
+
+    @Test
+    void missingOrNullFieldsAreNull() throws IOException {
+        String body = """
+                {"resultcode":"00","message":"success","response":{"id":"naver-1","email":null}}
+                """;
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            NaverUserInfo userInfo = NaverUserInfo.read(parser);
+
+            assertThat(userInfo).isEqualTo(new NaverUserInfo("naver-1", null, null));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package oauth2jwt.ranger.repository.user;
+
+import oauth2jwt.ranger.domain.role.Role;
+import oauth2jwt.ranger.domain.user.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 스레드마다 별도 트랜잭션으로 커밋해야 하므로 테스트 트랜잭션은 사용하지 않음
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryRefreshRotationTest {
+
+    private static final String CURRENT = "digest-0";
+    private static final int THREADS = 32;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        userId = userRepository.save(User.builder()
+                .username("google_1")
+                .name("홍길동")
+                .provider("google")
+                .providerId("1")
+                .role(Role.ROLE_USER)
+                .build()).getId();
+        tx.executeWithoutResult(status -> userRepository.updateRefreshTokenDigest(userId, CURRENT));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void reusedTokenIsRejected() {
+        assertThat(tx.execute(status -> userRepository.rotateRefreshTokenDigest(CURRENT, "digest-1"))).isEqualTo(1);
+        assertThat(tx.execute(status -> userRepository.rotateRefreshTokenDigest(CURRENT, "digest-2"))).isZero();
+        assertThat(userRepository.findByRefreshTokenDigest("digest-1")).map(User::getId).contains(userId);
+    }
+
+    @Test
+    void onlyOneConcurrentRotationWins() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 1; i <= THREADS; i++) {
+            String next = "digest-" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    return tx.execute(status -> userRepository.rotateRefreshTokenDigest(CURRENT, next));
+                } catch (ConcurrencyFailureException e) {
+                    // 행 잠금 경합에서 진 트랜잭션 (DB 에 따라 0 row 대신 예외로 끝남)
+                    return 0;
+                }
+            }));
+        }
+        start.countDown();
+
+        int updated = 0;
+        for (Future<Integer> result : results) {
+            updated += result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(userRepository.findByRefreshTokenDigest(CURRENT)).isEmpty();
+        assertThat(userRepository.findById(userId).map(User::getRefreshTokenDigest))
+                .hasValueSatisfying(digest -> assertThat(digest).isNotEqualTo(CURRENT));
+    }
+}
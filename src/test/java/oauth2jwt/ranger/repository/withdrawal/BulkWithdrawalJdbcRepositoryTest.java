@@ -0,0 +1,186 @@
+package oauth2jwt.ranger.repository.withdrawal;
+
+import oauth2jwt.ranger.domain.role.Role;
+import oauth2jwt.ranger.domain.status.WithdrawalJobStatus;
+import oauth2jwt.ranger.domain.user.User;
+import oauth2jwt.ranger.domain.withdrawal.BulkWithdrawalJob;
+import oauth2jwt.ranger.repository.unlink.SocialUnlinkJobRepository;
+import oauth2jwt.ranger.repository.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 청크마다 별도 트랜잭션으로 커밋/롤백해야 하므로 테스트 트랜잭션은 사용하지 않음
+@DataJpaTest
+@Import(BulkWithdrawalJdbcRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkWithdrawalJdbcRepositoryTest {
+
+    private static final int USERS = 5;
+
+    @Autowired
+    private BulkWithdrawalJdbcRepository bulkWithdrawalJdbcRepository;
+
+    @Autowired
+    private BulkWithdrawalJobRepository bulkWithdrawalJobRepository;
+
+    @Autowired
+    private SocialUnlinkJobRepository socialUnlinkJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Long jobId;
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        userIds = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            userIds.add(userRepository.save(User.builder()
+                    .username("google_" + i)
+                    .name("사용자" + i)
+                    .provider("google")
+                    .providerId(String.valueOf(i))
+                    .role(Role.ROLE_USER)
+                    .build()).getId());
+        }
+        jobId = bulkWithdrawalJobRepository.save(BulkWithdrawalJob.of("테스트", USERS, LocalDateTime.now())).getId();
+        tx.executeWithoutResult(status -> bulkWithdrawalJdbcRepository.insertItems(jobId, userIds));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM bulk_withdrawal_item", new MapSqlParameterSource());
+        socialUnlinkJobRepository.deleteAllInBatch();
+        bulkWithdrawalJobRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM users", new MapSqlParameterSource());
+    }
+
+    @Test
+    void concurrentWorkersClaimDisjointChunks() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 첫 번째 워커가 청크를 잠근 채로 커밋하지 않는 동안 두 번째 워커가 다음 청크를 가져감
+        Future<List<Long>> first = executor.submit(() -> tx.execute(status -> {
+            List<Long> chunk = bulkWithdrawalJdbcRepository.lockNextItems(jobId, 2);
+            locked.countDown();
+            awaitQuietly(release);
+            return chunk;
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+        List<Long> second = tx.execute(status -> bulkWithdrawalJdbcRepository.lockNextItems(jobId, 2));
+        release.countDown();
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).containsExactlyElementsOf(userIds.subList(0, 2));
+        assertThat(second).containsExactlyElementsOf(userIds.subList(2, 4));
+        executor.shutdown();
+    }
+
+    @Test
+    void countsProgressAndCompletesWhenNoItemsLeft() {
+        // 이미 탈퇴한 사용자는 처리 건수에만 포함
+        userRepository.deleteById(userIds.get(0));
+
+        assertThat(tx.execute(status -> processChunk(3))).isEqualTo(3);
+        assertThat(tx.execute(status -> bulkWithdrawalJdbcRepository.completeIfDone(jobId, LocalDateTime.now())))
+                .isFalse();
+
+        assertThat(tx.execute(status -> processChunk(3))).isEqualTo(2);
+        assertThat(tx.execute(status -> processChunk(3))).isZero();
+        assertThat(tx.execute(status -> bulkWithdrawalJdbcRepository.completeIfDone(jobId, LocalDateTime.now())))
+                .isTrue();
+        // 이미 완료된 작업은 다시 완료 처리하지 않음 (완료 로그/시각이 한 번만 남도록)
+        assertThat(tx.execute(status -> bulkWithdrawalJdbcRepository.completeIfDone(jobId, LocalDateTime.now())))
+                .isFalse();
+
+        BulkWithdrawalJob job = bulkWithdrawalJobRepository.findById(jobId).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(WithdrawalJobStatus.COMPLETED);
+        assertThat(job.getProcessedCount()).isEqualTo(USERS);
+        assertThat(job.getWithdrawnCount()).isEqualTo(USERS - 1);
+        assertThat(job.getCompletedAt()).isNotNull();
+        assertThat(socialUnlinkJobRepository.count()).isEqualTo(USERS - 1);
+        assertThat(activeUsers()).isZero();
+    }
+
+    @Test
+    void rolledBackChunkIsClaimedAgainOnResume() {
+        // 노드 장애 등으로 커밋하지 못한 청크
+        tx.executeWithoutResult(status -> {
+            processChunk(2);
+            status.setRollbackOnly();
+        });
+
+        assertThat(activeUsers()).isEqualTo(USERS);
+        assertThat(socialUnlinkJobRepository.count()).isZero();
+        assertThat(bulkWithdrawalJobRepository.findById(jobId).orElseThrow().getProcessedCount()).isZero();
+
+        // 재개하면 같은 대상부터 다시 처리
+        assertThat(tx.execute(status -> bulkWithdrawalJdbcRepository.lockNextItems(jobId, 2)))
+                .containsExactlyElementsOf(userIds.subList(0, 2));
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    // BulkWithdrawalService 의 청크 처리 중 DB 작업만 (Redis 작업 제외)
+    private int processChunk(int chunkSize) {
+        List<Long> chunk = bulkWithdrawalJdbcRepository.lockNextItems(jobId, chunkSize);
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<Long> active = bulkWithdrawalJdbcRepository.lockActiveUsers(chunk);
+        if (!active.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            bulkWithdrawalJdbcRepository.enqueueUnlinks(jobId, active, now);
+            bulkWithdrawalJdbcRepository.softDeleteUsers(active, now);
+            bulkWithdrawalJdbcRepository.deleteCredentials(active);
+        }
+        bulkWithdrawalJdbcRepository.deleteItems(jobId, chunk);
+        bulkWithdrawalJdbcRepository.addProgress(jobId, chunk.size(), active.size());
+        return chunk.size();
+    }
+
+    private int activeUsers() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE status = 'ACTIVE'", new MapSqlParameterSource(), Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
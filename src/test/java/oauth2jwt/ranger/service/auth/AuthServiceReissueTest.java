@@ -0,0 +1,161 @@
+package oauth2jwt.ranger.service.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import oauth2jwt.ranger.auth.blacklist.RevocationEpochs;
+import oauth2jwt.ranger.auth.blacklist.TokenBlacklist;
+import oauth2jwt.ranger.auth.jwt.JwtTokenProvider;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
+import oauth2jwt.ranger.auth.refresh.RefreshCoalescer;
+import oauth2jwt.ranger.auth.refresh.RefreshTokenGrant;
+import oauth2jwt.ranger.auth.refresh.RefreshTokenStore;
+import oauth2jwt.ranger.auth.session.SessionRegistry;
+import oauth2jwt.ranger.domain.role.Role;
+import oauth2jwt.ranger.dto.auth.response.TokenResponse;
+import oauth2jwt.ranger.dto.user.response.UserProfileResponse;
+import oauth2jwt.ranger.exception.auth.TokenNotFoundException;
+import oauth2jwt.ranger.exception.auth.UnauthorizedException;
+import oauth2jwt.ranger.repository.user.UserProviderCredentialRepository;
+import oauth2jwt.ranger.repository.user.UserRepository;
+import oauth2jwt.ranger.service.user.UserProfileCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 모든 기기 로그아웃 이전에 발급된 Refresh Token 으로는 재발급할 수 없는지, 새 Access Token 에 현재 권한이 반영되는지 확인 (저장소/세션/프로필은 목으로 대체)
+class AuthServiceReissueTest {
+
+    private static final String REFRESH_TOKEN = "refresh-token";
+
+    private RefreshTokenStore refreshTokenStore;
+    private SessionRegistry sessionRegistry;
+    private JwtTokenProvider jwtTokenProvider;
+    private RevocationEpochs revocationEpochs;
+    private UserProfileCache userProfileCache;
+    private AuthService authService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        refreshTokenStore = mock(RefreshTokenStore.class);
+        sessionRegistry = mock(SessionRegistry.class);
+        jwtTokenProvider = mock(JwtTokenProvider.class);
+        revocationEpochs = new RevocationEpochs(mock(RedisTemplate.class, RETURNS_DEEP_STUBS), 1800, 1209600);
+        userProfileCache = mock(UserProfileCache.class);
+        when(userProfileCache.get(42L)).thenReturn(profile(Role.ROLE_USER));
+
+        RefreshCoalescer refreshCoalescer = mock(RefreshCoalescer.class);
+        when(refreshCoalescer.reissue(eq(REFRESH_TOKEN), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<RefreshCoalescer.Rotated>>getArgument(1).get().tokens());
+
+        authService = new AuthService(
+                mock(UserRepository.class),
+                mock(UserProviderCredentialRepository.class),
+                jwtTokenProvider,
+                refreshTokenStore,
+                refreshCoalescer,
+                sessionRegistry,
+                mock(TokenBlacklist.class),
+                revocationEpochs,
+                mock(SocialUnlinkOutbox.class),
+                userProfileCache,
+                new AuthMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void refreshTokenIssuedBeforeLogoutAllIsRejected() {
+        Instant issuedAt = Instant.now().minusSeconds(60);
+        revocationEpochs.revokeUser(42L);
+        when(refreshTokenStore.rotate(REFRESH_TOKEN)).thenReturn(Optional.of(grant(issuedAt)));
+
+        assertThatThrownBy(() -> authService.reissueTokens(null, REFRESH_TOKEN))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verify(refreshTokenStore).revoke(42L, "sid-1");
+        verify(sessionRegistry, never()).touch(anyLong(), anyString());
+        verify(jwtTokenProvider, never()).createAccessToken(anyLong(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void refreshTokenIssuedBeforeRevokeAllIsRejected() {
+        Instant issuedAt = Instant.now().minusSeconds(60);
+        revocationEpochs.revokeAll();
+        when(refreshTokenStore.rotate(REFRESH_TOKEN)).thenReturn(Optional.of(grant(issuedAt)));
+
+        assertThatThrownBy(() -> authService.reissueTokens(null, REFRESH_TOKEN))
+                .isInstanceOf(UnauthorizedException.class);
+
+        verify(refreshTokenStore).revoke(42L, "sid-1");
+    }
+
+    @Test
+    void refreshTokenIssuedAfterEpochIsRotated() {
+        revocationEpochs.revokeUser(42L);
+        when(refreshTokenStore.rotate(REFRESH_TOKEN)).thenReturn(Optional.of(grant(Instant.now().plusMillis(1))));
+        when(sessionRegistry.touch(42L, "sid-1")).thenReturn(true);
+        when(jwtTokenProvider.createAccessToken(42L, "google_42", Role.ROLE_USER, "sid-1")).thenReturn("access-token");
+
+        TokenResponse response = authService.reissueTokens(null, REFRESH_TOKEN);
+
+        assertThat(response.getAccessToken()).isEqualTo("access-token");
+        assertThat(response.getRefreshToken()).isEqualTo("rotated-token");
+        verify(refreshTokenStore, never()).revoke(anyLong(), anyString());
+    }
+
+    @Test
+    void reissuedAccessTokenCarriesCurrentRole() {
+        // 로그인 이후 관리자 권한을 받음 (Refresh Token 에는 로그인 시점 권한이 남아 있지 않음)
+        when(refreshTokenStore.rotate(REFRESH_TOKEN)).thenReturn(Optional.of(grant(Instant.now())));
+        when(sessionRegistry.touch(42L, "sid-1")).thenReturn(true);
+        when(userProfileCache.get(42L)).thenReturn(profile(Role.ROLE_ADMIN));
+        when(jwtTokenProvider.createAccessToken(42L, "google_42", Role.ROLE_ADMIN, "sid-1")).thenReturn("admin-access-token");
+
+        TokenResponse response = authService.reissueTokens(null, REFRESH_TOKEN);
+
+        assertThat(response.getAccessToken()).isEqualTo("admin-access-token");
+        verify(jwtTokenProvider, never()).createAccessToken(anyLong(), anyString(), eq(Role.ROLE_USER), anyString());
+    }
+
+    @Test
+    void withdrawnUserCannotReissue() {
+        when(refreshTokenStore.rotate(REFRESH_TOKEN)).thenReturn(Optional.of(grant(Instant.now())));
+        when(sessionRegistry.touch(42L, "sid-1")).thenReturn(true);
+        when(userProfileCache.get(42L)).thenThrow(new TokenNotFoundException("사용자 정보를 찾을 수 없습니다."));
+
+        assertThatThrownBy(() -> authService.reissueTokens(null, REFRESH_TOKEN))
+                .isInstanceOf(TokenNotFoundException.class);
+
+        verify(jwtTokenProvider, never()).createAccessToken(anyLong(), anyString(), any(), anyString());
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private RefreshTokenGrant grant(Instant issuedAt) {
+        return new RefreshTokenGrant(42L, "sid-1", issuedAt, "rotated-token");
+    }
+
+    private static UserProfileResponse profile(Role role) {
+        return UserProfileResponse.builder()
+                .id(42L)
+                .username("google_42")
+                .name("홍길동")
+                .provider("google")
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package oauth2jwt.ranger.service.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import oauth2jwt.ranger.auth.blacklist.RevocationEpochs;
+import oauth2jwt.ranger.auth.blacklist.TokenBlacklist;
+import oauth2jwt.ranger.auth.jwt.JwtTokenProvider;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
+import oauth2jwt.ranger.auth.refresh.RefreshCoalescer;
+import oauth2jwt.ranger.auth.refresh.RefreshTokenStore;
+import oauth2jwt.ranger.auth.session.SessionRegistry;
+import oauth2jwt.ranger.domain.role.Role;
+import oauth2jwt.ranger.domain.user.User;
+import oauth2jwt.ranger.repository.user.UserProviderCredentialRepository;
+import oauth2jwt.ranger.repository.user.UserRepository;
+import oauth2jwt.ranger.service.user.UserProfileCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 탈퇴 시 세션 종료/토큰 무효화(Redis)가 DB 커밋 후에만 실행되는지 확인 (트랜잭션 동기화만 직접 열고 나머지는 목으로 대체)
+class AuthServiceWithdrawTest {
+
+    private SessionRegistry sessionRegistry;
+    private RevocationEpochs revocationEpochs;
+    private AuthService authService;
+    private User principal;
+
+    @BeforeEach
+    void setUp() {
+        sessionRegistry = mock(SessionRegistry.class);
+        revocationEpochs = mock(RevocationEpochs.class);
+        principal = User.builder().id(42L).build();
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(42L)).thenReturn(Optional.of(User.builder()
+                .id(42L).username("kakao_42").name("홍길동").provider("kakao").providerId("42").role(Role.ROLE_USER)
+                .build()));
+        UserProviderCredentialRepository userProviderCredentialRepository = mock(UserProviderCredentialRepository.class);
+        when(userProviderCredentialRepository.findById(42L)).thenReturn(Optional.empty());
+
+        authService = new AuthService(
+                userRepository,
+                userProviderCredentialRepository,
+                mock(JwtTokenProvider.class),
+                mock(RefreshTokenStore.class),
+                mock(RefreshCoalescer.class),
+                sessionRegistry,
+                mock(TokenBlacklist.class),
+                revocationEpochs,
+                mock(SocialUnlinkOutbox.class),
+                mock(UserProfileCache.class),
+                new AuthMetrics(new SimpleMeterRegistry()));
+
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void sessionsAndTokensAreRevokedAfterCommit() {
+        authService.withdraw(principal);
+
+        verify(sessionRegistry, never()).revokeAll(anyLong());
+        verify(revocationEpochs, never()).revokeUser(anyLong());
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        verify(sessionRegistry).revokeAll(42L);
+        verify(revocationEpochs).revokeUser(42L);
+    }
+
+    @Test
+    void rolledBackWithdrawalKeepsSessionsAndTokens() {
+        authService.withdraw(principal);
+
+        TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(sessionRegistry, never()).revokeAll(anyLong());
+        verify(revocationEpochs, never()).revokeUser(anyLong());
+    }
+}
@@ -0,0 +1,147 @@
+package oauth2jwt.ranger.service.auth;
+
+import oauth2jwt.ranger.auth.blacklist.RevocationEpochs;
+import oauth2jwt.ranger.auth.session.SessionRegistry;
+import oauth2jwt.ranger.domain.status.WithdrawalJobStatus;
+import oauth2jwt.ranger.domain.withdrawal.BulkWithdrawalJob;
+import oauth2jwt.ranger.repository.unlink.SocialUnlinkJobRepository;
+import oauth2jwt.ranger.repository.withdrawal.BulkWithdrawalJdbcRepository;
+import oauth2jwt.ranger.repository.withdrawal.BulkWithdrawalJobRepository;
+import oauth2jwt.ranger.service.user.UserProfileCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 청크 처리 -> 진행 상황 -> 완료, 실패한 청크를 재개 주기에 이어서 처리하는지 확인 (남은 대상은 메모리 목록으로 대체)
+class BulkWithdrawalServiceTest {
+
+    private static final Long JOB_ID = 7L;
+    private static final long TIMEOUT_MS = 5000;
+
+    private BulkWithdrawalJobRepository bulkWithdrawalJobRepository;
+    private BulkWithdrawalJdbcRepository bulkWithdrawalJdbcRepository;
+    private SessionRegistry sessionRegistry;
+    private BulkWithdrawalService bulkWithdrawalService;
+
+    // bulk_withdrawal_item (남은 대상) / 이미 탈퇴한 사용자 / 진행 상황
+    private final Set<Long> items = new ConcurrentSkipListSet<>();
+    private final Set<Long> deleted = new ConcurrentSkipListSet<>();
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger withdrawn = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        bulkWithdrawalJobRepository = mock(BulkWithdrawalJobRepository.class);
+        bulkWithdrawalJdbcRepository = mock(BulkWithdrawalJdbcRepository.class);
+        sessionRegistry = mock(SessionRegistry.class);
+
+        when(bulkWithdrawalJdbcRepository.lockNextItems(eq(JOB_ID), anyInt())).thenAnswer(invocation ->
+                items.stream().limit(invocation.<Integer>getArgument(1)).toList());
+        when(bulkWithdrawalJdbcRepository.lockActiveUsers(anyList())).thenAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).stream().filter(id -> !deleted.contains(id)).toList());
+        when(bulkWithdrawalJdbcRepository.softDeleteUsers(anyList(), any())).thenAnswer(invocation -> {
+            deleted.addAll(invocation.getArgument(0));
+            return invocation.<List<Long>>getArgument(0).size();
+        });
+        doAnswer(invocation -> {
+            items.removeAll(invocation.getArgument(1));
+            return null;
+        }).when(bulkWithdrawalJdbcRepository).deleteItems(eq(JOB_ID), anyList());
+        doAnswer(invocation -> {
+            processed.addAndGet(invocation.getArgument(1));
+            withdrawn.addAndGet(invocation.getArgument(2));
+            return null;
+        }).when(bulkWithdrawalJdbcRepository).addProgress(eq(JOB_ID), anyInt(), anyInt());
+        when(bulkWithdrawalJdbcRepository.completeIfDone(eq(JOB_ID), any())).thenAnswer(invocation -> items.isEmpty());
+
+        // 트랜잭션 매니저는 목 (청크 작업이 예외 없이 끝나면 커밋으로 간주)
+        bulkWithdrawalService = new BulkWithdrawalService(
+                bulkWithdrawalJobRepository,
+                bulkWithdrawalJdbcRepository,
+                mock(SocialUnlinkJobRepository.class),
+                sessionRegistry,
+                mock(RevocationEpochs.class),
+                mock(UserProfileCache.class),
+                mock(PlatformTransactionManager.class),
+                2,
+                1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkWithdrawalService.shutdown();
+    }
+
+    @Test
+    void processesAllChunksAndCompletes() {
+        items.addAll(List.of(1L, 2L, 3L, 4L, 5L));
+        deleted.add(3L);
+
+        runningJob();
+        bulkWithdrawalService.resume();
+
+        verify(bulkWithdrawalJdbcRepository, timeout(TIMEOUT_MS)).completeIfDone(eq(JOB_ID), any());
+        assertThat(items).isEmpty();
+        assertThat(processed).hasValue(5);
+        assertThat(withdrawn).hasValue(4);
+        // 이미 탈퇴한 사용자는 세션을 다시 정리하지 않음
+        verify(sessionRegistry, never()).revokeAll(3L);
+        verify(sessionRegistry).revokeAll(5L);
+    }
+
+    @Test
+    void failedChunkIsRetriedOnNextResume() throws InterruptedException {
+        items.addAll(List.of(1L, 2L, 3L, 4L));
+        AtomicBoolean failOnce = new AtomicBoolean(true);
+        when(bulkWithdrawalJdbcRepository.enqueueUnlinks(eq(JOB_ID), anyList(), any())).thenAnswer(invocation -> {
+            if (invocation.<List<Long>>getArgument(1).contains(3L) && failOnce.getAndSet(false)) {
+                throw new IllegalStateException("DB 연결 끊김");
+            }
+            return invocation.<List<Long>>getArgument(1).size();
+        });
+
+        // 첫 번째 실행: 두 번째 청크에서 실패하면 워커가 멈추고 완료 처리되지 않음
+        runningJob();
+        bulkWithdrawalService.resume();
+        verify(bulkWithdrawalJdbcRepository, timeout(TIMEOUT_MS)).completeIfDone(eq(JOB_ID), any());
+        assertThat(items).containsExactly(3L, 4L);
+        assertThat(processed).hasValue(2);
+
+        // 재개 주기: 남은 대상부터 이어서 처리 (이 노드에서 아직 돌고 있으면 다시 띄우지 않으므로 끝날 때까지 반복)
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!items.isEmpty() && System.currentTimeMillis() < deadline) {
+            bulkWithdrawalService.resume();
+            Thread.sleep(20);
+        }
+        verify(bulkWithdrawalJdbcRepository, timeout(TIMEOUT_MS).times(2)).completeIfDone(eq(JOB_ID), any());
+        assertThat(items).isEmpty();
+        assertThat(processed).hasValue(4);
+        assertThat(withdrawn).hasValue(4);
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private void runningJob() {
+        when(bulkWithdrawalJobRepository.findByStatus(WithdrawalJobStatus.RUNNING)).thenReturn(
+                List.of(BulkWithdrawalJob.builder().id(JOB_ID).status(WithdrawalJobStatus.RUNNING).build()));
+    }
+}
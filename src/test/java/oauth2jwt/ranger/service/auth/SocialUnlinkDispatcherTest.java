@@ -0,0 +1,135 @@
+package oauth2jwt.ranger.service.auth;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import oauth2jwt.ranger.config.webClient.ProviderHttpClients;
+import oauth2jwt.ranger.config.webClient.ProviderHttpProperties;
+import oauth2jwt.ranger.domain.unlink.SocialUnlinkJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// 연동 해제 결과에 따라 완료/재시도/DEAD 로 넘기는지 확인 (Outbox 와 연동 해제 호출은 목으로 대체)
+class SocialUnlinkDispatcherTest {
+
+    private static final Long JOB_ID = 1L;
+
+    private SocialUnlinkOutbox socialUnlinkOutbox;
+    private SocialUnlinkService socialUnlinkService;
+    private SocialUnlinkDispatcher socialUnlinkDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        socialUnlinkOutbox = mock(SocialUnlinkOutbox.class);
+        socialUnlinkService = mock(SocialUnlinkService.class);
+        socialUnlinkDispatcher = new SocialUnlinkDispatcher(
+                socialUnlinkOutbox,
+                socialUnlinkService,
+                new ProviderHttpClients(new ProviderHttpProperties(), new SimpleMeterRegistry()),
+                200);
+        when(socialUnlinkOutbox.renewLease(any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        socialUnlinkDispatcher.shutdown();
+    }
+
+    @Test
+    void successfulUnlinkCompletesJob() {
+        dispatch(job("kakao"));
+
+        verify(socialUnlinkOutbox).complete(JOB_ID);
+        verify(socialUnlinkOutbox, never()).fail(anyLong(), anyString(), anyBoolean());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {500, 503, 429, 408})
+    void serverErrorsAndTimeoutsAreRetried(int status) {
+        doThrow(WebClientResponseException.create(status, "error", HttpHeaders.EMPTY, null, null))
+                .when(socialUnlinkService).unlink(eq("kakao"), eq("1"), any(), any());
+
+        dispatch(job("kakao"));
+
+        verify(socialUnlinkOutbox).fail(eq(JOB_ID), anyString(), eq(true));
+        verify(socialUnlinkOutbox, never()).complete(anyLong());
+    }
+
+    @Test
+    void connectionFailureIsRetried() {
+        doThrow(new IllegalStateException("Connection refused"))
+                .when(socialUnlinkService).unlink(eq("kakao"), eq("1"), any(), any());
+
+        dispatch(job("kakao"));
+
+        verify(socialUnlinkOutbox).fail(eq(JOB_ID), eq("Connection refused"), eq(true));
+    }
+
+    @Test
+    void clientErrorIsDeadLettered() {
+        doThrow(WebClientResponseException.create(401, "Unauthorized", HttpHeaders.EMPTY, null, null))
+                .when(socialUnlinkService).unlink(eq("kakao"), eq("1"), any(), any());
+
+        dispatch(job("kakao"));
+
+        verify(socialUnlinkOutbox).fail(eq(JOB_ID), anyString(), eq(false));
+    }
+
+    @Test
+    void unsupportedProviderIsDeadLettered() {
+        dispatch(job("github"));
+
+        verify(socialUnlinkOutbox).fail(eq(JOB_ID), anyString(), eq(false));
+        verify(socialUnlinkService, never()).unlink(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void jobClaimedByAnotherNodeIsSkipped() {
+        when(socialUnlinkOutbox.renewLease(any())).thenReturn(false);
+
+        dispatch(job("kakao"));
+
+        verify(socialUnlinkService, never()).unlink(anyString(), anyString(), any(), any());
+        verify(socialUnlinkOutbox, never()).complete(anyLong());
+        verify(socialUnlinkOutbox, never()).fail(anyLong(), anyString(), anyBoolean());
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    // 배치가 가득 차지 않으면 한 번만 가져오고 모든 작업이 끝날 때까지 기다림
+    private void dispatch(SocialUnlinkJob job) {
+        when(socialUnlinkOutbox.claim(200)).thenReturn(List.of(job));
+        socialUnlinkDispatcher.dispatch();
+    }
+
+    private static SocialUnlinkJob job(String provider) {
+        LocalDateTime now = LocalDateTime.now();
+        return SocialUnlinkJob.builder()
+                .id(JOB_ID)
+                .userId(42L)
+                .provider(provider)
+                .providerId("1")
+                .providerAccessToken("access-token")
+                .attempts(1)
+                .nextAttemptAt(now.plusMinutes(2))
+                .createdAt(now)
+                .build();
+    }
+}
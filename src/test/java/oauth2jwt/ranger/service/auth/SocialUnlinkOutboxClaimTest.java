@@ -0,0 +1,112 @@
+package oauth2jwt.ranger.service.auth;
+
+import oauth2jwt.ranger.domain.role.Role;
+import oauth2jwt.ranger.domain.status.UnlinkJobStatus;
+import oauth2jwt.ranger.domain.unlink.SocialUnlinkJob;
+import oauth2jwt.ranger.domain.user.User;
+import oauth2jwt.ranger.repository.unlink.SocialUnlinkJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 가져간(임대 중) 작업과 재시도 대기 중인 작업을 다시 가져가지 않는지 확인 (claim/fail 마다 커밋해야 하므로 테스트 트랜잭션 사용 안 함)
+@DataJpaTest
+@Import(SocialUnlinkOutbox.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SocialUnlinkOutboxClaimTest {
+
+    @Autowired
+    private SocialUnlinkOutbox socialUnlinkOutbox;
+
+    @Autowired
+    private SocialUnlinkJobRepository socialUnlinkJobRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private Long jobId;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .id(42L)
+                .username("kakao_1")
+                .name("홍길동")
+                .provider("kakao")
+                .providerId("1")
+                .role(Role.ROLE_USER)
+                .build();
+        jobId = socialUnlinkJobRepository.save(SocialUnlinkJob.of(user, null, LocalDateTime.now().minusSeconds(1))).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        socialUnlinkJobRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void leasedJobIsNotClaimedAgain() {
+        assertThat(socialUnlinkOutbox.claim(10)).extracting(SocialUnlinkJob::getId).containsExactly(jobId);
+        assertThat(socialUnlinkOutbox.claim(10)).isEmpty();
+    }
+
+    @Test
+    void failedJobIsNotClaimedBeforeNextAttempt() {
+        socialUnlinkOutbox.claim(10);
+        socialUnlinkOutbox.fail(jobId, "503 Service Unavailable", true);
+
+        SocialUnlinkJob failed = socialUnlinkJobRepository.findById(jobId).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(UnlinkJobStatus.PENDING);
+        assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(socialUnlinkOutbox.claim(10)).isEmpty();
+
+        // 재시도 시각이 지나면 다시 가져감
+        moveNextAttemptToPast();
+        List<SocialUnlinkJob> retried = socialUnlinkOutbox.claim(10);
+        assertThat(retried).extracting(SocialUnlinkJob::getId).containsExactly(jobId);
+        assertThat(retried.get(0).getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void deadJobIsNeverClaimed() {
+        socialUnlinkOutbox.claim(10);
+        socialUnlinkOutbox.fail(jobId, "401 Unauthorized", false);
+
+        moveNextAttemptToPast();
+        assertThat(socialUnlinkOutbox.claim(10)).isEmpty();
+        assertThat(socialUnlinkJobRepository.findById(jobId).orElseThrow().getStatus()).isEqualTo(UnlinkJobStatus.DEAD);
+    }
+
+    @Test
+    void leaseCannotBeRenewedAfterAnotherNodeClaimedTheJob() {
+        SocialUnlinkJob mine = socialUnlinkOutbox.claim(10).get(0);
+
+        // 허가를 기다리는 동안 임대가 끝나 다른 노드가 가져감
+        moveNextAttemptToPast();
+        SocialUnlinkJob theirs = socialUnlinkOutbox.claim(10).get(0);
+
+        assertThat(socialUnlinkOutbox.renewLease(mine)).isFalse();
+        assertThat(socialUnlinkOutbox.renewLease(theirs)).isTrue();
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private void moveNextAttemptToPast() {
+        jdbcTemplate.update("UPDATE social_unlink_outbox SET next_attempt_at = :past WHERE id = :id",
+                new MapSqlParameterSource("id", jobId)
+                        .addValue("past", Timestamp.valueOf(LocalDateTime.now().minusSeconds(1))));
+    }
+}
@@ -0,0 +1,115 @@
+package oauth2jwt.ranger.service.auth;
+
+import oauth2jwt.ranger.domain.status.UnlinkJobStatus;
+import oauth2jwt.ranger.domain.unlink.SocialUnlinkJob;
+import oauth2jwt.ranger.repository.unlink.SocialUnlinkJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 실패한 연동 해제 작업의 재시도 시각(지수 백오프 + 지터)과 DEAD 전환 확인 (저장소는 목으로 대체)
+class SocialUnlinkOutboxTest {
+
+    private static final long BASE_MS = 30_000;
+    private static final long MAX_MS = 3_600_000;
+    private static final int MAX_ATTEMPTS = 8;
+
+    private SocialUnlinkJobRepository socialUnlinkJobRepository;
+    private SocialUnlinkOutbox socialUnlinkOutbox;
+
+    @BeforeEach
+    void setUp() {
+        socialUnlinkJobRepository = mock(SocialUnlinkJobRepository.class);
+        socialUnlinkOutbox = new SocialUnlinkOutbox(socialUnlinkJobRepository, 120_000, BASE_MS, MAX_MS, MAX_ATTEMPTS);
+    }
+
+    @Test
+    void retryDelayDoublesPerAttemptWithinJitterRange() {
+        for (int attempts = 1; attempts < MAX_ATTEMPTS; attempts++) {
+            long delay = Math.min(MAX_MS, BASE_MS << (attempts - 1));
+
+            LocalDateTime before = LocalDateTime.now();
+            SocialUnlinkJob job = failOnce(attempts, true);
+            LocalDateTime after = LocalDateTime.now();
+
+            // 절반은 고정 + 절반은 무작위: [delay / 2, delay]
+            assertThat(job.getStatus()).isEqualTo(UnlinkJobStatus.PENDING);
+            assertThat(job.getNextAttemptAt())
+                    .isAfterOrEqualTo(before.plus(Duration.ofMillis(delay / 2)))
+                    .isBeforeOrEqualTo(after.plus(Duration.ofMillis(delay)));
+            assertThat(job.getLastError()).isEqualTo("503 Service Unavailable");
+        }
+    }
+
+    @Test
+    void retryDelayIsCappedAtMax() {
+        LocalDateTime before = LocalDateTime.now();
+        SocialUnlinkJob job = failOnce(30, true, new SocialUnlinkOutbox(socialUnlinkJobRepository, 120_000, BASE_MS, MAX_MS, 100));
+        LocalDateTime after = LocalDateTime.now();
+
+        assertThat(job.getNextAttemptAt())
+                .isAfterOrEqualTo(before.plus(Duration.ofMillis(MAX_MS / 2)))
+                .isBeforeOrEqualTo(after.plus(Duration.ofMillis(MAX_MS)));
+    }
+
+    @Test
+    void jitterSpreadsJobsThatFailedTogether() {
+        Set<Long> delaySeconds = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            LocalDateTime failedAt = LocalDateTime.now();
+            delaySeconds.add(Duration.between(failedAt, failOnce(3, true).getNextAttemptAt()).toSeconds());
+        }
+        // 같은 시도 횟수로 동시에 실패한 작업이 같은 시각에 몰리지 않음 (60 ~ 120초 사이로 흩어짐)
+        assertThat(delaySeconds).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void exceedingMaxAttemptsMovesToDead() {
+        SocialUnlinkJob retried = failOnce(MAX_ATTEMPTS - 1, true);
+        assertThat(retried.getStatus()).isEqualTo(UnlinkJobStatus.PENDING);
+
+        SocialUnlinkJob dead = failOnce(MAX_ATTEMPTS, true);
+        assertThat(dead.getStatus()).isEqualTo(UnlinkJobStatus.DEAD);
+        assertThat(dead.getLastError()).isEqualTo("503 Service Unavailable");
+    }
+
+    @Test
+    void nonRetryableFailureMovesToDeadImmediately() {
+        SocialUnlinkJob job = failOnce(1, false);
+
+        assertThat(job.getStatus()).isEqualTo(UnlinkJobStatus.DEAD);
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private SocialUnlinkJob failOnce(int attempts, boolean retryable) {
+        return failOnce(attempts, retryable, socialUnlinkOutbox);
+    }
+
+    // attempts 번째 시도가 실패한 작업 (디스패처가 가져갈 때 attempts 를 증가시킴)
+    private SocialUnlinkJob failOnce(int attempts, boolean retryable, SocialUnlinkOutbox outbox) {
+        LocalDateTime now = LocalDateTime.now();
+        SocialUnlinkJob job = SocialUnlinkJob.builder()
+                .id(1L)
+                .userId(42L)
+                .provider("kakao")
+                .providerId("1")
+                .attempts(attempts)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+        when(socialUnlinkJobRepository.findById(1L)).thenReturn(Optional.of(job));
+
+        outbox.fail(1L, "503 Service Unavailable", retryable);
+        return job;
+    }
+}
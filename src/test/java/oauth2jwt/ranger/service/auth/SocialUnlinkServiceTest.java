@@ -0,0 +1,132 @@
+package oauth2jwt.ranger.service.auth;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import oauth2jwt.ranger.auth.metrics.AuthMetrics;
+import oauth2jwt.ranger.config.webClient.ProviderHttpClients;
+import oauth2jwt.ranger.config.webClient.ProviderHttpProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 카카오 엔드포인트를 로컬 스텁 서버로 교체해서 연동 해제 요청/실패 전파 확인
+class SocialUnlinkServiceTest {
+
+    private HttpServer server;
+    private ProviderHttpClients providerHttpClients;
+    private SocialUnlinkService socialUnlinkService;
+    private final List<String> unlinkAuthorizations = new CopyOnWriteArrayList<>();
+    private final AtomicInteger unlinkStatus = new AtomicInteger(200);
+    private final AtomicInteger tokenCalls = new AtomicInteger();
+    private final List<ProviderToken> refreshedTokens = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/oauth/token", exchange -> {
+            tokenCalls.incrementAndGet();
+            respond(exchange, 200,
+                    "{\"access_token\":\"refreshed-token\",\"token_type\":\"bearer\",\"expires_in\":21599}");
+        });
+        server.createContext("/v1/user/unlink", exchange -> {
+            unlinkAuthorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            respond(exchange, unlinkStatus.get(), "{\"id\":42}");
+        });
+        server.start();
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        providerHttpClients = new ProviderHttpClients(new ProviderHttpProperties(), meterRegistry);
+        socialUnlinkService = new SocialUnlinkService(providerHttpClients, new AuthMetrics(meterRegistry));
+        ReflectionTestUtils.setField(socialUnlinkService, "kakaoClientId", "client-id");
+        ReflectionTestUtils.setField(socialUnlinkService, "kakaoClientSecret", "client-secret");
+        ReflectionTestUtils.setField(socialUnlinkService, "kakaoTokenUri", baseUrl + "/oauth/token");
+        ReflectionTestUtils.setField(socialUnlinkService, "kakaoUnlinkUri", baseUrl + "/v1/user/unlink");
+        ReflectionTestUtils.setField(socialUnlinkService, "refreshMarginSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        providerHttpClients.destroy();
+    }
+
+    @Test
+    void unlinksWithRefreshedAccessTokenWhenExpired() {
+        ProviderToken expired = new ProviderToken("stale-token", LocalDateTime.now().minusMinutes(1), "provider-refresh-token");
+
+        socialUnlinkService.unlink("kakao", "42", expired, refreshedTokens::add);
+
+        assertThat(unlinkAuthorizations).containsExactly("Bearer refreshed-token");
+        assertThat(refreshedTokens).singleElement().satisfies(refreshed -> {
+            assertThat(refreshed.accessToken()).isEqualTo("refreshed-token");
+            assertThat(refreshed.refreshToken()).isEqualTo("provider-refresh-token");
+            assertThat(refreshed.accessTokenExpiresAt()).isAfter(LocalDateTime.now().plusHours(5));
+        });
+    }
+
+    @Test
+    void skipsRefreshWhileAccessTokenIsValid() {
+        ProviderToken valid = new ProviderToken("valid-token", LocalDateTime.now().plusHours(1), "provider-refresh-token");
+
+        socialUnlinkService.unlink("kakao", "42", valid, refreshedTokens::add);
+
+        assertThat(tokenCalls).hasValue(0);
+        assertThat(refreshedTokens).isEmpty();
+        assertThat(unlinkAuthorizations).containsExactly("Bearer valid-token");
+    }
+
+    @Test
+    void refreshesWhenExpiryIsUnknown() {
+        socialUnlinkService.unlink("kakao", "42", new ProviderToken("stale-token", null, "provider-refresh-token"),
+                refreshedTokens::add);
+
+        assertThat(tokenCalls).hasValue(1);
+        assertThat(unlinkAuthorizations).containsExactly("Bearer refreshed-token");
+    }
+
+    @Test
+    void providerFailureIsPropagatedForRetry() {
+        unlinkStatus.set(503);
+
+        assertThatThrownBy(() -> socialUnlinkService.unlink("kakao", "42",
+                new ProviderToken("stale-token", null, null), refreshedTokens::add))
+                .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+        assertThat(unlinkAuthorizations).containsExactly("Bearer stale-token");
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutCallingProvider() {
+        providerHttpClients.get("kakao").circuitBreaker().transitionToOpenState();
+
+        assertThatThrownBy(() -> socialUnlinkService.unlink("kakao", "42",
+                new ProviderToken("stale-token", null, "provider-refresh-token"), refreshedTokens::add))
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(unlinkAuthorizations).isEmpty();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
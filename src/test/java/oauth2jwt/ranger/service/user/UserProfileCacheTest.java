@@ -0,0 +1,180 @@
+package oauth2jwt.ranger.service.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import oauth2jwt.ranger.domain.role.Role;
+import oauth2jwt.ranger.dto.user.response.UserProfileResponse;
+import oauth2jwt.ranger.repository.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// L2 조회 -> DB 조회 후 채움, 커밋 후 무효화, 무효화 뒤 이전 값이 늦게 저장되지 않는지, pub/sub 수신 확인 (Redis 는 맵으로 대체한 목)
+class UserProfileCacheTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String KEY = "user:profile:v2:1";
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final List<String> published = new CopyOnWriteArrayList<>();
+    private RedisTemplate<String, String> redisTemplate;
+    private UserRepository userRepository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenAnswer(invocation -> values.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+
+        // 파이프라인: 무효화 표시 저장(SETEX) + 무효화 전파(PUBLISH)
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(stringCommands.setEx(any(byte[].class), anyLong(), any(byte[].class))).thenAnswer(invocation -> {
+            values.put(utf8(invocation.getArgument(0)), utf8(invocation.getArgument(2)));
+            return true;
+        });
+        when(connection.publish(any(byte[].class), any(byte[].class))).thenAnswer(invocation -> {
+            published.add(utf8(invocation.getArgument(1)));
+            return 1L;
+        });
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<Object>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findProfileById(USER_ID)).thenReturn(Optional.of(profile("홍길동")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void readsThroughDbThenServesFromL1AndL2() {
+        UserProfileCache node = newNode();
+
+        assertThat(node.get(USER_ID).getName()).isEqualTo("홍길동");
+        assertThat(node.get(USER_ID).getName()).isEqualTo("홍길동");
+        assertThat(values).containsKey(KEY);
+
+        // 다른 노드는 L2 에서 읽음 (DB 조회는 처음 한 번)
+        assertThat(newNode().get(USER_ID).getName()).isEqualTo("홍길동");
+        verify(userRepository, times(1)).findProfileById(USER_ID);
+    }
+
+    @Test
+    void evictsOnlyAfterCommit() {
+        UserProfileCache node = newNode();
+        node.get(USER_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        node.evict(USER_ID);
+        assertThat(values.get(KEY)).isNotEqualTo("evicted");
+        assertThat(published).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(values).containsEntry(KEY, "evicted");
+        assertThat(published).containsExactly("1");
+    }
+
+    @Test
+    void staleReadIsNotWrittenBackAfterEviction() {
+        UserProfileCache reader = newNode();
+        UserProfileCache writer = newNode();
+
+        // 읽는 노드가 DB 에서 이전 값을 읽은 직후, 다른 노드의 변경이 커밋되고 무효화됨
+        when(userRepository.findProfileById(USER_ID)).thenAnswer(invocation -> {
+            writer.evict(USER_ID);
+            return Optional.of(profile("홍길동"));
+        });
+        assertThat(reader.get(USER_ID).getName()).isEqualTo("홍길동");
+        assertThat(values).containsEntry(KEY, "evicted");
+
+        // 무효화 표시가 남아 있는 동안은 DB 결과를 L2 에 저장하지 않음
+        when(userRepository.findProfileById(USER_ID)).thenReturn(Optional.of(profile("김철수")));
+        assertThat(newNode().get(USER_ID).getName()).isEqualTo("김철수");
+        assertThat(values).containsEntry(KEY, "evicted");
+
+        // 표시가 만료되면 다음 조회가 최신 값으로 채움
+        values.remove(KEY);
+        assertThat(newNode().get(USER_ID).getName()).isEqualTo("김철수");
+        assertThat(values.get(KEY)).contains("김철수");
+    }
+
+    @Test
+    void invalidationMessageClearsL1() {
+        UserProfileCache node = newNode();
+        node.get(USER_ID);
+
+        // 다른 노드에서 변경 + 무효화 (L2 는 그 노드가 이미 비움)
+        when(userRepository.findProfileById(USER_ID)).thenReturn(Optional.of(profile("김철수")));
+        values.remove(KEY);
+        assertThat(node.get(USER_ID).getName()).isEqualTo("홍길동");
+
+        node.onMessage(message("not-a-user-id"), null);
+        assertThat(node.get(USER_ID).getName()).isEqualTo("홍길동");
+
+        node.onMessage(message("1"), null);
+        assertThat(node.get(USER_ID).getName()).isEqualTo("김철수");
+    }
+
+    // ---------------------- Helper Methods ----------------------
+
+    private UserProfileCache newNode() {
+        return new UserProfileCache(userRepository, redisTemplate, new ObjectMapper(), new SimpleMeterRegistry(),
+                100, 60, 600, 10);
+    }
+
+    private static UserProfileResponse profile(String name) {
+        return UserProfileResponse.builder()
+                .id(USER_ID)
+                .username("google_1")
+                .name(name)
+                .provider("google")
+                .role(Role.ROLE_USER)
+                .build();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(UserProfileCache.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String utf8(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}